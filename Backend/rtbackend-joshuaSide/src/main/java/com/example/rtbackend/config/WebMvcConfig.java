@@ -1,9 +1,15 @@
 package com.example.rtbackend.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.example.rtbackend.domain.enums.ExportFormat;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.enums.PaymentStatus;
+import com.example.rtbackend.domain.enums.ReportGrain;
+
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
@@ -12,4 +18,13 @@ public class WebMvcConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:uploads/");
     }
+
+    // Lets ?status=Pending bind straight to the enums; unknown values become a 400
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, OrderStatus.class, OrderStatus::fromLabel);
+        registry.addConverter(String.class, PaymentStatus.class, PaymentStatus::fromLabel);
+        registry.addConverter(String.class, ExportFormat.class, ExportFormat::fromLabel);
+        registry.addConverter(String.class, ReportGrain.class, ReportGrain::fromLabel);
+    }
 }
\ No newline at end of file
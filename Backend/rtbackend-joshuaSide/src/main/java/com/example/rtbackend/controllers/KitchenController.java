@@ -0,0 +1,59 @@
+package com.example.rtbackend.controllers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.rtbackend.domain.dto.ClaimedTicket;
+import com.example.rtbackend.domain.dto.KitchenTicket;
+import com.example.rtbackend.services.KitchenQueueService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/kitchen")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class KitchenController {
+
+    private final KitchenQueueService kitchenQueueService;
+
+    // Hands the chef the oldest paid ticket nobody has claimed; 204 when the queue is empty
+    @PostMapping("/claim")
+    public ResponseEntity<?> claimNextTicket(@RequestBody Map<String, Long> request) {
+        try {
+            Long chefId = request.get("chefId");
+            Optional<KitchenTicket> ticket = kitchenQueueService.claimNext(chefId);
+            return ticket.<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "An error occurred: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/queue")
+    public ResponseEntity<List<KitchenTicket>> getWaitingTickets() {
+        return ResponseEntity.ok(kitchenQueueService.getWaitingTickets());
+    }
+
+    // Tickets being cooked, optionally only those of one chef
+    @GetMapping("/claims")
+    public ResponseEntity<List<ClaimedTicket>> getClaimedTickets(@RequestParam(required = false) Long chefId) {
+        return ResponseEntity.ok(kitchenQueueService.getClaimedTickets(chefId));
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.rtbackend.controllers;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,28 +16,37 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.MenuCategory;
+import com.example.rtbackend.domain.dto.MenuItemView;
+import com.example.rtbackend.domain.dto.MenuSnapshot;
 import com.example.rtbackend.domain.entities.MenuItem;
 import com.example.rtbackend.services.FileStorageService;
 import com.example.rtbackend.services.MenuItemService;
+import com.example.rtbackend.services.MenuSearchService;
 
 import tools.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/menu")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = { CursorPage.NEXT_CURSOR_HEADER, HttpHeaders.ETAG })
 public class MenuItemController {
 
     private final MenuItemService menuItemService;
     private final FileStorageService fileStorageService;
+    private final MenuSearchService menuSearchService;
 
-    public MenuItemController(MenuItemService menuItemService, FileStorageService fileStorageService) {
+    public MenuItemController(MenuItemService menuItemService, FileStorageService fileStorageService,
+            MenuSearchService menuSearchService) {
         this.menuItemService = menuItemService;
         this.fileStorageService = fileStorageService;
+        this.menuSearchService = menuSearchService;
     }
 
     @PostMapping("/create/{requesterId}")
@@ -74,16 +87,71 @@ public class MenuItemController {
         }
     }
 
+    // Without cursor or limit the whole menu is sent from the prebuilt snapshot; paging still reads the table.
+    // Stock in the snapshot is only as fresh as the last menu change, live levels come from /menu/stock
     @GetMapping
-    public ResponseEntity<List<MenuItem>> getMenu() {
-        List<MenuItem> items = menuItemService.getAllMenuItems();
-        return ResponseEntity.ok(items);
+    public ResponseEntity<?> getMenu(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (cursor != null || limit != null) {
+            return menuItemService.getMenuItems(cursor, limit != null ? limit : CursorPage.DEFAULT_LIMIT).toResponseEntity();
+        }
+
+        MenuSnapshot snapshot = menuItemService.getMenuSnapshot();
+        boolean brotli = snapshot.brotli() != null && accepts(acceptEncoding, "br");
+        boolean gzip = !brotli && accepts(acceptEncoding, "gzip");
+        String etag = brotli ? snapshot.brotliEtag() : gzip ? snapshot.gzipEtag() : snapshot.etag();
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .contentType(MediaType.APPLICATION_JSON);
+        if (brotli) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "br").body(snapshot.brotli());
+        }
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
     }
     
+    // Served from the in-memory index: ?q= matches word prefixes of name and description
+    @GetMapping("/search")
+    public ResponseEntity<List<MenuItemView>> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(menuSearchService.search(q, category, inStock, limit));
+    }
+
+    // Live stock by menu item id, for clients holding a cached /menu
+    @GetMapping("/stock")
+    public ResponseEntity<Map<Long, Integer>> getStockLevels() {
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .body(menuItemService.getStockLevels());
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<MenuCategory>> getCategories() {
+        return ResponseEntity.ok(menuSearchService.getCategories());
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<MenuItem> getMenuItemById(@PathVariable Long id) {
+    public ResponseEntity<MenuItemView> getMenuItemById(@PathVariable Long id) {
         try {
-            MenuItem item = menuItemService.getMenuItemById(id);
+            MenuItemView item = menuItemService.getMenuItemById(id);
             return ResponseEntity.ok(item);
         } catch (NoSuchElementException e) {
             return ResponseEntity.notFound().build();
@@ -166,4 +234,24 @@ public class MenuItemController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
         }
     }
+
+    // The coding listed without q=0; * only counts when the coding itself is not listed
+    private static boolean accepts(String acceptEncoding, String wanted) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean any = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean allowed = parts.length < 2 || !parts[1].trim().matches("q=0(\\.0{0,3})?");
+            if (name.equalsIgnoreCase(wanted)) {
+                return allowed;
+            }
+            if (name.equals("*")) {
+                any = allowed;
+            }
+        }
+        return any;
+    }
 }
\ No newline at end of file
@@ -1,9 +1,18 @@
 package com.example.rtbackend.controllers;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,46 +20,87 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.LatencyReport;
+import com.example.rtbackend.domain.dto.OrderFilter;
+import com.example.rtbackend.domain.dto.OrderStats;
+import com.example.rtbackend.domain.dto.OrderStatusChange;
+import com.example.rtbackend.domain.dto.OrderView;
+import com.example.rtbackend.domain.dto.OutboxStatus;
+import com.example.rtbackend.domain.dto.PaymentView;
 import com.example.rtbackend.domain.entities.Order;
-import com.example.rtbackend.domain.entities.Payment;
+import com.example.rtbackend.domain.enums.ExportFormat;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.services.ExportService;
+import com.example.rtbackend.services.IdempotencyService;
+import com.example.rtbackend.services.OrderArchiveService;
+import com.example.rtbackend.services.OrderIngestion;
+import com.example.rtbackend.services.OrderLatencyService;
+import com.example.rtbackend.services.OrderOutboxService;
 import com.example.rtbackend.services.OrderService;
+import com.example.rtbackend.services.OrderStatsService;
 
 import lombok.RequiredArgsConstructor;
 
 @RestController
 @RequestMapping("/api/orders")
-@CrossOrigin(origins = "*") // e add nya ni sa tanan controllers
+@CrossOrigin(origins = "*", exposedHeaders = {CursorPage.NEXT_CURSOR_HEADER, IdempotencyService.REPLAYED_HEADER}) // e add nya ni sa tanan controllers
 @RequiredArgsConstructor
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIngestion orderIngestion;
+    private final IdempotencyService idempotencyService;
+    private final OrderStatsService orderStatsService;
+    private final OrderLatencyService orderLatencyService;
+    private final OrderOutboxService orderOutboxService;
+    private final OrderArchiveService orderArchiveService;
+    private final ExportService exportService;
     
+    // Retries carrying the same Idempotency-Key get the first response back instead of a second order
     @PostMapping
-    public ResponseEntity<?> createOrder(@RequestBody Map<String, Object> request) {
-        try {
-            Long waiterId = Long.valueOf(request.get("waiterId").toString());
-            @SuppressWarnings("unchecked")
-            Map<String, Integer> itemsStr = (Map<String, Integer>) request.get("items");
-            
-            // Convert String keys to Long
-            Map<Long, Integer> items = new java.util.HashMap<>();
-            itemsStr.forEach((key, value) -> items.put(Long.valueOf(key), value));
-            
-            Order order = orderService.createOrder(waiterId, items);
-            return ResponseEntity.status(HttpStatus.CREATED).body(order);
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
-        } catch (IllegalArgumentException | IllegalStateException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of("error", "An error occurred: " + e.getMessage()));
-        }
+    public ResponseEntity<?> createOrder(
+            @RequestHeader(name = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody Map<String, Object> request) {
+        String key = StringUtils.hasText(idempotencyKey) ? idempotencyKey.trim() : null;
+        return idempotencyService.execute("POST /api/orders", key, request, () -> {
+            try {
+                Long waiterId = Long.valueOf(request.get("waiterId").toString());
+                @SuppressWarnings("unchecked")
+                Map<String, Integer> itemsStr = (Map<String, Integer>) request.get("items");
+                
+                // Convert String keys to Long
+                Map<Long, Integer> items = new java.util.HashMap<>();
+                itemsStr.forEach((itemId, value) -> items.put(Long.valueOf(itemId), value));
+                
+                Order order = orderIngestion.createOrder(waiterId, items, key);
+                return ResponseEntity.status(HttpStatus.CREATED).body(OrderView.from(order));
+            } catch (SecurityException e) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
+            } catch (RejectedExecutionException e) {
+                // Batched intake is full or did not answer in time; the client retries with the same key
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+            } catch (DataIntegrityViolationException e) {
+                // Another instance is committing the same Idempotency-Key right now
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "A request with this Idempotency-Key is already being processed"));
+            } catch (IdempotencyService.KeyReusedException e) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_CONTENT).body(Map.of("error", e.getMessage()));
+            } catch (IllegalArgumentException | IllegalStateException | NoSuchElementException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+            } catch (Exception e) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "An error occurred: " + e.getMessage()));
+            }
+        });
     }
 
     @PutMapping("/{orderId}/cooking")
@@ -59,8 +109,8 @@ public class OrderController {
             @RequestBody Map<String, Long> request) {
         try {
             Long cashierId = request.get("cashierId");
-            Order order = orderService.markOrderAsCooking(orderId, cashierId);
-            return ResponseEntity.ok(order);
+            OrderStatusChange change = orderService.markOrderAsCooking(orderId, cashierId);
+            return ResponseEntity.ok(change);
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
         } catch (IllegalStateException e) {
@@ -77,8 +127,8 @@ public class OrderController {
             @RequestBody Map<String, Long> request) {
         try {
             Long chefId = request.get("chefId");
-            Order order = orderService.markOrderAsReady(orderId, chefId);
-            return ResponseEntity.ok(order);
+            OrderStatusChange change = orderService.markOrderAsReady(orderId, chefId);
+            return ResponseEntity.ok(change);
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
         } catch (IllegalStateException e) {
@@ -96,8 +146,8 @@ public class OrderController {
     ) {
         try {
             Long waiterId = request.get("waiterId");
-            Order order = orderService.markOrderAsServed(orderId, waiterId);
-            return ResponseEntity.ok(order);
+            OrderStatusChange change = orderService.markOrderAsServed(orderId, waiterId);
+            return ResponseEntity.ok(change);
         } catch (IllegalStateException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
@@ -106,16 +156,44 @@ public class OrderController {
         }
     }
 
+    // Newest first; pass the X-Next-Cursor header back as cursor to get the next page
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderView>> getAllOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long waiterId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        OrderFilter filter = new OrderFilter(status, from, to, waiterId);
+        return orderService.getOrders(filter, cursor, limit).toResponseEntity();
+    }
+
+    // Every matching order (archived ones included) streamed as ?format=ndjson or csv; no paging
+    @GetMapping("/export")
+    public ResponseEntity<?> exportOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long waiterId,
+            @RequestParam(defaultValue = "ndjson") ExportFormat format) {
+        OrderFilter filter = new OrderFilter(status, from, to, waiterId);
+        try {
+            ResponseBodyEmitter export = exportService.streamOrders(filter, format);
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename("orders." + format.getLabel()).build().toString())
+                .body(export);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{orderId}")
     public ResponseEntity<?> getOrderById(@PathVariable Long orderId) {
         try {
-            Order order = orderService.getOrderById(orderId);
+            OrderView order = orderService.getOrderById(orderId);
             return ResponseEntity.ok(order);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -123,17 +201,46 @@ public class OrderController {
         }
     }
 
+    // Same page as GET /api/orders?status=, for callers passing the label ("Pending") rather than the name
     @GetMapping("/status")
-    public ResponseEntity<?> getOrdersByStatus(@RequestParam String status) {
+    public ResponseEntity<?> getOrdersByStatus(
+            @RequestParam String status,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
         try {
-            List<Order> orders = orderService.getOrdersByStatus(status);
-            return ResponseEntity.ok(orders);
+            OrderFilter filter = new OrderFilter(OrderStatus.fromLabel(status), null, null, null);
+            return orderService.getOrders(filter, cursor, limit).toResponseEntity();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(Map.of("error", e.getMessage()));
         }
     }
 
+    // Served from in-memory counters; date defaults to today
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStats> getOrderStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(orderStatsService.getStats(date != null ? date : LocalDate.now()));
+    }
+
+    // p50/p95/p99 of time-to-pay, time-to-cook and time-to-serve per menu category and per hour
+    @GetMapping("/latency")
+    public ResponseEntity<LatencyReport> getOrderLatency() {
+        return ResponseEntity.ok(orderLatencyService.getReport());
+    }
+
+    // Order events still waiting for the outbox relay, and those it gave up on
+    @GetMapping("/outbox")
+    public ResponseEntity<OutboxStatus> getOutboxStatus() {
+        return ResponseEntity.ok(orderOutboxService.getStatus());
+    }
+
+    // Retries the parked events of ?orderId=, or all of them, from scratch
+    @PostMapping("/outbox/requeue")
+    public ResponseEntity<?> requeueOutbox(@RequestParam(required = false) Long orderId) {
+        return ResponseEntity.ok(Map.of("requeued", orderOutboxService.requeueParked(orderId)));
+    }
+
     @DeleteMapping("/{orderId}")
     public ResponseEntity<?> deleteOrder(@PathVariable Long orderId) {
         try {
@@ -151,9 +258,25 @@ public class OrderController {
     @DeleteMapping
     public ResponseEntity<?> deleteAllOrders() {
         try {
-            orderService.deleteAllOrders();
+            long deleted = orderService.deleteAllOrders();
+            return ResponseEntity.ok(Map.of(
+                "message", "All orders deleted successfully",
+                "ordersDeleted", deleted
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "An error occurred: " + e.getMessage()));
+        }
+    }
+
+    // Runs the nightly archive pass now: served, paid orders older than orders.archive.after-days
+    @PostMapping("/archive")
+    public ResponseEntity<?> archiveOrders() {
+        try {
+            long archived = orderArchiveService.archiveOrders();
             return ResponseEntity.ok(Map.of(
-                "message", "All orders deleted successfully"
+                "message", "Orders archived successfully",
+                "ordersArchived", archived
             ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -164,7 +287,7 @@ public class OrderController {
     @GetMapping("/{orderId}/payment")
     public ResponseEntity<?> getPaymentByOrderId(@PathVariable Long orderId) {
         try {
-            Payment payment = orderService.getPaymentByOrderId(orderId);
+            PaymentView payment = orderService.getPaymentByOrderId(orderId);
             return ResponseEntity.ok(payment);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
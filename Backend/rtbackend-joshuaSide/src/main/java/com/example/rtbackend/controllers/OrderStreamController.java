@@ -0,0 +1,39 @@
+package com.example.rtbackend.controllers;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.services.OrderEventService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/orders")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class OrderStreamController {
+
+    private final OrderEventService orderEventService;
+
+    // EventSource sends Last-Event-ID on reconnect; the query param covers clients that can't set headers
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(
+            @RequestParam(required = false) List<OrderStatus> status,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(required = false) Long lastEventId) {
+        Set<OrderStatus> statuses = status == null ? Set.of() : new HashSet<>(status);
+        Long resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        return orderEventService.subscribe(statuses, resumeFrom);
+    }
+}
@@ -1,62 +1,123 @@
 package com.example.rtbackend.controllers;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
-import com.example.rtbackend.domain.entities.Payment;
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.PaymentFilter;
+import com.example.rtbackend.domain.dto.PaymentView;
+import com.example.rtbackend.domain.enums.ExportFormat;
+import com.example.rtbackend.domain.enums.PaymentStatus;
+import com.example.rtbackend.services.ExportService;
+import com.example.rtbackend.services.IdempotencyService;
 import com.example.rtbackend.services.PaymentService;
 
 import lombok.RequiredArgsConstructor;
 
 @RestController
 @RequestMapping("/api/payments")
-@CrossOrigin(origins = "*") // e add nya ni sa tanan controllers
+@CrossOrigin(origins = "*", exposedHeaders = {CursorPage.NEXT_CURSOR_HEADER, IdempotencyService.REPLAYED_HEADER}) // e add nya ni sa tanan controllers
 @RequiredArgsConstructor
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
+    private final ExportService exportService;
 
 
+    // A double-submit with the same Idempotency-Key replays the first response without re-validating
     @PostMapping
-    public ResponseEntity<?> processPayment(@RequestBody Map<String, Object> request) {
-        try {
-            Long orderId = Long.valueOf(request.get("orderId").toString());
-            String paymentMethod = request.get("paymentMethod").toString();
-            Long cashierId = Long.valueOf(request.get("cashierId").toString());
-            
-            Payment payment = paymentService.processPayment(orderId, paymentMethod, cashierId);
-            return ResponseEntity.status(HttpStatus.CREATED).body(payment);
-        } catch (SecurityException e) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
-        } catch (IllegalArgumentException | IllegalStateException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of("error", "An error occurred: " + e.getMessage()));
-        }
+    public ResponseEntity<?> processPayment(
+            @RequestHeader(name = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody Map<String, Object> request) {
+        String key = StringUtils.hasText(idempotencyKey) ? idempotencyKey.trim() : null;
+        return idempotencyService.execute("POST /api/payments", key, request, () -> {
+            try {
+                Long orderId = Long.valueOf(request.get("orderId").toString());
+                String paymentMethod = request.get("paymentMethod").toString();
+                Long cashierId = Long.valueOf(request.get("cashierId").toString());
+                
+                PaymentView payment = paymentService.processPayment(orderId, paymentMethod, cashierId, key);
+                return ResponseEntity.status(HttpStatus.CREATED).body(payment);
+            } catch (SecurityException e) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", e.getMessage()));
+            } catch (DataIntegrityViolationException e) {
+                // ux_payments_order_id: a second payment for the order; otherwise another instance
+                // is committing the same Idempotency-Key right now
+                String error = String.valueOf(e.getMostSpecificCause().getMessage()).contains("ux_payments_order_id")
+                    ? "Order is already paid"
+                    : "A request with this Idempotency-Key is already being processed";
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", error));
+            } catch (IdempotencyService.KeyReusedException e) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_CONTENT).body(Map.of("error", e.getMessage()));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+            } catch (Exception e) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "An error occurred: " + e.getMessage()));
+            }
+        });
     }
 
+    // Newest first; pass the X-Next-Cursor header back as cursor to get the next page
     @GetMapping
-    public ResponseEntity<List<Payment>> getAllPayments() {
-        List<Payment> payments = paymentService.getAllPayments();
-        return ResponseEntity.ok(payments);
+    public ResponseEntity<List<PaymentView>> getAllPayments(
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long cashierId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        PaymentFilter filter = new PaymentFilter(status, from, to, cashierId);
+        return paymentService.getPayments(filter, cursor, limit).toResponseEntity();
+    }
+
+    // Every matching payment (archived ones included) streamed as ?format=ndjson or csv; no paging
+    @GetMapping("/export")
+    public ResponseEntity<?> exportPayments(
+            @RequestParam(required = false) PaymentStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long cashierId,
+            @RequestParam(defaultValue = "ndjson") ExportFormat format) {
+        PaymentFilter filter = new PaymentFilter(status, from, to, cashierId);
+        try {
+            ResponseBodyEmitter export = exportService.streamPayments(filter, format);
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename("payments." + format.getLabel()).build().toString())
+                .body(export);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{paymentId}")
     public ResponseEntity<?> getPaymentById(@PathVariable Long paymentId) {
         try {
-            Payment payment = paymentService.getPaymentById(paymentId);
+            PaymentView payment = paymentService.getPaymentById(paymentId);
             return ResponseEntity.ok(payment);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -67,7 +128,7 @@ public class PaymentController {
     @GetMapping("/order/{orderId}")
     public ResponseEntity<?> getPaymentByOrderId(@PathVariable Long orderId) {
         try {
-            Payment payment = paymentService.getPaymentByOrderId(orderId);
+            PaymentView payment = paymentService.getPaymentByOrderId(orderId);
             return ResponseEntity.ok(payment);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -75,11 +136,15 @@ public class PaymentController {
         }
     }
 
+    // Same page as GET /api/payments?status=, for callers passing the label ("Paid") rather than the name
     @GetMapping("/status")
-    public ResponseEntity<?> getPaymentsByStatus(@RequestParam String status) {
+    public ResponseEntity<?> getPaymentsByStatus(
+            @RequestParam String status,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
         try {
-            List<Payment> payments = paymentService.getPaymentsByStatus(status);
-            return ResponseEntity.ok(payments);
+            PaymentFilter filter = new PaymentFilter(PaymentStatus.fromLabel(status), null, null, null);
+            return paymentService.getPayments(filter, cursor, limit).toResponseEntity();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(Map.of("error", e.getMessage()));
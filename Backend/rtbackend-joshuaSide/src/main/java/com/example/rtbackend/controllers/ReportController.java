@@ -0,0 +1,56 @@
+package com.example.rtbackend.controllers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.rtbackend.domain.enums.ReportGrain;
+import com.example.rtbackend.services.SalesRollupService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final SalesRollupService salesRollupService;
+
+    // Orders, revenue and units sold over [from, to) per ?groupBy=hour or day, payment method and dish; defaults to today
+    @GetMapping("/sales")
+    public ResponseEntity<?> getSalesReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "day") ReportGrain groupBy) {
+        try {
+            LocalDateTime start = from != null ? from : LocalDate.now().atStartOfDay();
+            LocalDateTime end = to != null ? to : start.toLocalDate().plusDays(1).atStartOfDay();
+            return ResponseEntity.ok(salesRollupService.getReport(start, end, groupBy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Recomputes the rollups from the live and archived orders and payments
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<?> rebuildRollups() {
+        try {
+            salesRollupService.rebuild();
+            return ResponseEntity.ok(Map.of("message", "Sales rollups rebuilt successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "An error occurred: " + e.getMessage()));
+        }
+    }
+}
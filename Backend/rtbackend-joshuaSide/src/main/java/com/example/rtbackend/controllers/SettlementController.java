@@ -0,0 +1,83 @@
+package com.example.rtbackend.controllers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.entities.Settlement;
+import com.example.rtbackend.services.SettlementService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/settlements")
+@CrossOrigin(origins = "*", exposedHeaders = CursorPage.NEXT_CURSOR_HEADER)
+@RequiredArgsConstructor
+public class SettlementController {
+
+    private final SettlementService settlementService;
+
+    // Closes ?day= (yesterday by default); only a finished day can be settled, and only once
+    @PostMapping
+    public ResponseEntity<?> settleDay(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(settlementService.settle(day != null ? day : LocalDate.now().minusDays(1)));
+        } catch (IllegalStateException | DataIntegrityViolationException e) {
+            // Already settled, or another request is settling the same day right now
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error",
+                e instanceof IllegalStateException ? e.getMessage() : "Business day is already being settled"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "An error occurred: " + e.getMessage()));
+        }
+    }
+
+    // Settled days in [from, to], newest first, without their breakdowns; the last 30 days by default
+    @GetMapping
+    public ResponseEntity<List<Settlement>> getSettlements(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate last = to != null ? to : LocalDate.now();
+        LocalDate first = from != null ? from : last.minusDays(29);
+        return ResponseEntity.ok(settlementService.getSettlements(first, last));
+    }
+
+    @GetMapping("/{day}")
+    public ResponseEntity<?> getSettlement(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        return settlementService.getSettlement(day)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", "Business day not settled: " + day)));
+    }
+
+    // Orders still open when the day was settled, in id order; pass X-Next-Cursor back as cursor
+    @GetMapping("/{day}/open-orders")
+    public ResponseEntity<?> getOpenOrders(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        try {
+            return settlementService.getOpenOrders(day, cursor, limit).toResponseEntity();
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
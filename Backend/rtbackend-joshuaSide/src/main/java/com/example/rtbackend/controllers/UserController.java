@@ -13,13 +13,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.rtbackend.domain.dto.CursorPage;
 import com.example.rtbackend.domain.entities.User;
 import com.example.rtbackend.services.UserService;
 
 @RestController
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = CursorPage.NEXT_CURSOR_HEADER)
 @RequestMapping("/users")
 public class UserController {
     
@@ -40,9 +42,10 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<User>> getAllUsers(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return userService.getUsers(cursor, limit).toResponseEntity();
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,62 @@
+package com.example.rtbackend.diagnostics;
+
+import javax.sql.DataSource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Samples the Hikari pool and reports when requests start queueing for a
+ * connection: past that point more request threads (virtual or not) only make
+ * the queue longer, and the pool size or query time is what limits throughput.
+ */
+@Slf4j
+@Component
+public class ConnectionPoolMonitor {
+
+    // Quiet samples needed before a saturation episode is reported as over, so bursts don't flap the log
+    private static final int SAMPLES_TO_RECOVER = 10;
+
+    private final HikariDataSource dataSource;
+
+    // Only touched by the scheduler thread
+    private boolean saturated;
+    private int peakWaiting;
+    private int saturatedSamples;
+    private int quietSamples;
+
+    public ConnectionPoolMonitor(DataSource dataSource) {
+        this.dataSource = dataSource instanceof HikariDataSource hikari ? hikari : null;
+    }
+
+    @Scheduled(fixedDelayString = "${diagnostics.pool.sample-interval-ms:1000}")
+    public void sample() {
+        HikariPoolMXBean pool = dataSource == null ? null : dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return;
+        }
+        int waiting = pool.getThreadsAwaitingConnection();
+        if (waiting > 0) {
+            if (!saturated) {
+                saturated = true;
+                log.warn("Connection pool saturated: {} threads waiting, {}/{} connections in use (maximum-pool-size={})",
+                    waiting, pool.getActiveConnections(), pool.getTotalConnections(), dataSource.getMaximumPoolSize());
+            }
+            peakWaiting = Math.max(peakWaiting, waiting);
+            saturatedSamples++;
+            quietSamples = 0;
+        } else if (saturated && ++quietSamples >= SAMPLES_TO_RECOVER) {
+            log.info("Connection pool recovered after {} saturated samples, peak {} threads waiting",
+                saturatedSamples, peakWaiting);
+            saturated = false;
+            peakWaiting = 0;
+            saturatedSamples = 0;
+            quietSamples = 0;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.rtbackend.diagnostics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier (inside
+ * {@code synchronized} or a native frame), using the JDK's own
+ * {@code jdk.VirtualThreadPinned} event. Pins are grouped by the first frame
+ * in our code, or the first non-JDK frame when the pin is inside a library;
+ * each site is logged with its stack the first time and then counted.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.example.rtbackend.";
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.");
+    private static final int LOGGED_FRAMES = 15;
+
+    private final Duration threshold;
+    private final Map<String, LongAdder> pinsBySite = new ConcurrentHashMap<>();
+    private final Map<String, Long> reportedCounts = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${diagnostics.pinning.threshold-ms:20}") long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        stream.close();
+    }
+
+    // Running totals for sites that pinned again since the last report
+    @Scheduled(fixedDelayString = "${diagnostics.pinning.report-interval-ms:60000}")
+    public void report() {
+        pinsBySite.forEach((site, pins) -> {
+            long count = pins.sum();
+            Long previous = reportedCounts.put(site, count);
+            if (previous != null && previous != count) {
+                log.warn("Virtual thread pinned {} times so far at {}", count, site);
+            }
+        });
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = siteOf(frames);
+        LongAdder pins = pinsBySite.computeIfAbsent(site, s -> new LongAdder());
+        pins.increment();
+        if (pins.sum() == 1) {
+            StringBuilder stack = new StringBuilder();
+            frames.stream().limit(LOGGED_FRAMES).forEach(frame -> stack.append("\n\tat ").append(describe(frame)));
+            log.warn("Virtual thread pinned its carrier for {} ms at {}{}",
+                event.getDuration().toMillis(), site, stack);
+        }
+    }
+
+    private static String siteOf(List<RecordedFrame> frames) {
+        return frames.stream()
+            .filter(frame -> typeOf(frame).startsWith(APP_PACKAGE))
+            .findFirst()
+            .or(() -> frames.stream()
+                .filter(frame -> JDK_PACKAGES.stream().noneMatch(typeOf(frame)::startsWith))
+                .findFirst())
+            .or(() -> frames.stream().findFirst())
+            .map(VirtualThreadPinningMonitor::describe)
+            .orElse("unknown");
+    }
+
+    private static String typeOf(RecordedFrame frame) {
+        return frame.getMethod().getType().getName();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return typeOf(frame) + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.rtbackend.domain.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A ticket being cooked together with the order it stands for, so the chef
+ * page can draw its cards from GET /api/kitchen/claims alone.
+ */
+public record ClaimedTicket(
+    Long orderId,
+    LocalDateTime paidAt,
+    Long chefId,
+    LocalDateTime claimedAt,
+    LocalDateTime date,
+    Double total,
+    UserSummary user,
+    List<OrderView.Line> items
+) {
+
+    public static ClaimedTicket of(KitchenTicket ticket, OrderView order) {
+        return new ClaimedTicket(ticket.orderId(), ticket.paidAt(), ticket.chefId(), ticket.claimedAt(),
+            order.date(), order.total(), order.user(), order.items());
+    }
+}
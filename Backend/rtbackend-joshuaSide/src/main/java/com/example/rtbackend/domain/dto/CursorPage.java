@@ -0,0 +1,40 @@
+package com.example.rtbackend.domain.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * One page of a keyset-paginated list. {@code nextCursor} is the id to pass
+ * back as {@code cursor} for the following page, or null on the last page.
+ * Controllers send the items as the body and the cursor in a header, so
+ * clients that ignore paging keep receiving a plain JSON array.
+ */
+public record CursorPage<T>(List<T> items, Long nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    // Expects rows fetched with limit + 1, so an extra row means another page exists
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, idOf.apply(items.get(limit - 1)));
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor.toString());
+        }
+        return response.body(items);
+    }
+}
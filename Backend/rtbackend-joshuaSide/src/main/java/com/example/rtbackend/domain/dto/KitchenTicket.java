@@ -0,0 +1,11 @@
+package com.example.rtbackend.domain.dto;
+
+import java.time.LocalDateTime;
+
+// chefId and claimedAt are null while the ticket is still waiting
+public record KitchenTicket(Long orderId, LocalDateTime paidAt, Long chefId, LocalDateTime claimedAt) {
+
+    public KitchenTicket claimedBy(Long chefId, LocalDateTime claimedAt) {
+        return new KitchenTicket(orderId, paidAt, chefId, claimedAt);
+    }
+}
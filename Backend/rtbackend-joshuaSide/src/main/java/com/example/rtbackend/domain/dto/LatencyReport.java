@@ -0,0 +1,11 @@
+package com.example.rtbackend.domain.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Stage latencies since "since", grouped per menu category and per clock hour
+public record LatencyReport(
+    LocalDateTime since,
+    List<LatencySummary> byCategory,
+    List<LatencySummary> byHour
+) {}
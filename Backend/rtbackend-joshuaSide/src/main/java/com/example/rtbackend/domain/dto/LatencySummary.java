@@ -0,0 +1,17 @@
+package com.example.rtbackend.domain.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.rtbackend.domain.enums.LatencyStage;
+
+// One histogram row; exactly one of category / hour is set, depending on how it was grouped
+public record LatencySummary(
+    LatencyStage stage,
+    String category,
+    LocalDateTime hour,
+    long count,
+    long p50Ms,
+    long p95Ms,
+    long p99Ms,
+    long maxMs
+) {}
@@ -0,0 +1,8 @@
+package com.example.rtbackend.domain.dto;
+
+// One bucket of GET /menu/categories; inStock counts items with live stock above zero
+public record MenuCategory(
+    String name,
+    int items,
+    int inStock
+) {}
@@ -0,0 +1,23 @@
+package com.example.rtbackend.domain.dto;
+
+import com.example.rtbackend.domain.entities.MenuItem;
+
+public record MenuItemView(
+    Long menuItemId,
+    String name,
+    Double price,
+    String description,
+    String category,
+    String imagePath,
+    Integer stockQuantity
+) {
+
+    public static MenuItemView from(MenuItem menuItem) {
+        return new MenuItemView(menuItem.getMenuItemId(), menuItem.getName(), menuItem.getPrice(),
+            menuItem.getDescription(), menuItem.getCategory(), menuItem.getImagePath(), menuItem.getStockQuantity());
+    }
+
+    public MenuItemView withStockQuantity(int stock) {
+        return new MenuItemView(menuItemId, name, price, description, category, imagePath, stock);
+    }
+}
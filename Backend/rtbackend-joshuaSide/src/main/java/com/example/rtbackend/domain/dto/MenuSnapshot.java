@@ -0,0 +1,41 @@
+package com.example.rtbackend.domain.dto;
+
+/**
+ * The full menu as GET /menu sends it: the JSON bytes plus gzip and brotli
+ * copies of them. The strong ETag is a hash of the JSON, so it survives
+ * restarts and agrees across instances; each compressed copy is a different
+ * representation and gets its own tag. brotli is null when the native encoder
+ * could not be loaded on this platform.
+ */
+public record MenuSnapshot(String etag, byte[] json, byte[] gzip, byte[] brotli) {
+
+    public String gzipEtag() {
+        return encodedEtag("gzip");
+    }
+
+    public String brotliEtag() {
+        return encodedEtag("br");
+    }
+
+    // If-None-Match compares weakly, so W/ prefixes and any encoding's tag count as a match
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag) || candidate.equals(gzipEtag())
+                    || candidate.equals(brotliEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String encodedEtag(String coding) {
+        return etag.substring(0, etag.length() - 1) + "-" + coding + "\"";
+    }
+}
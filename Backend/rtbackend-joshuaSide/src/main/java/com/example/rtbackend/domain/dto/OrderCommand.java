@@ -0,0 +1,11 @@
+package com.example.rtbackend.domain.dto;
+
+import java.util.Map;
+
+import com.example.rtbackend.domain.entities.Order;
+
+public record OrderCommand(Long waiterId, Map<Long, Integer> items, String idempotencyKey) {
+
+    // Exactly one of order / error is set
+    public record Result(Order order, RuntimeException error) {}
+}
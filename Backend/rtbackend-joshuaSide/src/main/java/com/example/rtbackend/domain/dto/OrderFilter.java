@@ -0,0 +1,8 @@
+package com.example.rtbackend.domain.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+
+// Any field may be null; "to" is exclusive
+public record OrderFilter(OrderStatus status, LocalDateTime from, LocalDateTime to, Long waiterId) {}
@@ -0,0 +1,14 @@
+package com.example.rtbackend.domain.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// Dashboard counters: current orders per status, plus what was ordered and paid on one day
+public record OrderStats(
+    Map<String, Long> statusCounts,
+    LocalDate date,
+    long ordersPlaced,
+    double orderTotal,
+    long paymentsReceived,
+    double revenue
+) {}
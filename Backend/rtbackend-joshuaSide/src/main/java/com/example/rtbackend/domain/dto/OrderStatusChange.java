@@ -0,0 +1,5 @@
+package com.example.rtbackend.domain.dto;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+
+public record OrderStatusChange(Long orderId, OrderStatus previousStatus, OrderStatus status) {}
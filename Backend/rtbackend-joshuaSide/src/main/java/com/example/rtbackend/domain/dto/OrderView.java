@@ -0,0 +1,62 @@
+package com.example.rtbackend.domain.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.OrderItem;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.projections.OrderHeader;
+import com.example.rtbackend.domain.projections.OrderLineRow;
+
+/**
+ * Read model for order screens. Keeps the field names the kitchen, cashier and
+ * manager pages already read, but carries only what they render.
+ */
+public record OrderView(
+    Long orderId,
+    LocalDateTime date,
+    OrderStatus status,
+    Double total,
+    UserSummary user,
+    List<Line> items
+) {
+
+    public record Line(Long orderItemId, Integer quantity, Double itemPrice, Double subtotal, Dish menuItem) {}
+
+    public record Dish(Long menuItemId, String name, Double price) {}
+
+    // For an order createOrder just wrote or replayed: its waiter, lines and dishes are already loaded
+    public static OrderView from(Order order) {
+        List<Line> lines = new ArrayList<>(order.getItems().size());
+        for (OrderItem item : order.getItems()) {
+            lines.add(new Line(item.getOrderItemId(), item.getQuantity(), item.getItemPrice(), item.getSubtotal(),
+                new Dish(item.getMenuItem().getMenuItemId(), item.getMenuItem().getName(), item.getMenuItem().getPrice())));
+        }
+        return new OrderView(order.getOrderId(), order.getDate(), order.getStatus(), order.getTotal(),
+            new UserSummary(order.getUser().getUserId(), order.getUser().getName()), lines);
+    }
+
+    // Stitches the lines onto their headers, keeping the header order
+    public static List<OrderView> assemble(List<OrderHeader> headers, List<OrderLineRow> lines) {
+        Map<Long, List<Line>> linesByOrder = new LinkedHashMap<>();
+        headers.forEach(header -> linesByOrder.put(header.orderId(), new ArrayList<>()));
+        for (OrderLineRow row : lines) {
+            List<Line> orderLines = linesByOrder.get(row.orderId());
+            if (orderLines != null) {
+                orderLines.add(new Line(row.orderItemId(), row.quantity(), row.itemPrice(), row.subtotal(),
+                    new Dish(row.menuItemId(), row.menuItemName(), row.menuItemPrice())));
+            }
+        }
+
+        List<OrderView> views = new ArrayList<>(headers.size());
+        for (OrderHeader header : headers) {
+            views.add(new OrderView(header.orderId(), header.date(), header.status(), header.total(),
+                new UserSummary(header.waiterId(), header.waiterName()), linesByOrder.get(header.orderId())));
+        }
+        return views;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.rtbackend.domain.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Backlog of the order event outbox; oldestPending is null when the relay is caught up
+public record OutboxStatus(
+    long pending,
+    long failed,
+    LocalDateTime oldestPending,
+    List<String> consumers
+) {}
@@ -0,0 +1,8 @@
+package com.example.rtbackend.domain.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.rtbackend.domain.enums.PaymentStatus;
+
+// Any field may be null; "to" is exclusive
+public record PaymentFilter(PaymentStatus status, LocalDateTime from, LocalDateTime to, Long cashierId) {}
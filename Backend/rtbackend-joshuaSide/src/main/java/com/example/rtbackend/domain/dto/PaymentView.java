@@ -0,0 +1,29 @@
+package com.example.rtbackend.domain.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.enums.PaymentStatus;
+import com.example.rtbackend.domain.projections.PaymentRow;
+
+/** Read model for payment lists; the order is summarized rather than expanded. */
+public record PaymentView(
+    Long paymentId,
+    Double amount,
+    PaymentStatus paymentStatus,
+    String paymentMethod,
+    LocalDateTime createdAt,
+    LocalDateTime processedAt,
+    OrderSummary order,
+    UserSummary cashier
+) {
+
+    public record OrderSummary(Long orderId, OrderStatus status, Double total) {}
+
+    public static PaymentView from(PaymentRow row) {
+        UserSummary cashier = row.cashierId() == null ? null : new UserSummary(row.cashierId(), row.cashierName());
+        return new PaymentView(row.paymentId(), row.amount(), row.paymentStatus(), row.paymentMethod(),
+            row.createdAt(), row.processedAt(),
+            new OrderSummary(row.orderId(), row.orderStatus(), row.orderTotal()), cashier);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.rtbackend.domain.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.rtbackend.domain.projections.MenuItemSales;
+import com.example.rtbackend.domain.projections.PaymentMethodTotal;
+
+// Orders, revenue and units sold over [from, to), read from the hourly rollups
+public record SalesReport(
+    LocalDateTime from,
+    LocalDateTime to,
+    String groupBy,
+    Totals totals,
+    List<Period> periods,
+    List<PaymentMethodTotal> byPaymentMethod,
+    List<MenuItemSales> byMenuItem
+) {
+    public record Totals(long ordersPlaced, double orderTotal, long paymentsReceived, double revenue, long unitsSold) {}
+
+    // One hour or one day; start is the first instant of the period
+    public record Period(LocalDateTime start, long ordersPlaced, double orderTotal, long paymentsReceived, double revenue) {}
+}
@@ -0,0 +1,42 @@
+package com.example.rtbackend.domain.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.rtbackend.domain.entities.Settlement;
+import com.example.rtbackend.domain.entities.SettlementCashier;
+import com.example.rtbackend.domain.entities.SettlementPaymentMethod;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.enums.SettlementIssue;
+
+// A stored end-of-day settlement with its breakdowns; the open orders are paged separately
+public record SettlementReport(
+    LocalDate businessDay,
+    LocalDateTime settledAt,
+    long ordersPlaced,
+    double orderTotal,
+    long paymentsReceived,
+    double revenue,
+    long paidNotServed,
+    long pendingUnpaid,
+    List<MethodTotal> byPaymentMethod,
+    List<CashierTotal> byCashier
+) {
+
+    public record MethodTotal(String paymentMethod, long payments, double revenue) {}
+
+    public record CashierTotal(Long cashierId, String name, long payments, double revenue) {}
+
+    public record OpenOrder(Long orderId, SettlementIssue issue, OrderStatus status, double total) {}
+
+    public static SettlementReport from(Settlement settlement, List<SettlementPaymentMethod> methods,
+                                        List<SettlementCashier> cashiers) {
+        return new SettlementReport(settlement.getBusinessDay(), settlement.getSettledAt(),
+            settlement.getOrdersPlaced(), settlement.getOrderTotal(),
+            settlement.getPaymentsReceived(), settlement.getRevenue(),
+            settlement.getPaidNotServed(), settlement.getPendingUnpaid(),
+            methods.stream().map(m -> new MethodTotal(m.getPaymentMethod(), m.getPayments(), m.getRevenue())).toList(),
+            cashiers.stream().map(c -> new CashierTotal(c.getCashierId(), c.getCashierName(), c.getPayments(), c.getRevenue())).toList());
+    }
+}
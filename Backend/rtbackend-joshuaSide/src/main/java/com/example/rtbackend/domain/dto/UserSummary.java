@@ -0,0 +1,3 @@
+package com.example.rtbackend.domain.dto;
+
+public record UserSummary(Long userId, String name) {}
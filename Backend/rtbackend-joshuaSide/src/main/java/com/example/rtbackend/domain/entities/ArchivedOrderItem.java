@@ -0,0 +1,43 @@
+package com.example.rtbackend.domain.entities;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Line of an archived order. The dish is kept by id only, so a menu item can be deleted after its orders are archived.
+@Entity
+@Immutable
+@Table(name = "order_item_archive")
+@Data
+@NoArgsConstructor
+public class ArchivedOrderItem {
+
+    @Id
+    @Column(name = "order_item_id")
+    private Long orderItemId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+
+    @Column(name = "menu_item_id", nullable = false)
+    private Long menuItemId;
+
+    @Column(name = "quantity")
+    private Integer quantity;
+
+    @Column(name = "item_price")
+    private Double itemPrice;
+
+    @Column(name = "subtotal")
+    private Double subtotal;
+}
@@ -0,0 +1,44 @@
+package com.example.rtbackend.domain.entities;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Units of one dish ordered in one clock hour; maintained by SalesRollupServiceImpl
+@Entity
+@Table(name = "rollup_items_hourly")
+@IdClass(ItemRollup.Key.class)
+@Data
+@NoArgsConstructor
+public class ItemRollup {
+
+    @Id
+    @Column(name = "hour")
+    private LocalDateTime hour;
+
+    @Id
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+
+    @Column(name = "units", nullable = false)
+    private Long units;
+
+    @Column(name = "sales", nullable = false)
+    private Double sales;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDateTime hour;
+        private Long menuItemId;
+    }
+}
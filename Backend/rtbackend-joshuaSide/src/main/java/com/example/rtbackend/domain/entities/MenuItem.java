@@ -14,7 +14,8 @@ import lombok.NoArgsConstructor;
 public class MenuItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_item_seq")
+    @SequenceGenerator(name = "menu_item_seq", sequenceName = "menu_item_seq", allocationSize = 50)
     @Column(name = "menu_item_id", nullable = false, updatable = false)
     private Long menuItemId;
     
@@ -33,6 +34,7 @@ public class MenuItem {
     @Column(name = "image_path")
     private String imagePath;
     
-    @Column(name = "stock_quantity", nullable = false)
+    // Written on insert only; later changes go through StockLedger so entity saves can't clobber reservations
+    @Column(name = "stock_quantity", nullable = false, updatable = false)
     private Integer stockQuantity = 0;
 }
@@ -3,6 +3,11 @@ package com.example.rtbackend.domain.entities;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.*;
@@ -18,7 +23,8 @@ import lombok.NoArgsConstructor;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     @Column(name = "order_id", updatable = false, nullable = false)
     private Long orderId;
 
@@ -30,11 +36,41 @@ public class Order {
     @Column(nullable = false)
     private LocalDateTime date;
     
-    @Column(length = 20, nullable = false)
-    private String status = "Pending";
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(nullable = false)
+    private OrderStatus status = OrderStatus.PENDING;
     
     @Column(nullable = false)
     private Double total = 0.0;
+
+    // Lifecycle: when the order was paid, went into Preparing, was Ready and was Served
+    @Column(name = "paid_at")
+    private LocalDateTime paidAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "ready_at")
+    private LocalDateTime readyAt;
+
+    @Column(name = "served_at")
+    private LocalDateTime servedAt;
+
+    // Chef cooking the order: set when it is claimed from the kitchen queue (or marked ready unclaimed)
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "chef_id")
+    private User chef;
+
+    @JsonIgnore
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    // Client-supplied Idempotency-Key; unique so a retried create can never insert a second order
+    @JsonIgnore
+    @Column(name = "idempotency_key", length = 64, unique = true)
+    private String idempotencyKey;
     
     @PrePersist
     protected void onCreate() {
@@ -42,7 +78,7 @@ public class Order {
             date = LocalDateTime.now();
         }
         if (status == null) {
-            status = "Pending";
+            status = OrderStatus.PENDING;
         }
         if (total == null) {
             total = 0.0;
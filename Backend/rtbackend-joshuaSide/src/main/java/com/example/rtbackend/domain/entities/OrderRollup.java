@@ -0,0 +1,28 @@
+package com.example.rtbackend.domain.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Orders placed in one clock hour; maintained by SalesRollupServiceImpl
+@Entity
+@Table(name = "rollup_orders_hourly")
+@Data
+@NoArgsConstructor
+public class OrderRollup {
+
+    @Id
+    @Column(name = "hour")
+    private LocalDateTime hour;
+
+    @Column(name = "orders", nullable = false)
+    private Long orders;
+
+    @Column(name = "order_value", nullable = false)
+    private Double orderValue;
+}
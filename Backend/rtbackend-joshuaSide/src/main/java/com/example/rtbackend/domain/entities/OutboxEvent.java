@@ -0,0 +1,88 @@
+package com.example.rtbackend.domain.entities;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.events.OrderEvent;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// An OrderEvent waiting in the outbox for the relay; see V11__order_outbox.sql
+@Entity
+@Table(name = "order_outbox")
+@Data
+@NoArgsConstructor
+public class OutboxEvent {
+
+    // Identity rather than a pooled sequence: ids must follow insert order, not id-block order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "event_type", nullable = false, length = 32)
+    private String eventType;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "status")
+    private OrderStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "previous_status")
+    private OrderStatus previousStatus;
+
+    @Column(name = "amount")
+    private Double amount;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
+    // Set while a relay is delivering the row
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    // Set after a failed delivery; the row is not retried before then
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    public static OutboxEvent from(OrderEvent event) {
+        OutboxEvent row = new OutboxEvent();
+        row.setOrderId(event.orderId());
+        row.setEventType(event.type());
+        row.setStatus(event.status());
+        row.setPreviousStatus(event.previousStatus());
+        row.setAmount(event.amount());
+        row.setOccurredAt(event.timestamp());
+        return row;
+    }
+
+    public OrderEvent toEvent() {
+        return new OrderEvent(eventType, orderId, status, previousStatus, occurredAt, amount);
+    }
+}
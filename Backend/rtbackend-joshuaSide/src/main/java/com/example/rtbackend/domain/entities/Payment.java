@@ -2,8 +2,17 @@ package com.example.rtbackend.domain.entities;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.example.rtbackend.domain.enums.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -11,6 +20,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -24,25 +34,30 @@ import lombok.NoArgsConstructor;
 public class Payment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     @Column(name = "payment_id")
     private Long paymentId;
 
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Order order;
 
     @Column(nullable = false)
     private Double amount;
 
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
     @Column(name = "payment_status", nullable = false)
-    private String paymentStatus; // "Pending", "Paid"
+    private PaymentStatus paymentStatus;
 
     @Column(name = "payment_method")
     private String paymentMethod; // "Cash", "Card", "GCash", etc.
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cashier_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private User cashier; // Cashier who processed the payment
 
     @Column(name = "created_at", nullable = false)
@@ -50,4 +65,9 @@ public class Payment {
 
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
+
+    // Client-supplied Idempotency-Key; unique so a double-submitted payment is recorded once
+    @JsonIgnore
+    @Column(name = "idempotency_key", length = 64, unique = true)
+    private String idempotencyKey;
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.example.rtbackend.domain.entities;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Paid payments taken in one clock hour with one payment method; maintained by SalesRollupServiceImpl
+@Entity
+@Table(name = "rollup_revenue_hourly")
+@IdClass(RevenueRollup.Key.class)
+@Data
+@NoArgsConstructor
+public class RevenueRollup {
+
+    @Id
+    @Column(name = "hour")
+    private LocalDateTime hour;
+
+    @Id
+    @Column(name = "payment_method")
+    private String paymentMethod;
+
+    @Column(name = "payments", nullable = false)
+    private Long payments;
+
+    @Column(name = "revenue", nullable = false)
+    private Double revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDateTime hour;
+        private String paymentMethod;
+    }
+}
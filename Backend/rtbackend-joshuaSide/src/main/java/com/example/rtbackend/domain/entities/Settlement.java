@@ -0,0 +1,49 @@
+package com.example.rtbackend.domain.entities;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Totals of one closed business day; written once by the settlement job
+@Entity
+@Immutable
+@Table(name = "settlements")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Settlement {
+
+    @Id
+    @Column(name = "business_day")
+    private LocalDate businessDay;
+
+    @Column(name = "settled_at", nullable = false)
+    private LocalDateTime settledAt;
+
+    @Column(name = "orders_placed", nullable = false)
+    private Long ordersPlaced;
+
+    @Column(name = "order_total", nullable = false)
+    private Double orderTotal;
+
+    @Column(name = "payments_received", nullable = false)
+    private Long paymentsReceived;
+
+    @Column(name = "revenue", nullable = false)
+    private Double revenue;
+
+    @Column(name = "paid_not_served", nullable = false)
+    private Long paidNotServed;
+
+    @Column(name = "pending_unpaid", nullable = false)
+    private Long pendingUnpaid;
+}
@@ -0,0 +1,50 @@
+package com.example.rtbackend.domain.entities;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Immutable
+@Table(name = "settlement_cashiers")
+@IdClass(SettlementCashier.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementCashier {
+
+    @Id
+    @Column(name = "business_day")
+    private LocalDate businessDay;
+
+    @Id
+    @Column(name = "cashier_id")
+    private Long cashierId;
+
+    @Column(name = "cashier_name")
+    private String cashierName;
+
+    @Column(name = "payments", nullable = false)
+    private Long payments;
+
+    @Column(name = "revenue", nullable = false)
+    private Double revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate businessDay;
+        private Long cashierId;
+    }
+}
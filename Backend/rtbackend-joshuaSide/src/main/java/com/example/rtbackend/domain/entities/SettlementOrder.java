@@ -0,0 +1,61 @@
+package com.example.rtbackend.domain.entities;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.enums.SettlementIssue;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// An order that was still open when its day was settled, as it stood then
+@Entity
+@Immutable
+@Table(name = "settlement_orders")
+@IdClass(SettlementOrder.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementOrder {
+
+    @Id
+    @Column(name = "business_day")
+    private LocalDate businessDay;
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "issue", nullable = false, length = 32)
+    private SettlementIssue issue;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "total", nullable = false)
+    private Double total;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate businessDay;
+        private Long orderId;
+    }
+}
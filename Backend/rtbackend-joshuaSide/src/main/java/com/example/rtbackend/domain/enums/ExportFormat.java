@@ -0,0 +1,24 @@
+package com.example.rtbackend.domain.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Formats of the streamed order and payment exports; the label is the ?format= value and the file extension
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String label;
+    private final String contentType;
+
+    public static ExportFormat fromLabel(String value) {
+        for (ExportFormat format : values()) {
+            if (format.label.equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + value);
+    }
+}
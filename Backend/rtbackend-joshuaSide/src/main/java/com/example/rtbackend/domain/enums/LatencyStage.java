@@ -0,0 +1,23 @@
+package com.example.rtbackend.domain.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// The stretches of an order's life that GET /api/orders/latency reports on
+@Getter
+@AllArgsConstructor
+public enum LatencyStage {
+    TIME_TO_PAY("time-to-pay"),     // placed -> paid
+    TIME_TO_COOK("time-to-cook"),   // into Preparing -> Ready
+    TIME_TO_SERVE("time-to-serve"); // Ready -> Served
+
+    @JsonValue
+    private final String label;
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
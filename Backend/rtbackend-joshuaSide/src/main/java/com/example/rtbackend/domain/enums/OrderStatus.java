@@ -0,0 +1,38 @@
+package com.example.rtbackend.domain.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Stored as the Postgres enum {@code orderstatus}; the label is what the API
+ * and the frontends have always used ("Pending", "Preparing", ...).
+ */
+@Getter
+@AllArgsConstructor
+public enum OrderStatus {
+    PENDING("Pending"),
+    PREPARING("Preparing"),
+    READY("Ready"),
+    SERVED("Served"),
+    CANCELLED("Cancelled");
+
+    @JsonValue
+    private final String label;
+
+    // Accepts the label or the constant name, ignoring case
+    public static OrderStatus fromLabel(String value) {
+        for (OrderStatus status : values()) {
+            if (status.label.equalsIgnoreCase(value.trim()) || status.name().equalsIgnoreCase(value.trim())) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown order status: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
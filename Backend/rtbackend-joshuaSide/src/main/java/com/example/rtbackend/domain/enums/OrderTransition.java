@@ -0,0 +1,20 @@
+package com.example.rtbackend.domain.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Every status change an order can go through. Each one is applied as a single
+ * guarded update, so it only succeeds while the order is still in {@code from}.
+ */
+@Getter
+@AllArgsConstructor
+public enum OrderTransition {
+    START_COOKING(OrderStatus.PENDING, OrderStatus.PREPARING, false),
+    MARK_READY(OrderStatus.PREPARING, OrderStatus.READY, true),
+    SERVE(OrderStatus.READY, OrderStatus.SERVED, false);
+
+    private final OrderStatus from;
+    private final OrderStatus to;
+    private final boolean requiresPayment;
+}
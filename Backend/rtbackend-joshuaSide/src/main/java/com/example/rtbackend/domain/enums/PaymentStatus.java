@@ -0,0 +1,34 @@
+package com.example.rtbackend.domain.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Stored as the Postgres enum {@code paymentstatus}; see {@link OrderStatus}.
+ */
+@Getter
+@AllArgsConstructor
+public enum PaymentStatus {
+    PENDING("Pending"),
+    PAID("Paid");
+
+    @JsonValue
+    private final String label;
+
+    // Accepts the label or the constant name, ignoring case
+    public static PaymentStatus fromLabel(String value) {
+        for (PaymentStatus status : values()) {
+            if (status.label.equalsIgnoreCase(value.trim()) || status.name().equalsIgnoreCase(value.trim())) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown payment status: " + value);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
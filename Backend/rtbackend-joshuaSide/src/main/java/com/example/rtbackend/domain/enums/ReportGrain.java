@@ -0,0 +1,23 @@
+package com.example.rtbackend.domain.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Period size of the sales report; the label is the ?groupBy= value
+@Getter
+@AllArgsConstructor
+public enum ReportGrain {
+    HOUR("hour"),
+    DAY("day");
+
+    private final String label;
+
+    public static ReportGrain fromLabel(String value) {
+        for (ReportGrain grain : values()) {
+            if (grain.label.equalsIgnoreCase(value.trim())) {
+                return grain;
+            }
+        }
+        throw new IllegalArgumentException("Unknown report grouping: " + value);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.rtbackend.domain.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Why an order was still open when its day was settled
+@Getter
+@AllArgsConstructor
+public enum SettlementIssue {
+    PAID_NOT_SERVED("Paid, not served"),
+    PENDING_UNPAID("Pending, unpaid");
+
+    @JsonValue
+    private final String label;
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
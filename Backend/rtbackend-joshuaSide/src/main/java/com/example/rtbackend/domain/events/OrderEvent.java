@@ -0,0 +1,67 @@
+package com.example.rtbackend.domain.events;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Published by the order and payment services whenever an order is created,
+ * changes status or is removed. Delivered to stream subscribers only after
+ * the surrounding transaction commits. {@code amount} is the order total on
+ * creation and the amount paid when a payment moves the order on.
+ * {@code removed} is set only on ORDER_DELETED, for in-process listeners; it is
+ * not serialized and not kept in the outbox.
+ */
+public record OrderEvent(
+    String type,
+    Long orderId,
+    OrderStatus status,
+    OrderStatus previousStatus,
+    LocalDateTime timestamp,
+    Double amount,
+    @JsonIgnore RemovedOrder removed
+) {
+
+    public static final String ORDER_CREATED = "order-created";
+    public static final String STATUS_CHANGED = "status-changed";
+    public static final String ORDER_DELETED = "order-deleted";
+    public static final String ORDERS_PURGED = "orders-purged";
+
+    public OrderEvent(String type, Long orderId, OrderStatus status, OrderStatus previousStatus,
+            LocalDateTime timestamp, Double amount) {
+        this(type, orderId, status, previousStatus, timestamp, amount, null);
+    }
+
+    public static OrderEvent created(Long orderId, OrderStatus status, Double total) {
+        return new OrderEvent(ORDER_CREATED, orderId, status, null, LocalDateTime.now(), total);
+    }
+
+    public static OrderEvent statusChanged(Long orderId, OrderStatus previousStatus, OrderStatus status) {
+        return new OrderEvent(STATUS_CHANGED, orderId, status, previousStatus, LocalDateTime.now(), null);
+    }
+
+    // Stamped with the payment's processed_at, the time the kitchen queue orders tickets by
+    public static OrderEvent paid(Long orderId, OrderStatus previousStatus, OrderStatus status, Double amount,
+            LocalDateTime paidAt) {
+        return new OrderEvent(STATUS_CHANGED, orderId, status, previousStatus, paidAt, amount);
+    }
+
+    public static OrderEvent deleted(Long orderId, RemovedOrder removed) {
+        return new OrderEvent(ORDER_DELETED, orderId, null, removed.status(), LocalDateTime.now(), null, removed);
+    }
+
+    public static OrderEvent purged() {
+        return new OrderEvent(ORDERS_PURGED, null, null, null, LocalDateTime.now(), null);
+    }
+
+    /** True if a subscriber filtering on {@code statuses} should see this event. */
+    public boolean matches(Set<OrderStatus> statuses) {
+        if (statuses == null || statuses.isEmpty() || ORDERS_PURGED.equals(type)) {
+            return true;
+        }
+        return (status != null && statuses.contains(status))
+            || (previousStatus != null && statuses.contains(previousStatus));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.rtbackend.domain.events;
+
+import java.time.LocalDateTime;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+
+// What a deleted order had contributed to the dashboard counters; paidAt and paid are null if it was never paid
+public record RemovedOrder(
+    OrderStatus status,
+    LocalDateTime placedAt,
+    Double total,
+    LocalDateTime paidAt,
+    Double paid
+) {}
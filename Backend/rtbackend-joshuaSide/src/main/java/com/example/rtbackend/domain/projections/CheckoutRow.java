@@ -0,0 +1,4 @@
+package com.example.rtbackend.domain.projections;
+
+// What PaymentRepo.checkout wrote: the new payment, the amount charged and the order status it replaced
+public record CheckoutRow(Long paymentId, Double amount, String previousStatus) {}
@@ -0,0 +1,5 @@
+package com.example.rtbackend.domain.projections;
+
+import java.time.LocalDate;
+
+public record DailyTotal(LocalDate day, Long count, Double amount) {}
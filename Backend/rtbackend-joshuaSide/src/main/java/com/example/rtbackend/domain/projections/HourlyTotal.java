@@ -0,0 +1,5 @@
+package com.example.rtbackend.domain.projections;
+
+import java.time.LocalDateTime;
+
+public record HourlyTotal(LocalDateTime hour, Long count, Double amount) {}
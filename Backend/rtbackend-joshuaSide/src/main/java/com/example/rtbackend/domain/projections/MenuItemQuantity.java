@@ -0,0 +1,3 @@
+package com.example.rtbackend.domain.projections;
+
+public record MenuItemQuantity(Long menuItemId, Long quantity) {}
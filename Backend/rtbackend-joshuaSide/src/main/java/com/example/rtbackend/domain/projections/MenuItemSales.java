@@ -0,0 +1,3 @@
+package com.example.rtbackend.domain.projections;
+
+public record MenuItemSales(Long menuItemId, String name, Long unitsSold, Double sales) {}
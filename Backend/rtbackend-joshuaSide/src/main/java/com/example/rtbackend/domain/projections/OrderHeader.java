@@ -0,0 +1,14 @@
+package com.example.rtbackend.domain.projections;
+
+import java.time.LocalDateTime;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+
+public record OrderHeader(
+    Long orderId,
+    LocalDateTime date,
+    OrderStatus status,
+    Double total,
+    Long waiterId,
+    String waiterName
+) {}
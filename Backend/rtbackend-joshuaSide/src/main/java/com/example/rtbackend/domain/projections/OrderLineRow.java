@@ -0,0 +1,12 @@
+package com.example.rtbackend.domain.projections;
+
+public record OrderLineRow(
+    Long orderId,
+    Long orderItemId,
+    Integer quantity,
+    Double itemPrice,
+    Double subtotal,
+    Long menuItemId,
+    String menuItemName,
+    Double menuItemPrice
+) {}
@@ -0,0 +1,13 @@
+package com.example.rtbackend.domain.projections;
+
+import java.time.LocalDateTime;
+
+// One row per menu category on the order
+public record OrderStageTimes(
+    String category,
+    LocalDateTime placedAt,
+    LocalDateTime paidAt,
+    LocalDateTime startedAt,
+    LocalDateTime readyAt,
+    LocalDateTime servedAt
+) {}
@@ -0,0 +1,3 @@
+package com.example.rtbackend.domain.projections;
+
+public record PaymentMethodTotal(String paymentMethod, Long payments, Double revenue) {}
@@ -0,0 +1,20 @@
+package com.example.rtbackend.domain.projections;
+
+import java.time.LocalDateTime;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.enums.PaymentStatus;
+
+public record PaymentRow(
+    Long paymentId,
+    Double amount,
+    PaymentStatus paymentStatus,
+    String paymentMethod,
+    LocalDateTime createdAt,
+    LocalDateTime processedAt,
+    Long orderId,
+    OrderStatus orderStatus,
+    Double orderTotal,
+    Long cashierId,
+    String cashierName
+) {}
@@ -0,0 +1,5 @@
+package com.example.rtbackend.domain.projections;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+
+public record StatusCount(OrderStatus status, Long count) {}
@@ -0,0 +1,7 @@
+package com.example.rtbackend.domain.projections;
+
+public interface StockLevel {
+    Long getMenuItemId();
+    String getName();
+    Integer getStockQuantity();
+}
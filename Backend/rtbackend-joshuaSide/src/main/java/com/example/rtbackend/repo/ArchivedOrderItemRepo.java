@@ -0,0 +1,35 @@
+package com.example.rtbackend.repo;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.rtbackend.domain.entities.ArchivedOrderItem;
+import com.example.rtbackend.domain.projections.OrderLineRow;
+
+public interface ArchivedOrderItemRepo extends JpaRepository<ArchivedOrderItem, Long> {
+
+    // Same rows as OrderItemRepo.findLines; a dish deleted since archiving comes back without name and price
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.OrderLineRow(
+            i.orderId, i.orderItemId, i.quantity, i.itemPrice, i.subtotal, i.menuItemId, m.name, m.price)
+        FROM ArchivedOrderItem i LEFT JOIN MenuItem m ON m.menuItemId = i.menuItemId
+        WHERE i.orderId IN :orderIds
+        ORDER BY i.orderItemId
+        """)
+    List<OrderLineRow> findLines(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO order_item_archive (order_item_id, order_id, order_date, menu_item_id, quantity, item_price, subtotal)
+        SELECT i.order_item_id, i.order_id, o.date, i.menu_item_id, i.quantity, i.item_price, i.subtotal
+        FROM order_item i JOIN orders o ON o.order_id = i.order_id
+        WHERE i.order_id IN (:orderIds)
+        ON CONFLICT DO NOTHING
+        """, nativeQuery = true)
+    int copyFromLive(@Param("orderIds") Collection<Long> orderIds);
+}
@@ -0,0 +1,18 @@
+package com.example.rtbackend.repo;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.rtbackend.domain.entities.ArchivedOrder;
+import com.example.rtbackend.domain.projections.OrderHeader;
+
+public interface ArchivedOrderReadRepo {
+    // Same header projection as OrderReadRepo, read from the archive
+    List<OrderHeader> findHeaders(Specification<ArchivedOrder> spec, Sort.Direction direction, Limit limit);
+
+    Stream<OrderHeader> streamHeaders(Specification<ArchivedOrder> spec, int fetchSize);
+}
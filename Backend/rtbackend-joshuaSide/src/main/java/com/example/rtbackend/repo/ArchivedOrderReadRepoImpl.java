@@ -0,0 +1,30 @@
+package com.example.rtbackend.repo;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.rtbackend.domain.entities.ArchivedOrder;
+import com.example.rtbackend.domain.projections.OrderHeader;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class ArchivedOrderReadRepoImpl implements ArchivedOrderReadRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderHeader> findHeaders(Specification<ArchivedOrder> spec, Sort.Direction direction, Limit limit) {
+        return OrderReadRepoImpl.findHeaders(entityManager, ArchivedOrder.class, spec, direction, limit);
+    }
+
+    @Override
+    public Stream<OrderHeader> streamHeaders(Specification<ArchivedOrder> spec, int fetchSize) {
+        return OrderReadRepoImpl.streamHeaders(entityManager, ArchivedOrder.class, spec, fetchSize);
+    }
+}
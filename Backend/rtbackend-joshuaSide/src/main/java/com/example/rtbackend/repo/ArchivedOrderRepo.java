@@ -0,0 +1,35 @@
+package com.example.rtbackend.repo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.rtbackend.domain.entities.ArchivedOrder;
+
+public interface ArchivedOrderRepo extends JpaRepository<ArchivedOrder, Long>, ArchivedOrderReadRepo {
+
+    @Query("SELECT MAX(o.date) FROM ArchivedOrder o")
+    Optional<LocalDateTime> findLatestDate();
+
+    // Makes sure the monthly partitions for these live orders exist before they are copied
+    @Query(value = "SELECT create_archive_partitions(MIN(date), MAX(date)) FROM orders WHERE order_id IN (:orderIds)",
+           nativeQuery = true)
+    int createPartitionsFor(@Param("orderIds") Collection<Long> orderIds);
+
+    // Copies live orders into the archive; a row already copied (e.g. by another instance) is skipped
+    @Modifying
+    @Query(value = """
+        INSERT INTO orders_archive (order_id, user_id, date, status, total, paid_at, started_at, ready_at, served_at,
+                                    chef_id, claimed_at)
+        SELECT order_id, user_id, date, status, total, paid_at, started_at, ready_at, served_at, chef_id, claimed_at
+        FROM orders
+        WHERE order_id IN (:orderIds)
+        ON CONFLICT DO NOTHING
+        """, nativeQuery = true)
+    int copyFromLive(@Param("orderIds") Collection<Long> orderIds);
+}
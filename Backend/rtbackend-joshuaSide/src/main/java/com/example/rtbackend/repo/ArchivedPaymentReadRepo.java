@@ -0,0 +1,13 @@
+package com.example.rtbackend.repo;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.rtbackend.domain.entities.ArchivedPayment;
+import com.example.rtbackend.domain.projections.PaymentRow;
+
+public interface ArchivedPaymentReadRepo {
+    // Same rows as PaymentReadRepo.streamRows, read from the archive
+    Stream<PaymentRow> streamRows(Specification<ArchivedPayment> spec, int fetchSize);
+}
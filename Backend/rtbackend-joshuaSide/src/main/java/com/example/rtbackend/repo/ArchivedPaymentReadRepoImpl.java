@@ -0,0 +1,22 @@
+package com.example.rtbackend.repo;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.rtbackend.domain.entities.ArchivedPayment;
+import com.example.rtbackend.domain.projections.PaymentRow;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class ArchivedPaymentReadRepoImpl implements ArchivedPaymentReadRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<PaymentRow> streamRows(Specification<ArchivedPayment> spec, int fetchSize) {
+        return PaymentReadRepoImpl.streamRows(entityManager, ArchivedPayment.class, spec, fetchSize);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.rtbackend.repo;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.rtbackend.domain.entities.ArchivedPayment;
+import com.example.rtbackend.domain.projections.PaymentRow;
+
+public interface ArchivedPaymentRepo extends JpaRepository<ArchivedPayment, Long>, ArchivedPaymentReadRepo {
+
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.PaymentRow(
+            p.paymentId, p.amount, p.paymentStatus, p.paymentMethod, p.createdAt, p.processedAt,
+            o.orderId, o.status, o.total, c.userId, c.name)
+        FROM ArchivedPayment p JOIN ArchivedOrder o ON o.orderId = p.orderId AND o.date = p.orderDate
+        LEFT JOIN p.cashier c
+        WHERE p.paymentId = :paymentId
+        """)
+    Optional<PaymentRow> findRowById(@Param("paymentId") Long paymentId);
+
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.PaymentRow(
+            p.paymentId, p.amount, p.paymentStatus, p.paymentMethod, p.createdAt, p.processedAt,
+            o.orderId, o.status, o.total, c.userId, c.name)
+        FROM ArchivedPayment p JOIN ArchivedOrder o ON o.orderId = p.orderId AND o.date = p.orderDate
+        LEFT JOIN p.cashier c
+        WHERE p.orderId = :orderId
+        """)
+    Optional<PaymentRow> findRowByOrderId(@Param("orderId") Long orderId);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO payments_archive (payment_id, order_id, order_date, amount, payment_status, payment_method,
+                                      cashier_id, created_at, processed_at)
+        SELECT p.payment_id, p.order_id, o.date, p.amount, p.payment_status, p.payment_method,
+               p.cashier_id, p.created_at, p.processed_at
+        FROM payments p JOIN orders o ON o.order_id = p.order_id
+        WHERE p.order_id IN (:orderIds)
+        ON CONFLICT DO NOTHING
+        """, nativeQuery = true)
+    int copyFromLive(@Param("orderIds") Collection<Long> orderIds);
+}
@@ -0,0 +1,72 @@
+package com.example.rtbackend.repo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.rtbackend.domain.entities.ItemRollup;
+import com.example.rtbackend.domain.projections.MenuItemSales;
+
+public interface ItemRollupRepo extends JpaRepository<ItemRollup, ItemRollup.Key> {
+
+    // Same as OrderRollupRepo.apply, per dish; lines count in the hour their order was placed
+    @Modifying
+    @Query(value = """
+        INSERT INTO rollup_items_hourly AS r (hour, menu_item_id, units, sales)
+        SELECT date_trunc('hour', o.date), i.menu_item_id,
+               :sign * COALESCE(SUM(i.quantity), 0), :sign * COALESCE(SUM(i.subtotal), 0)
+        FROM order_item i JOIN orders o ON o.order_id = i.order_id
+        WHERE i.order_id IN (:orderIds)
+        GROUP BY 1, 2
+        ORDER BY 1, 2
+        ON CONFLICT (hour, menu_item_id) DO UPDATE
+        SET units = r.units + EXCLUDED.units, sales = r.sales + EXCLUDED.sales
+        """, nativeQuery = true)
+    int apply(@Param("orderIds") Collection<Long> orderIds, @Param("sign") int sign);
+
+    // Same as OrderRollupRepo.add, per dish
+    @Modifying
+    @Query(value = """
+        INSERT INTO rollup_items_hourly AS r (hour, menu_item_id, units, sales)
+        SELECT * FROM unnest(CAST(:hours AS timestamp[]), CAST(:menuItemIds AS bigint[]),
+                             CAST(:units AS bigint[]), CAST(:sales AS float8[]))
+        ORDER BY 1, 2
+        ON CONFLICT (hour, menu_item_id) DO UPDATE
+        SET units = r.units + EXCLUDED.units, sales = r.sales + EXCLUDED.sales
+        """, nativeQuery = true)
+    int add(@Param("hours") LocalDateTime[] hours, @Param("menuItemIds") Long[] menuItemIds,
+            @Param("units") Long[] units, @Param("sales") Double[] sales);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO rollup_items_hourly (hour, menu_item_id, units, sales)
+        SELECT date_trunc('hour', i.order_date), i.menu_item_id, COALESCE(SUM(i.quantity), 0), COALESCE(SUM(i.subtotal), 0)
+        FROM (SELECT o.date AS order_date, i.menu_item_id, i.quantity, i.subtotal
+              FROM order_item i JOIN orders o ON o.order_id = i.order_id
+              WHERE o.date >= :from
+              UNION ALL
+              SELECT order_date, menu_item_id, quantity, subtotal FROM order_item_archive WHERE order_date >= :from) i
+        GROUP BY 1, 2
+        """, nativeQuery = true)
+    int rebuild(@Param("from") LocalDateTime from);
+
+    @Modifying
+    @Query(value = "DELETE FROM rollup_items_hourly WHERE hour >= :from", nativeQuery = true)
+    int clear(@Param("from") LocalDateTime from);
+
+    // Best sellers first; a dish deleted since comes back without a name
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.MenuItemSales(r.menuItemId, m.name, SUM(r.units), SUM(r.sales))
+        FROM ItemRollup r LEFT JOIN MenuItem m ON m.menuItemId = r.menuItemId
+        WHERE r.hour >= :from AND r.hour < :to
+        GROUP BY r.menuItemId, m.name
+        HAVING SUM(r.units) <> 0
+        ORDER BY SUM(r.units) DESC, r.menuItemId
+        """)
+    List<MenuItemSales> sumByMenuItem(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,83 @@
+package com.example.rtbackend.repo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.rtbackend.domain.dto.OrderFilter;
+import com.example.rtbackend.domain.dto.PaymentFilter;
+import com.example.rtbackend.domain.entities.Payment;
+
+/**
+ * Builds the WHERE clause for the paginated order and payment lists. Only the
+ * filters that were actually supplied become predicates, so each request gets a
+ * plain, index-friendly query instead of a chain of "param IS NULL OR ..." checks.
+ * The list specifications work on both the live tables and the archive.
+ */
+public final class ListSpecifications {
+
+    private ListSpecifications() {
+    }
+
+    public static <T> Specification<T> orders(OrderFilter filter, Long cursor) {
+        List<Specification<T>> specs = new ArrayList<>();
+        if (cursor != null) {
+            specs.add((root, query, cb) -> cb.lessThan(root.get("orderId"), cursor));
+        }
+        if (filter.status() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("status"), filter.status()));
+        }
+        if (filter.from() != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), filter.from()));
+        }
+        if (filter.to() != null) {
+            specs.add((root, query, cb) -> cb.lessThan(root.get("date"), filter.to()));
+        }
+        if (filter.waiterId() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("user").get("userId"), filter.waiterId()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static <T> Specification<T> order(Long orderId) {
+        return (root, query, cb) -> cb.equal(root.get("orderId"), orderId);
+    }
+
+    public static <T> Specification<T> ordersIn(Collection<Long> orderIds) {
+        return (root, query, cb) -> root.get("orderId").in(orderIds);
+    }
+
+    public static Specification<Payment> payment(Long paymentId) {
+        return (root, query, cb) -> cb.equal(root.get("paymentId"), paymentId);
+    }
+
+    public static Specification<Payment> paymentForOrder(Long orderId) {
+        return (root, query, cb) -> cb.equal(root.get("order").get("orderId"), orderId);
+    }
+
+    public static Specification<Payment> paymentForIdempotencyKey(String idempotencyKey) {
+        return (root, query, cb) -> cb.equal(root.get("idempotencyKey"), idempotencyKey);
+    }
+
+    public static <T> Specification<T> payments(PaymentFilter filter, Long cursor) {
+        List<Specification<T>> specs = new ArrayList<>();
+        if (cursor != null) {
+            specs.add((root, query, cb) -> cb.lessThan(root.get("paymentId"), cursor));
+        }
+        if (filter.status() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("paymentStatus"), filter.status()));
+        }
+        if (filter.from() != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), filter.from()));
+        }
+        if (filter.to() != null) {
+            specs.add((root, query, cb) -> cb.lessThan(root.get("createdAt"), filter.to()));
+        }
+        if (filter.cashierId() != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("cashier").get("userId"), filter.cashierId()));
+        }
+        return Specification.allOf(specs);
+    }
+}
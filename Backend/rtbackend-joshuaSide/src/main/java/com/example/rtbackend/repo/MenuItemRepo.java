@@ -1,8 +1,87 @@
 package com.example.rtbackend.repo;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.rtbackend.domain.dto.MenuItemView;
 import com.example.rtbackend.domain.entities.MenuItem;
+import com.example.rtbackend.domain.projections.StockLevel;
 
 public interface MenuItemRepo extends JpaRepository<MenuItem, Long> {
-    
+
+    String VIEW_COLUMNS = "new com.example.rtbackend.domain.dto.MenuItemView("
+        + "m.menuItemId, m.name, m.price, m.description, m.category, m.imagePath, m.stockQuantity)";
+
+    @Query("SELECT " + VIEW_COLUMNS + " FROM MenuItem m WHERE m.menuItemId > :cursor ORDER BY m.menuItemId")
+    List<MenuItemView> findViews(@Param("cursor") Long cursor, Limit limit);
+
+    @Query("SELECT " + VIEW_COLUMNS + " FROM MenuItem m WHERE m.menuItemId = :id")
+    Optional<MenuItemView> findViewById(@Param("id") Long id);
+
+    // Shared by every instance; see V16__menu_version.sql
+    @Query(value = "SELECT version FROM menu_version WHERE id = 1", nativeQuery = true)
+    long findMenuVersion();
+
+    @Modifying
+    @Query(value = "UPDATE menu_version SET version = version + 1 WHERE id = 1", nativeQuery = true)
+    int bumpMenuVersion();
+
+    // Deducts every line in a single statement; a line is only applied if enough stock remains.
+    // Returns the ids that were deducted so the caller can tell exactly which lines fell short.
+    @Query(value = """
+        UPDATE menu_item m
+        SET stock_quantity = m.stock_quantity - r.qty
+        FROM unnest(CAST(:ids AS bigint[]), CAST(:quantities AS integer[])) AS r(id, qty)
+        WHERE m.menu_item_id = r.id AND m.stock_quantity >= r.qty
+        RETURNING m.menu_item_id
+        """, nativeQuery = true)
+    List<Long> reserveStock(@Param("ids") Long[] ids, @Param("quantities") Integer[] quantities);
+
+    // Adds a signed delta to each listed item in a single statement
+    @Modifying
+    @Query(value = """
+        UPDATE menu_item m
+        SET stock_quantity = m.stock_quantity + r.delta
+        FROM unnest(CAST(:ids AS bigint[]), CAST(:deltas AS integer[])) AS r(id, delta)
+        WHERE m.menu_item_id = r.id
+        """, nativeQuery = true)
+    int applyStockDeltas(@Param("ids") Long[] ids, @Param("deltas") Integer[] deltas);
+
+    @Modifying
+    @Query(value = "UPDATE menu_item SET stock_quantity = :stock WHERE menu_item_id = :id", nativeQuery = true)
+    int setStockQuantity(@Param("id") Long id, @Param("stock") int stock);
+
+    // Stock including journal rows not folded in yet; one statement, so every committed change is counted once
+    @Query(value = """
+        SELECT m.menu_item_id AS menuItemId, m.name AS name,
+               CAST(m.stock_quantity + COALESCE(j.delta, 0) AS integer) AS stockQuantity
+        FROM menu_item m
+        LEFT JOIN (SELECT menu_item_id, SUM(delta) AS delta FROM stock_journal GROUP BY menu_item_id) j
+            ON j.menu_item_id = m.menu_item_id
+        """, nativeQuery = true)
+    List<StockLevel> findStockLevels();
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO stock_journal (menu_item_id, delta)
+        SELECT * FROM unnest(CAST(:ids AS bigint[]), CAST(:deltas AS integer[]))
+        """, nativeQuery = true)
+    int appendStockJournal(@Param("ids") Long[] ids, @Param("deltas") Integer[] deltas);
+
+    // Moves every committed journal row into menu_item; rows committed meanwhile wait for the next fold
+    @Modifying
+    @Query(value = """
+        WITH folded AS (DELETE FROM stock_journal RETURNING menu_item_id, delta)
+        UPDATE menu_item m
+        SET stock_quantity = m.stock_quantity + f.delta
+        FROM (SELECT menu_item_id, SUM(delta) AS delta FROM folded GROUP BY menu_item_id) f
+        WHERE m.menu_item_id = f.menu_item_id
+        """, nativeQuery = true)
+    int foldStockJournal();
 }
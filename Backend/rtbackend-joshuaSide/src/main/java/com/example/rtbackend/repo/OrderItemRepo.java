@@ -1,9 +1,49 @@
 package com.example.rtbackend.repo;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.example.rtbackend.domain.entities.OrderItem;
+import com.example.rtbackend.domain.projections.MenuItemQuantity;
+import com.example.rtbackend.domain.projections.OrderLineRow;
+import com.example.rtbackend.domain.projections.OrderStageTimes;
 
 public interface OrderItemRepo extends JpaRepository<OrderItem, Long>{
     List<OrderItem> findByOrder_OrderId(Long orderId);
+
+    // All lines for a set of orders with the dish columns the screens show, in one query
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.OrderLineRow(
+            i.order.orderId, i.orderItemId, i.quantity, i.itemPrice, i.subtotal, m.menuItemId, m.name, m.price)
+        FROM OrderItem i JOIN i.menuItem m
+        WHERE i.order.orderId IN :orderIds
+        ORDER BY i.orderItemId
+        """)
+    List<OrderLineRow> findLines(@Param("orderIds") Collection<Long> orderIds);
+
+    // Stock held by a set of orders, summed per menu item
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.MenuItemQuantity(i.menuItem.menuItemId, SUM(i.quantity))
+        FROM OrderItem i
+        WHERE i.order.orderId IN :orderIds
+        GROUP BY i.menuItem.menuItemId
+        """)
+    List<MenuItemQuantity> sumQuantitiesByMenuItem(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.orderId IN :orderIds")
+    int deleteByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    // Stage times of one order, once per category it contains; feeds the latency histograms
+    @Query("""
+        SELECT DISTINCT new com.example.rtbackend.domain.projections.OrderStageTimes(
+            m.category, o.date, o.paidAt, o.startedAt, o.readyAt, o.servedAt)
+        FROM OrderItem i JOIN i.order o JOIN i.menuItem m
+        WHERE o.orderId = :orderId
+        """)
+    List<OrderStageTimes> findStageTimes(@Param("orderId") Long orderId);
 }
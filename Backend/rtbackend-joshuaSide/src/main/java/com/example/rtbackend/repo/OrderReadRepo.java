@@ -0,0 +1,19 @@
+package com.example.rtbackend.repo;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.projections.OrderHeader;
+
+public interface OrderReadRepo {
+    // Selects only the header columns order screens render, ordered by order id
+    List<OrderHeader> findHeaders(Specification<Order> spec, Sort.Direction direction, Limit limit);
+
+    // Same headers in id order, read lazily; close the stream, and call it inside a transaction
+    Stream<OrderHeader> streamHeaders(Specification<Order> spec, int fetchSize);
+}
@@ -0,0 +1,75 @@
+package com.example.rtbackend.repo;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.projections.OrderHeader;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class OrderReadRepoImpl implements OrderReadRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderHeader> findHeaders(Specification<Order> spec, Sort.Direction direction, Limit limit) {
+        return findHeaders(entityManager, Order.class, spec, direction, limit);
+    }
+
+    @Override
+    public Stream<OrderHeader> streamHeaders(Specification<Order> spec, int fetchSize) {
+        return streamHeaders(entityManager, Order.class, spec, fetchSize);
+    }
+
+    // Shared with the archive: orders_archive maps the same attribute names as orders
+    static <T> List<OrderHeader> findHeaders(EntityManager entityManager, Class<T> type, Specification<T> spec,
+                                             Sort.Direction direction, Limit limit) {
+        TypedQuery<OrderHeader> typed = headerQuery(entityManager, type, spec, direction);
+        if (limit.isLimited()) {
+            typed.setMaxResults(limit.max());
+        }
+        return typed.getResultList();
+    }
+
+    // Inside a transaction the driver reads through a server-side cursor, fetchSize rows per round trip
+    static <T> Stream<OrderHeader> streamHeaders(EntityManager entityManager, Class<T> type, Specification<T> spec,
+                                                 int fetchSize) {
+        return headerQuery(entityManager, type, spec, Sort.Direction.ASC)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .getResultStream();
+    }
+
+    private static <T> TypedQuery<OrderHeader> headerQuery(EntityManager entityManager, Class<T> type,
+                                                           Specification<T> spec, Sort.Direction direction) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderHeader> query = cb.createQuery(OrderHeader.class);
+        Root<T> order = query.from(type);
+        Join<T, User> waiter = order.join("user");
+
+        query.select(cb.construct(OrderHeader.class,
+            order.get("orderId"), order.get("date"), order.get("status"), order.get("total"),
+            waiter.get("userId"), waiter.get("name")));
+
+        Predicate where = spec.toPredicate(order, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(direction.isAscending() ? cb.asc(order.get("orderId")) : cb.desc(order.get("orderId")));
+        return entityManager.createQuery(query);
+    }
+}
@@ -1,12 +1,134 @@
 package com.example.rtbackend.repo;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.rtbackend.domain.dto.KitchenTicket;
 import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.events.RemovedOrder;
+import com.example.rtbackend.domain.projections.DailyTotal;
+import com.example.rtbackend.domain.projections.StatusCount;
+
+public interface OrderRepo extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>, OrderReadRepo {
+
+    // A replayed create answers with the stored order, so its waiter, lines and dishes come in the same query
+    @EntityGraph(attributePaths = { "user", "items", "items.menuItem" })
+    Optional<Order> findByIdempotencyKey(String idempotencyKey);
+
+    @Query("SELECT MAX(o.orderId) FROM Order o")
+    Optional<Long> findMaxOrderId();
+
+    // Next chunk of ids for batched purges, bounded above so orders placed mid-purge are left alone
+    @Query("SELECT o.orderId FROM Order o WHERE o.orderId > :after AND o.orderId <= :upTo ORDER BY o.orderId")
+    List<Long> findIdsInRange(@Param("after") Long after, @Param("upTo") Long upTo, Limit limit);
+
+    // Next chunk of served, paid orders placed before the archive cutoff, in id order
+    @Query("""
+        SELECT o.orderId FROM Order o
+        WHERE o.orderId > :after AND o.date < :before
+          AND o.status = com.example.rtbackend.domain.enums.OrderStatus.SERVED
+          AND EXISTS (SELECT 1 FROM Payment p WHERE p.order.orderId = o.orderId AND p.paymentStatus = com.example.rtbackend.domain.enums.PaymentStatus.PAID)
+        ORDER BY o.orderId
+        """)
+    List<Long> findArchivableIds(@Param("after") Long after, @Param("before") LocalDateTime before, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.orderId IN :orderIds")
+    int deleteByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT new com.example.rtbackend.domain.projections.StatusCount(o.status, COUNT(o)) FROM Order o GROUP BY o.status")
+    List<StatusCount> countByStatus();
+
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.DailyTotal(CAST(o.date AS LocalDate), COUNT(o), SUM(o.total))
+        FROM Order o
+        WHERE o.date >= :since
+        GROUP BY CAST(o.date AS LocalDate)
+        """)
+    List<DailyTotal> sumTotalsByDay(@Param("since") LocalDateTime since);
+
+    @Query("SELECT o.status FROM Order o WHERE o.orderId = :orderId")
+    Optional<OrderStatus> findStatusById(@Param("orderId") Long orderId);
+
+    @Query("""
+        SELECT new com.example.rtbackend.domain.events.RemovedOrder(o.status, o.date, o.total, p.createdAt, p.amount)
+        FROM Order o
+        LEFT JOIN Payment p ON p.order = o AND p.paymentStatus = com.example.rtbackend.domain.enums.PaymentStatus.PAID
+        WHERE o.orderId = :orderId
+        """)
+    Optional<RemovedOrder> findRemovedById(@Param("orderId") Long orderId);
+
+    // Compare-and-set: returns 0 if the order is missing or no longer in the expected status.
+    // Also stamps the time the order entered its new stage.
+    @Modifying
+    @Query("""
+        UPDATE Order o SET o.status = :to,
+            o.startedAt = CASE WHEN :to = com.example.rtbackend.domain.enums.OrderStatus.PREPARING THEN :at ELSE o.startedAt END,
+            o.readyAt = CASE WHEN :to = com.example.rtbackend.domain.enums.OrderStatus.READY THEN :at ELSE o.readyAt END,
+            o.servedAt = CASE WHEN :to = com.example.rtbackend.domain.enums.OrderStatus.SERVED THEN :at ELSE o.servedAt END
+        WHERE o.orderId = :orderId AND o.status = :from
+        """)
+    int transitionStatus(@Param("orderId") Long orderId, @Param("from") OrderStatus from, @Param("to") OrderStatus to,
+                         @Param("at") LocalDateTime at);
+
+    // Same as transitionStatus, but also requires a confirmed payment for the order
+    @Modifying
+    @Query("""
+        UPDATE Order o SET o.status = :to,
+            o.startedAt = CASE WHEN :to = com.example.rtbackend.domain.enums.OrderStatus.PREPARING THEN :at ELSE o.startedAt END,
+            o.readyAt = CASE WHEN :to = com.example.rtbackend.domain.enums.OrderStatus.READY THEN :at ELSE o.readyAt END,
+            o.servedAt = CASE WHEN :to = com.example.rtbackend.domain.enums.OrderStatus.SERVED THEN :at ELSE o.servedAt END
+        WHERE o.orderId = :orderId AND o.status = :from
+          AND EXISTS (SELECT 1 FROM Payment p WHERE p.order.orderId = :orderId AND p.paymentStatus = com.example.rtbackend.domain.enums.PaymentStatus.PAID)
+        """)
+    int transitionPaidStatus(@Param("orderId") Long orderId, @Param("from") OrderStatus from, @Param("to") OrderStatus to,
+                             @Param("at") LocalDateTime at);
+
+    // Paid orders still being prepared, oldest payment first; rebuilds the kitchen queue
+    @Query("""
+        SELECT new com.example.rtbackend.domain.dto.KitchenTicket(o.orderId, p.processedAt, c.userId, o.claimedAt)
+        FROM Payment p JOIN p.order o LEFT JOIN o.chef c
+        WHERE o.status = com.example.rtbackend.domain.enums.OrderStatus.PREPARING
+          AND p.paymentStatus = com.example.rtbackend.domain.enums.PaymentStatus.PAID
+        ORDER BY p.processedAt, o.orderId
+        """)
+    List<KitchenTicket> findKitchenTickets();
+
+    @Query("SELECT c.userId FROM Order o JOIN o.chef c WHERE o.orderId = :orderId")
+    Optional<Long> findChefIdById(@Param("orderId") Long orderId);
 
-public interface OrderRepo extends JpaRepository<Order, Long> {
+    // Compare-and-set claim: 0 if another chef got there first or the order has left Preparing
+    @Modifying
+    @Query("""
+        UPDATE Order o SET o.chef = :chef, o.claimedAt = :claimedAt
+        WHERE o.orderId = :orderId AND o.chef IS NULL
+          AND o.status = com.example.rtbackend.domain.enums.OrderStatus.PREPARING
+        """)
+    int claimForChef(@Param("orderId") Long orderId, @Param("chef") User chef, @Param("claimedAt") LocalDateTime claimedAt);
 
-    List<Order> findByStatus(String status);
-    
+    // MARK_READY as one guarded update: still Preparing, paid, and unclaimed or claimed by this chef.
+    // Records the chef as the one who finished it; 0 if any of the guards failed.
+    @Modifying
+    @Query("""
+        UPDATE Order o SET o.status = com.example.rtbackend.domain.enums.OrderStatus.READY, o.readyAt = :at,
+            o.chef = :chef, o.claimedAt = COALESCE(o.claimedAt, :at)
+        WHERE o.orderId = :orderId
+          AND o.status = com.example.rtbackend.domain.enums.OrderStatus.PREPARING
+          AND (o.chef IS NULL OR o.chef.userId = :chefId)
+          AND EXISTS (SELECT 1 FROM Payment p WHERE p.order.orderId = :orderId AND p.paymentStatus = com.example.rtbackend.domain.enums.PaymentStatus.PAID)
+        """)
+    int markReady(@Param("orderId") Long orderId, @Param("chef") User chef, @Param("chefId") Long chefId,
+                  @Param("at") LocalDateTime at);
 }
@@ -0,0 +1,90 @@
+package com.example.rtbackend.repo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.rtbackend.domain.entities.OrderRollup;
+import com.example.rtbackend.domain.projections.DailyTotal;
+import com.example.rtbackend.domain.projections.HourlyTotal;
+
+public interface OrderRollupRepo extends JpaRepository<OrderRollup, LocalDateTime> {
+
+    // Adds (sign = 1) or subtracts (sign = -1) the given live orders. Rows are locked in hour order
+    // so concurrent writers touching several hours can't deadlock each other.
+    @Modifying
+    @Query(value = """
+        INSERT INTO rollup_orders_hourly AS r (hour, orders, order_value)
+        SELECT date_trunc('hour', o.date), :sign * COUNT(*), :sign * SUM(o.total)
+        FROM orders o
+        WHERE o.order_id IN (:orderIds)
+        GROUP BY 1
+        ORDER BY 1
+        ON CONFLICT (hour) DO UPDATE
+        SET orders = r.orders + EXCLUDED.orders, order_value = r.order_value + EXCLUDED.order_value
+        """, nativeQuery = true)
+    int apply(@Param("orderIds") Collection<Long> orderIds, @Param("sign") int sign);
+
+    // Adds the deltas SalesRollupServiceImpl buffered since its last flush, one row per hour
+    @Modifying
+    @Query(value = """
+        INSERT INTO rollup_orders_hourly AS r (hour, orders, order_value)
+        SELECT * FROM unnest(CAST(:hours AS timestamp[]), CAST(:orders AS bigint[]), CAST(:orderValues AS float8[]))
+        ORDER BY 1
+        ON CONFLICT (hour) DO UPDATE
+        SET orders = r.orders + EXCLUDED.orders, order_value = r.order_value + EXCLUDED.order_value
+        """, nativeQuery = true)
+    int add(@Param("hours") LocalDateTime[] hours, @Param("orders") Long[] orders, @Param("orderValues") Double[] orderValues);
+
+    // Recounts the hours from the given one on, after clear(from)
+    @Modifying
+    @Query(value = """
+        INSERT INTO rollup_orders_hourly (hour, orders, order_value)
+        SELECT date_trunc('hour', o.date), COUNT(*), SUM(o.total)
+        FROM (SELECT date, total FROM orders WHERE date >= :from
+              UNION ALL
+              SELECT date, total FROM orders_archive WHERE date >= :from) o
+        GROUP BY 1
+        """, nativeQuery = true)
+    int rebuild(@Param("from") LocalDateTime from);
+
+    @Modifying
+    @Query(value = "DELETE FROM rollup_orders_hourly WHERE hour >= :from", nativeQuery = true)
+    int clear(@Param("from") LocalDateTime from);
+
+    // Called by every order and payment; only the first of an hour writes anything
+    @Modifying
+    @Query(value = "INSERT INTO rollup_dirty_hours (hour) VALUES (:hour) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int markDirty(@Param("hour") LocalDateTime hour);
+
+    @Query(value = "SELECT MIN(hour) FROM rollup_dirty_hours", nativeQuery = true)
+    Optional<LocalDateTime> findOldestDirtyHour();
+
+    @Modifying
+    @Query(value = "DELETE FROM rollup_dirty_hours WHERE hour < :before", nativeQuery = true)
+    int settleHours(@Param("before") LocalDateTime before);
+
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.HourlyTotal(r.hour, SUM(r.orders), SUM(r.orderValue))
+        FROM OrderRollup r
+        WHERE r.hour >= :from AND r.hour < :to
+        GROUP BY r.hour
+        ORDER BY r.hour
+        """)
+    List<HourlyTotal> sumByHour(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.DailyTotal(CAST(r.hour AS LocalDate), SUM(r.orders), SUM(r.orderValue))
+        FROM OrderRollup r
+        WHERE r.hour >= :from AND r.hour < :to
+        GROUP BY CAST(r.hour AS LocalDate)
+        ORDER BY CAST(r.hour AS LocalDate)
+        """)
+    List<DailyTotal> sumByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
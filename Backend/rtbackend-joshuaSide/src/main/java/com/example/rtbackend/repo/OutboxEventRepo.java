@@ -0,0 +1,74 @@
+package com.example.rtbackend.repo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.rtbackend.domain.entities.OutboxEvent;
+
+public interface OutboxEventRepo extends JpaRepository<OutboxEvent, Long> {
+
+    // Claims are made by one relay per partition at a time, across all instances; released when the transaction ends
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('order_outbox'), :partition)", nativeQuery = true)
+    boolean tryLockPartition(@Param("partition") int partition);
+
+    // Oldest due, unclaimed events of one partition; an order's events always fall in the same partition.
+    // An event waits while an earlier one of its order is parked, claimed or backing off, so it never overtakes it.
+    @Query(value = """
+        SELECT * FROM order_outbox e
+        WHERE e.failed_at IS NULL AND mod(COALESCE(e.order_id, 0), :partitions) = :partition
+          AND (e.claimed_until IS NULL OR e.claimed_until < now())
+          AND (e.next_attempt_at IS NULL OR e.next_attempt_at <= now())
+          AND NOT EXISTS (SELECT 1 FROM order_outbox p WHERE p.order_id = e.order_id AND p.id < e.id
+                          AND (p.failed_at IS NOT NULL OR p.claimed_until >= now() OR p.next_attempt_at > now()))
+        ORDER BY e.id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<OutboxEvent> findPending(@Param("partition") int partition, @Param("partitions") int partitions,
+                                  @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE order_outbox SET claimed_until = now() + :leaseMs * interval '1 millisecond' WHERE id IN (:ids)",
+        nativeQuery = true)
+    int claim(@Param("ids") Collection<Long> ids, @Param("leaseMs") long leaseMs);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedUntil = NULL WHERE e.id IN :ids")
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // Counts a failed delivery and holds the event back for delayMs; it is parked once it has used up maxAttempts
+    @Modifying
+    @Query(value = """
+        UPDATE order_outbox SET attempts = attempts + 1, last_error = :error, claimed_until = NULL,
+            next_attempt_at = now() + :delayMs * interval '1 millisecond',
+            failed_at = CASE WHEN attempts + 1 >= :maxAttempts THEN now() END
+        WHERE id = :id
+        """, nativeQuery = true)
+    int recordFailure(@Param("id") Long id, @Param("error") String error, @Param("maxAttempts") int maxAttempts,
+                      @Param("delayMs") long delayMs);
+
+    // Gives parked events (of one order, or all when orderId is null) a fresh set of attempts, due now
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e SET e.failedAt = NULL, e.attempts = 0, e.nextAttemptAt = NULL
+        WHERE e.failedAt IS NOT NULL AND (:orderId IS NULL OR e.orderId = :orderId)
+        """)
+    int requeueParked(@Param("orderId") Long orderId);
+
+    long countByFailedAtIsNull();
+
+    long countByFailedAtIsNotNull();
+
+    @Query("SELECT MIN(e.occurredAt) FROM OutboxEvent e WHERE e.failedAt IS NULL")
+    Optional<LocalDateTime> findOldestPending();
+}
@@ -0,0 +1,19 @@
+package com.example.rtbackend.repo;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.rtbackend.domain.entities.Payment;
+import com.example.rtbackend.domain.projections.PaymentRow;
+
+public interface PaymentReadRepo {
+    // Selects the payment plus a summary of its order and cashier in one narrow query
+    List<PaymentRow> findRows(Specification<Payment> spec, Sort.Direction direction, Limit limit);
+
+    // Same rows in id order, read lazily; close the stream, and call it inside a transaction
+    Stream<PaymentRow> streamRows(Specification<Payment> spec, int fetchSize);
+}
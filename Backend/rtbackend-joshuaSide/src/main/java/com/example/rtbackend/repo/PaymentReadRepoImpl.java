@@ -0,0 +1,73 @@
+package com.example.rtbackend.repo;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.rtbackend.domain.entities.Payment;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.projections.PaymentRow;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class PaymentReadRepoImpl implements PaymentReadRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PaymentRow> findRows(Specification<Payment> spec, Sort.Direction direction, Limit limit) {
+        TypedQuery<PaymentRow> typed = rowQuery(entityManager, Payment.class, spec, direction);
+        if (limit.isLimited()) {
+            typed.setMaxResults(limit.max());
+        }
+        return typed.getResultList();
+    }
+
+    @Override
+    public Stream<PaymentRow> streamRows(Specification<Payment> spec, int fetchSize) {
+        return streamRows(entityManager, Payment.class, spec, fetchSize);
+    }
+
+    // Shared with the archive: payments_archive maps the same attribute names as payments
+    static <T> Stream<PaymentRow> streamRows(EntityManager entityManager, Class<T> type, Specification<T> spec,
+                                             int fetchSize) {
+        return rowQuery(entityManager, type, spec, Sort.Direction.ASC)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .getResultStream();
+    }
+
+    private static <T> TypedQuery<PaymentRow> rowQuery(EntityManager entityManager, Class<T> type,
+                                                       Specification<T> spec, Sort.Direction direction) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PaymentRow> query = cb.createQuery(PaymentRow.class);
+        Root<T> payment = query.from(type);
+        Join<T, ?> order = payment.join("order");
+        Join<T, User> cashier = payment.join("cashier", JoinType.LEFT);
+
+        query.select(cb.construct(PaymentRow.class,
+            payment.get("paymentId"), payment.get("amount"), payment.get("paymentStatus"),
+            payment.get("paymentMethod"), payment.get("createdAt"), payment.get("processedAt"),
+            order.get("orderId"), order.get("status"), order.get("total"),
+            cashier.get("userId"), cashier.get("name")));
+
+        Predicate where = spec.toPredicate(payment, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(direction.isAscending() ? cb.asc(payment.get("paymentId")) : cb.desc(payment.get("paymentId")));
+        return entityManager.createQuery(query);
+    }
+}
@@ -1,13 +1,57 @@
 package com.example.rtbackend.repo;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.rtbackend.domain.entities.Payment;
+import com.example.rtbackend.domain.projections.CheckoutRow;
+import com.example.rtbackend.domain.projections.DailyTotal;
 
-public interface PaymentRepo extends JpaRepository<Payment, Long> {
-    List<Payment> findByPaymentStatus(String paymentStatus);
+public interface PaymentRepo extends JpaRepository<Payment, Long>, JpaSpecificationExecutor<Payment>, PaymentReadRepo {
     Optional<Payment> findByOrder_OrderId(Long orderId);
-}
\ No newline at end of file
+
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.DailyTotal(CAST(p.createdAt AS LocalDate), COUNT(p), SUM(p.amount))
+        FROM Payment p
+        WHERE p.paymentStatus = com.example.rtbackend.domain.enums.PaymentStatus.PAID AND p.createdAt >= :since
+        GROUP BY CAST(p.createdAt AS LocalDate)
+        """)
+    List<DailyTotal> sumPaidByDay(@Param("since") LocalDateTime since);
+
+    // Checkout in one statement: moves an unpaid Pending or Preparing order to Preparing and inserts its
+    // payment. The order row is locked first, so a second cashier waits and then finds paid_at set;
+    // ux_payments_order_id rejects anything that still gets through. Empty when nothing was charged.
+    @Query(value = """
+        WITH paid AS (
+            UPDATE orders o
+            SET status = 'PREPARING', paid_at = :now, started_at = COALESCE(o.started_at, :now)
+            FROM (SELECT order_id, status FROM orders WHERE order_id = :orderId FOR UPDATE) old
+            WHERE o.order_id = old.order_id AND o.paid_at IS NULL AND o.status IN ('PENDING', 'PREPARING')
+            RETURNING o.order_id, o.total, old.status AS previous_status
+        ), payment AS (
+            INSERT INTO payments (payment_id, order_id, amount, payment_status, payment_method, cashier_id,
+                                  created_at, processed_at, idempotency_key)
+            SELECT nextval('payments_seq'), order_id, total, CAST('PAID' AS paymentstatus), :paymentMethod, :cashierId,
+                   :now, :now, CAST(:idempotencyKey AS varchar)
+            FROM paid
+            RETURNING payment_id
+        )
+        SELECT payment.payment_id AS paymentId, paid.total AS amount, CAST(paid.previous_status AS varchar) AS previousStatus
+        FROM paid CROSS JOIN payment
+        """, nativeQuery = true)
+    Optional<CheckoutRow> checkout(@Param("orderId") Long orderId, @Param("paymentMethod") String paymentMethod,
+                                   @Param("cashierId") Long cashierId, @Param("now") LocalDateTime now,
+                                   @Param("idempotencyKey") String idempotencyKey);
+
+    @Modifying
+    @Query("DELETE FROM Payment p WHERE p.order.orderId IN :orderIds")
+    int deleteByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
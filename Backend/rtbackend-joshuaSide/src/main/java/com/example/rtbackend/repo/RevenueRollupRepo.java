@@ -0,0 +1,89 @@
+package com.example.rtbackend.repo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.rtbackend.domain.entities.RevenueRollup;
+import com.example.rtbackend.domain.projections.DailyTotal;
+import com.example.rtbackend.domain.projections.HourlyTotal;
+import com.example.rtbackend.domain.projections.PaymentMethodTotal;
+
+public interface RevenueRollupRepo extends JpaRepository<RevenueRollup, RevenueRollup.Key> {
+
+    // Same as OrderRollupRepo.apply for the paid payments of the given live orders, by payment time
+    @Modifying
+    @Query(value = """
+        INSERT INTO rollup_revenue_hourly AS r (hour, payment_method, payments, revenue)
+        SELECT date_trunc('hour', p.created_at), COALESCE(p.payment_method, 'Unknown'), :sign * COUNT(*), :sign * SUM(p.amount)
+        FROM payments p
+        WHERE p.order_id IN (:orderIds) AND p.payment_status = 'PAID'
+        GROUP BY 1, 2
+        ORDER BY 1, 2
+        ON CONFLICT (hour, payment_method) DO UPDATE
+        SET payments = r.payments + EXCLUDED.payments, revenue = r.revenue + EXCLUDED.revenue
+        """, nativeQuery = true)
+    int apply(@Param("orderIds") Collection<Long> orderIds, @Param("sign") int sign);
+
+    // Same as OrderRollupRepo.add, per payment method
+    @Modifying
+    @Query(value = """
+        INSERT INTO rollup_revenue_hourly AS r (hour, payment_method, payments, revenue)
+        SELECT * FROM unnest(CAST(:hours AS timestamp[]), CAST(:paymentMethods AS varchar[]),
+                             CAST(:payments AS bigint[]), CAST(:revenue AS float8[]))
+        ORDER BY 1, 2
+        ON CONFLICT (hour, payment_method) DO UPDATE
+        SET payments = r.payments + EXCLUDED.payments, revenue = r.revenue + EXCLUDED.revenue
+        """, nativeQuery = true)
+    int add(@Param("hours") LocalDateTime[] hours, @Param("paymentMethods") String[] paymentMethods,
+            @Param("payments") Long[] payments, @Param("revenue") Double[] revenue);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO rollup_revenue_hourly (hour, payment_method, payments, revenue)
+        SELECT date_trunc('hour', p.created_at), COALESCE(p.payment_method, 'Unknown'), COUNT(*), SUM(p.amount)
+        FROM (SELECT created_at, payment_method, amount FROM payments
+              WHERE payment_status = 'PAID' AND created_at >= :from
+              UNION ALL
+              SELECT created_at, payment_method, amount FROM payments_archive
+              WHERE payment_status = 'PAID' AND created_at >= :from) p
+        GROUP BY 1, 2
+        """, nativeQuery = true)
+    int rebuild(@Param("from") LocalDateTime from);
+
+    @Modifying
+    @Query(value = "DELETE FROM rollup_revenue_hourly WHERE hour >= :from", nativeQuery = true)
+    int clear(@Param("from") LocalDateTime from);
+
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.HourlyTotal(r.hour, SUM(r.payments), SUM(r.revenue))
+        FROM RevenueRollup r
+        WHERE r.hour >= :from AND r.hour < :to
+        GROUP BY r.hour
+        ORDER BY r.hour
+        """)
+    List<HourlyTotal> sumByHour(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.DailyTotal(CAST(r.hour AS LocalDate), SUM(r.payments), SUM(r.revenue))
+        FROM RevenueRollup r
+        WHERE r.hour >= :from AND r.hour < :to
+        GROUP BY CAST(r.hour AS LocalDate)
+        ORDER BY CAST(r.hour AS LocalDate)
+        """)
+    List<DailyTotal> sumByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+        SELECT new com.example.rtbackend.domain.projections.PaymentMethodTotal(r.paymentMethod, SUM(r.payments), SUM(r.revenue))
+        FROM RevenueRollup r
+        WHERE r.hour >= :from AND r.hour < :to
+        GROUP BY r.paymentMethod
+        ORDER BY SUM(r.revenue) DESC
+        """)
+    List<PaymentMethodTotal> sumByPaymentMethod(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
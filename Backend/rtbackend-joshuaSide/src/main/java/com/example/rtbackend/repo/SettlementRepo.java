@@ -0,0 +1,35 @@
+package com.example.rtbackend.repo;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.rtbackend.domain.dto.SettlementReport;
+import com.example.rtbackend.domain.entities.Settlement;
+import com.example.rtbackend.domain.entities.SettlementCashier;
+import com.example.rtbackend.domain.entities.SettlementPaymentMethod;
+
+// Reads of a settlement and its detail rows, which are only ever written together by SettlementServiceImpl
+public interface SettlementRepo extends JpaRepository<Settlement, LocalDate> {
+
+    List<Settlement> findByBusinessDayBetweenOrderByBusinessDayDesc(LocalDate from, LocalDate to);
+
+    @Query("SELECT m FROM SettlementPaymentMethod m WHERE m.businessDay = :day ORDER BY m.revenue DESC")
+    List<SettlementPaymentMethod> findPaymentMethods(@Param("day") LocalDate day);
+
+    @Query("SELECT c FROM SettlementCashier c WHERE c.businessDay = :day ORDER BY c.revenue DESC")
+    List<SettlementCashier> findCashiers(@Param("day") LocalDate day);
+
+    // Keyset page of the open orders, in order id order; read as DTOs so a large day isn't held as entities
+    @Query("""
+        SELECT new com.example.rtbackend.domain.dto.SettlementReport$OpenOrder(o.orderId, o.issue, o.status, o.total)
+        FROM SettlementOrder o
+        WHERE o.businessDay = :day AND o.orderId > :after
+        ORDER BY o.orderId
+        """)
+    List<SettlementReport.OpenOrder> findOpenOrders(@Param("day") LocalDate day, @Param("after") Long after, Limit limit);
+}
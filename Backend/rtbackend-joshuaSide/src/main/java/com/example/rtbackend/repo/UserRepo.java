@@ -1,7 +1,9 @@
 package com.example.rtbackend.repo;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.example.rtbackend.domain.entities.User;
@@ -11,4 +13,6 @@ public interface UserRepo extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     
     Optional<User> findByRoleName(String roleName);
+
+    List<User> findByUserIdGreaterThanOrderByUserIdAsc(Long cursor, Limit limit);
 }
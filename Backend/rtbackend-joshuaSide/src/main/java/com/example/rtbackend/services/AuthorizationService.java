@@ -0,0 +1,17 @@
+package com.example.rtbackend.services;
+
+import com.example.rtbackend.domain.entities.User;
+
+public interface AuthorizationService {
+    String MANAGER = "MANAGER";
+    String CASHIER = "CASHIER";
+    String WAITER = "WAITER";
+    String CHEF = "CHEF";
+
+    // Returns the user when they hold the role, so callers need not load them again
+    User requireRole(Long userId, String roleName, String deniedMessage);
+
+    void evictUser(Long userId);
+
+    void evictRoles();
+}
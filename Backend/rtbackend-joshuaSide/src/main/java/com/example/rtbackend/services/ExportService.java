@@ -0,0 +1,13 @@
+package com.example.rtbackend.services;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.example.rtbackend.domain.dto.OrderFilter;
+import com.example.rtbackend.domain.dto.PaymentFilter;
+import com.example.rtbackend.domain.enums.ExportFormat;
+
+public interface ExportService {
+    // Streamed from an export thread; RejectedExecutionException when exports.max-concurrent are already running
+    ResponseBodyEmitter streamOrders(OrderFilter filter, ExportFormat format);
+    ResponseBodyEmitter streamPayments(PaymentFilter filter, ExportFormat format);
+}
@@ -0,0 +1,24 @@
+package com.example.rtbackend.services;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.ResponseEntity;
+
+public interface IdempotencyService {
+
+    String KEY_HEADER = "Idempotency-Key";
+    String REPLAYED_HEADER = "Idempotent-Replayed";
+    int MAX_KEY_LENGTH = 64;
+
+    // Runs the request once per (scope, key); repeats get the stored response back instead of running it again.
+    // The scope names the endpoint (method and path) and the body is fingerprinted with it, so a key reused
+    // for a different request gets a 422 rather than someone else's response. A null key runs the request as usual.
+    ResponseEntity<?> execute(String scope, String key, Object body, Supplier<ResponseEntity<?>> request);
+
+    // Thrown when a key already stored in the database belongs to a different request; answered with 422
+    class KeyReusedException extends RuntimeException {
+        public KeyReusedException() {
+            super(KEY_HEADER + " was already used for a different request");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.rtbackend.services;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.example.rtbackend.domain.dto.ClaimedTicket;
+import com.example.rtbackend.domain.dto.KitchenTicket;
+
+public interface KitchenQueueService {
+    // Empty when no paid ticket is waiting
+    Optional<KitchenTicket> claimNext(Long chefId);
+    List<KitchenTicket> getWaitingTickets();
+    // With each order's lines, read in two queries however many tickets there are
+    List<ClaimedTicket> getClaimedTickets(Long chefId);
+}
@@ -1,13 +1,20 @@
 package com.example.rtbackend.services;
 
-import java.util.List;
+import java.util.Map;
 
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.MenuItemView;
+import com.example.rtbackend.domain.dto.MenuSnapshot;
 import com.example.rtbackend.domain.entities.MenuItem;
 
 public interface MenuItemService {
-    List<MenuItem> getAllMenuItems();
+    CursorPage<MenuItemView> getMenuItems(Long cursor, int limit);
 
-    MenuItem getMenuItemById(Long id);
+    MenuSnapshot getMenuSnapshot();
+
+    Map<Long, Integer> getStockLevels();
+
+    MenuItemView getMenuItemById(Long id);
 
     MenuItem createMenuItem(Long requesterId, MenuItem menuItem);
 
@@ -0,0 +1,19 @@
+package com.example.rtbackend.services;
+
+import java.util.List;
+
+import com.example.rtbackend.domain.dto.MenuCategory;
+import com.example.rtbackend.domain.dto.MenuItemView;
+
+public interface MenuSearchService {
+
+    // Every word of the query must start a word of the name or description; name matches rank first
+    List<MenuItemView> search(String query, String category, boolean inStockOnly, int limit);
+
+    List<MenuCategory> getCategories();
+
+    // Called by MenuItemService after each change, so only that item's entries are touched
+    void index(MenuItemView item);
+
+    void remove(Long menuItemId);
+}
@@ -0,0 +1,8 @@
+package com.example.rtbackend.services;
+
+import java.time.LocalDateTime;
+
+public interface OrderArchiveService {
+    long archiveOrders();
+    LocalDateTime getArchiveBoundary();
+}
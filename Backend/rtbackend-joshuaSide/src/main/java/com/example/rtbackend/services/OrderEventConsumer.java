@@ -0,0 +1,19 @@
+package com.example.rtbackend.services;
+
+import com.example.rtbackend.domain.events.OrderEvent;
+
+/**
+ * A side effect of order and payment changes (receipts, notifications, syncs)
+ * that runs off the request path. Every bean implementing this receives each
+ * committed OrderEvent from the outbox relay, in order for any one order, at
+ * least once: a failure anywhere in a batch redelivers the failed event to
+ * every consumer, so implementations must tolerate seeing an event twice.
+ * Throwing marks the event for retry.
+ */
+public interface OrderEventConsumer {
+
+    // Shown in the outbox status and in delivery errors
+    String name();
+
+    void accept(OrderEvent event) throws Exception;
+}
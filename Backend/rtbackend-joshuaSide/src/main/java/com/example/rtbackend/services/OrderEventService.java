@@ -0,0 +1,11 @@
+package com.example.rtbackend.services;
+
+import java.util.Set;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+
+public interface OrderEventService {
+    SseEmitter subscribe(Set<OrderStatus> statuses, Long lastEventId);
+}
@@ -0,0 +1,16 @@
+package com.example.rtbackend.services;
+
+import java.util.Map;
+
+import com.example.rtbackend.domain.entities.Order;
+
+/**
+ * Entry point for new orders from the API. {@code orders.ingest.mode} picks
+ * between one transaction per order (direct, the default) and grouping
+ * concurrent orders into shared transactions (batched).
+ */
+public interface OrderIngestion {
+
+    // Same contract as OrderService.createOrder; throws RejectedExecutionException when intake is saturated
+    Order createOrder(Long waiterId, Map<Long, Integer> items, String idempotencyKey);
+}
@@ -0,0 +1,7 @@
+package com.example.rtbackend.services;
+
+import com.example.rtbackend.domain.dto.LatencyReport;
+
+public interface OrderLatencyService {
+    LatencyReport getReport();
+}
@@ -0,0 +1,8 @@
+package com.example.rtbackend.services;
+
+import com.example.rtbackend.domain.dto.OutboxStatus;
+
+public interface OrderOutboxService {
+    OutboxStatus getStatus();
+    int requeueParked(Long orderId);
+}
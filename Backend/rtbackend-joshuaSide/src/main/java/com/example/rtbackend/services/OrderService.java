@@ -3,18 +3,23 @@ package com.example.rtbackend.services;
 import java.util.List;
 import java.util.Map;
 
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.OrderCommand;
+import com.example.rtbackend.domain.dto.OrderFilter;
+import com.example.rtbackend.domain.dto.OrderStatusChange;
+import com.example.rtbackend.domain.dto.OrderView;
+import com.example.rtbackend.domain.dto.PaymentView;
 import com.example.rtbackend.domain.entities.Order;
-import com.example.rtbackend.domain.entities.Payment;
 
 public interface OrderService {
-    Order createOrder(Long waiterId, Map<Long, Integer> items);
-    Order markOrderAsCooking(Long orderId, Long cashierId);
-    Order markOrderAsReady(Long orderId, Long chefId);
-    Order markOrderAsServed(Long orderId, Long waiterId);
-    List<Order> getOrdersByStatus(String status);
-    Order getOrderById(Long orderId);
-    List<Order> getAllOrders();
+    Order createOrder(Long waiterId, Map<Long, Integer> items, String idempotencyKey);
+    List<OrderCommand.Result> createOrders(List<OrderCommand> commands);
+    OrderStatusChange markOrderAsCooking(Long orderId, Long cashierId);
+    OrderStatusChange markOrderAsReady(Long orderId, Long chefId);
+    OrderStatusChange markOrderAsServed(Long orderId, Long waiterId);
+    OrderView getOrderById(Long orderId);
+    CursorPage<OrderView> getOrders(OrderFilter filter, Long cursor, int limit);
     void deleteOrder(Long orderId);
-    void deleteAllOrders();
-    Payment getPaymentByOrderId(Long orderId);
+    long deleteAllOrders();
+    PaymentView getPaymentByOrderId(Long orderId);
 }
\ No newline at end of file
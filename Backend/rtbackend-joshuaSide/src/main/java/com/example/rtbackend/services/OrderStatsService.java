@@ -0,0 +1,9 @@
+package com.example.rtbackend.services;
+
+import java.time.LocalDate;
+
+import com.example.rtbackend.domain.dto.OrderStats;
+
+public interface OrderStatsService {
+    OrderStats getStats(LocalDate date);
+}
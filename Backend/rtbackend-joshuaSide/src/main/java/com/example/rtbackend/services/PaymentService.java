@@ -1,13 +1,12 @@
 package com.example.rtbackend.services;
 
-import java.util.List;
-
-import com.example.rtbackend.domain.entities.Payment;
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.PaymentFilter;
+import com.example.rtbackend.domain.dto.PaymentView;
 
 public interface PaymentService {
-    Payment processPayment(Long orderId, String paymentMethod, Long cashierId);
-    Payment getPaymentById(Long paymentId);
-    Payment getPaymentByOrderId(Long orderId);
-    List<Payment> getAllPayments();
-    List<Payment> getPaymentsByStatus(String paymentStatus);
+    PaymentView processPayment(Long orderId, String paymentMethod, Long cashierId, String idempotencyKey);
+    PaymentView getPaymentById(Long paymentId);
+    PaymentView getPaymentByOrderId(Long orderId);
+    CursorPage<PaymentView> getPayments(PaymentFilter filter, Long cursor, int limit);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.rtbackend.services;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import com.example.rtbackend.domain.dto.SalesReport;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.enums.ReportGrain;
+
+public interface SalesRollupService {
+    // The three writers below must run inside the transaction that changes the source rows
+    void recordOrder(Order order);
+    void recordPayment(LocalDateTime paidAt, String paymentMethod, Double amount);
+    void removeOrders(Collection<Long> orderIds);
+
+    void rebuild();
+    SalesReport getReport(LocalDateTime from, LocalDateTime to, ReportGrain grain);
+}
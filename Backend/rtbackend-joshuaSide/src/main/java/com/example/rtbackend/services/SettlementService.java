@@ -0,0 +1,16 @@
+package com.example.rtbackend.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.SettlementReport;
+import com.example.rtbackend.domain.entities.Settlement;
+
+public interface SettlementService {
+    SettlementReport settle(LocalDate day);
+    Optional<SettlementReport> getSettlement(LocalDate day);
+    CursorPage<SettlementReport.OpenOrder> getOpenOrders(LocalDate day, Long cursor, int limit);
+    List<Settlement> getSettlements(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,37 @@
+package com.example.rtbackend.services;
+
+import java.util.Map;
+
+import com.example.rtbackend.domain.entities.MenuItem;
+
+/**
+ * Owns every change to menu item stock. Entity saves never write
+ * {@code stock_quantity}; reservations, releases and manager edits all go
+ * through here so the ledger and the table cannot drift apart.
+ */
+public interface StockLedger {
+
+    // All-or-nothing: throws NoSuchElementException for unknown items and
+    // IllegalStateException listing every short item. Undone if the caller's transaction rolls back.
+    void reserve(Map<Long, Integer> quantities);
+
+    void release(Map<Long, Integer> quantities);
+
+    void setStock(Long menuItemId, int newStock);
+
+    void track(MenuItem menuItem);
+
+    void forget(Long menuItemId);
+
+    // Live stock for an item, or persistedStock when the ledger keeps nothing in memory
+    int stockOf(Long menuItemId, int persistedStock);
+
+    // Live stock of every item, keyed by menu item id
+    Map<Long, Integer> levels();
+
+    // Copies the live stock level onto an entity about to be returned to a client
+    default MenuItem refreshStock(MenuItem menuItem) {
+        menuItem.setStockQuantity(stockOf(menuItem.getMenuItemId(), menuItem.getStockQuantity()));
+        return menuItem;
+    }
+}
@@ -1,10 +1,10 @@
 package com.example.rtbackend.services;
 
+import com.example.rtbackend.domain.dto.CursorPage;
 import com.example.rtbackend.domain.entities.User;
-import java.util.List;
 
 public interface UserService {
-    List<User> getAllUsers();
+    CursorPage<User> getUsers(Long cursor, int limit);
 
     User getUserById(Long id);
 
@@ -0,0 +1,118 @@
+package com.example.rtbackend.services.impl;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.rtbackend.domain.entities.Role;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.repo.RoleRepo;
+import com.example.rtbackend.repo.UserRepo;
+import com.example.rtbackend.services.AuthorizationService;
+
+/**
+ * Answers the "is this user a waiter/chef/..." checks without a query per request.
+ * Role ids are resolved once at startup; users are kept as detached snapshots
+ * (with their role) until UserService / RoleService change them, or for at most
+ * auth.cache.ttl-ms so edits made by another instance are picked up.
+ */
+@Service
+public class AuthorizationServiceImpl implements AuthorizationService {
+
+    private final UserRepo userRepo;
+    private final RoleRepo roleRepo;
+    private final long ttlMs;
+
+    private final Map<String, Long> roleIds = new ConcurrentHashMap<>();
+    private final Map<Long, CachedUser> users = new ConcurrentHashMap<>();
+
+    public AuthorizationServiceImpl(
+            UserRepo userRepo,
+            RoleRepo roleRepo,
+            @Value("${auth.cache.ttl-ms:300000}") long ttlMs) {
+        this.userRepo = userRepo;
+        this.roleRepo = roleRepo;
+        this.ttlMs = ttlMs;
+    }
+
+    // After the command line runners, so the default roles DataInitializer creates are there
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRoles() {
+        roleRepo.findAll().forEach(role -> roleIds.put(role.getRoleName(), role.getRoleId()));
+    }
+
+    @Override
+    public User requireRole(Long userId, String roleName, String deniedMessage) {
+        User user = getUser(userId);
+
+        if (user.getRole() == null) {
+            throw new IllegalStateException("User does not have an assigned role");
+        }
+        if (!user.getRole().getRoleId().equals(getRoleId(roleName))) {
+            throw new SecurityException(deniedMessage);
+        }
+        return user;
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        afterCommit(() -> users.remove(userId));
+    }
+
+    // Users carry a copy of their role, so they go too; role ids are looked up again on next use
+    @Override
+    public void evictRoles() {
+        afterCommit(() -> {
+            roleIds.clear();
+            users.clear();
+        });
+    }
+
+    private User getUser(Long userId) {
+        CachedUser cached = users.get(userId);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.user();
+        }
+
+        User user = userRepo.findById(userId)
+            .map(AuthorizationServiceImpl::snapshot)
+            .orElseThrow(() -> new NoSuchElementException("User not found with id: " + userId));
+        users.put(userId, new CachedUser(user, System.currentTimeMillis() + ttlMs));
+        return user;
+    }
+
+    private Long getRoleId(String roleName) {
+        return roleIds.computeIfAbsent(roleName, name -> roleRepo.findByRoleName(name)
+            .map(Role::getRoleId)
+            .orElseThrow(() -> new NoSuchElementException("Role not found with name: " + name)));
+    }
+
+    // Evicting before commit would let a concurrent check cache the old row again
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    // A copy nobody's persistence context manages; safe to hand to concurrent requests and to use as a reference
+    private static User snapshot(User user) {
+        Role role = user.getRole() == null ? null : new Role(user.getRole().getRoleId(), user.getRole().getRoleName());
+        return new User(user.getUserId(), user.getUsername(), user.getName(), role, null);
+    }
+
+    private record CachedUser(User user, long expiresAt) {}
+}
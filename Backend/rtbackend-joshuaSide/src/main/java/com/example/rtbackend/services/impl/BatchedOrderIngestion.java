@@ -0,0 +1,168 @@
+package com.example.rtbackend.services.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.example.rtbackend.domain.dto.OrderCommand;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.services.OrderIngestion;
+import com.example.rtbackend.services.OrderService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Group commit for order creation. Callers queue a command and wait; one worker
+ * drains up to {@code batch-size} commands (or whatever arrived within
+ * {@code linger-ms} of the first) and hands them to
+ * {@link OrderService#createOrders}, so the whole batch pays for one commit.
+ * A caller waits at most {@code wait-timeout-ms} for its answer.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "orders.ingest.mode", havingValue = "batched")
+public class BatchedOrderIngestion implements OrderIngestion {
+
+    private final OrderService orderService;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long waitTimeoutMs;
+    private final BlockingQueue<Pending> queue;
+    private final Thread worker = new Thread(this::run, "order-ingest");
+    private volatile boolean running = true;
+
+    public BatchedOrderIngestion(
+            OrderService orderService,
+            @Value("${orders.ingest.batch-size:32}") int batchSize,
+            @Value("${orders.ingest.linger-ms:5}") long lingerMs,
+            @Value("${orders.ingest.queue-capacity:1024}") int queueCapacity,
+            @Value("${orders.ingest.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        this.orderService = orderService;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(Pending::reject);
+    }
+
+    @Override
+    public Order createOrder(Long waiterId, Map<Long, Integer> items, String idempotencyKey) {
+        Pending pending = new Pending(new OrderCommand(waiterId, items, idempotencyKey), new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            throw new RejectedExecutionException("Order intake is busy, please retry");
+        }
+        try {
+            return pending.result().get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued: withdraw it so it is never saved. Already in a batch: it may yet commit,
+            // and a retry with the same Idempotency-Key will find it.
+            if (queue.remove(pending)) {
+                throw new RejectedExecutionException("Order intake is busy, please retry");
+            }
+            throw new RejectedExecutionException(
+                "Order was not confirmed in time; retry with the same Idempotency-Key to see whether it was saved");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the order to be saved", e);
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                apply(batch);
+            } catch (InterruptedException e) {
+                batch.forEach(Pending::reject);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order batch of {} failed", batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Callers are only answered once the shared transaction has committed
+    private void apply(List<Pending> batch) {
+        List<OrderCommand.Result> results;
+        try {
+            results = orderService.createOrders(batch.stream().map(Pending::command).toList());
+        } catch (RuntimeException e) {
+            // The shared commit failed (e.g. an Idempotency-Key raced another instance), so nothing
+            // in the batch was saved; give every order its own transaction instead
+            log.warn("Order batch of {} failed to commit, retrying one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(this::applyAlone);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            OrderCommand.Result result = results.get(i);
+            if (result.error() == null) {
+                batch.get(i).result().complete(result.order());
+            } else {
+                batch.get(i).result().completeExceptionally(result.error());
+            }
+        }
+    }
+
+    private void applyAlone(Pending pending) {
+        OrderCommand command = pending.command();
+        try {
+            pending.result().complete(
+                orderService.createOrder(command.waiterId(), command.items(), command.idempotencyKey()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private record Pending(OrderCommand command, CompletableFuture<Order> result) {
+
+        void reject() {
+            result.completeExceptionally(new RejectedExecutionException("Order intake is shutting down"));
+        }
+    }
+}
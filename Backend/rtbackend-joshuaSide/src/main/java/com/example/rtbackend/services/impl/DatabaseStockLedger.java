@@ -0,0 +1,118 @@
+package com.example.rtbackend.services.impl;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.rtbackend.domain.entities.MenuItem;
+import com.example.rtbackend.repo.MenuItemRepo;
+import com.example.rtbackend.services.StockLedger;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps stock only in {@code menu_item}, applying each change as a set-based
+ * statement inside the caller's transaction. Use this when more than one
+ * backend instance shares the database.
+ */
+@Service
+@Transactional
+@ConditionalOnProperty(name = "stock.ledger.mode", havingValue = "database")
+@RequiredArgsConstructor
+public class DatabaseStockLedger implements StockLedger {
+
+    private final MenuItemRepo menuItemRepo;
+
+    // A shortfall must not mark the caller's transaction rollback-only: the batched createOrders undoes
+    // one order's lines with a savepoint and carries on. MANDATORY, so a caller's rollback always
+    // covers the lines that were applied before the throw.
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY,
+        noRollbackFor = { IllegalStateException.class, NoSuchElementException.class })
+    public void reserve(Map<Long, Integer> quantities) {
+        Long[] ids = quantities.keySet().toArray(new Long[0]);
+        Integer[] amounts = new Integer[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            amounts[i] = quantities.get(ids[i]);
+        }
+
+        // Lines that would go negative are skipped; throwing rolls back the ones that were applied
+        List<Long> reserved = menuItemRepo.reserveStock(ids, amounts);
+        if (reserved.size() != ids.length) {
+            rejectUnreservedItems(quantities, reserved);
+        }
+    }
+
+    @Override
+    public void release(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        Long[] ids = quantities.keySet().toArray(new Long[0]);
+        Integer[] deltas = new Integer[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            deltas[i] = quantities.get(ids[i]);
+        }
+        menuItemRepo.applyStockDeltas(ids, deltas);
+    }
+
+    @Override
+    public void setStock(Long menuItemId, int newStock) {
+        if (menuItemRepo.setStockQuantity(menuItemId, newStock) == 0) {
+            throw new NoSuchElementException("Menu Item not found with id: " + menuItemId);
+        }
+    }
+
+    @Override
+    public void track(MenuItem menuItem) {
+        // Stock already lives in the row that was just inserted
+    }
+
+    @Override
+    public void forget(Long menuItemId) {
+        // Nothing cached
+    }
+
+    @Override
+    public int stockOf(Long menuItemId, int persistedStock) {
+        return persistedStock;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> levels() {
+        Map<Long, Integer> levels = new HashMap<>();
+        menuItemRepo.findStockLevels().forEach(level -> levels.put(level.getMenuItemId(), level.getStockQuantity()));
+        return levels;
+    }
+
+    // Reports exactly which lines could not be reserved: unknown ids first, then every short item
+    private void rejectUnreservedItems(Map<Long, Integer> quantities, List<Long> reserved) {
+        Set<Long> failedIds = new HashSet<>(quantities.keySet());
+        reserved.forEach(failedIds::remove);
+
+        Map<Long, MenuItem> failedItems = new HashMap<>();
+        menuItemRepo.findAllById(failedIds).forEach(menuItem -> failedItems.put(menuItem.getMenuItemId(), menuItem));
+
+        for (Long menuItemId : failedIds) {
+            if (!failedItems.containsKey(menuItemId)) {
+                throw new NoSuchElementException("Menu item not found with id: " + menuItemId);
+            }
+        }
+
+        String shortages = failedItems.values().stream()
+            .map(menuItem -> menuItem.getName() + " (Available: " + menuItem.getStockQuantity()
+                + ", Requested: " + quantities.get(menuItem.getMenuItemId()) + ")")
+            .collect(Collectors.joining(", "));
+        throw new IllegalStateException("Insufficient stock for menu item(s): " + shortages);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.rtbackend.services.impl;
+
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.services.OrderIngestion;
+import com.example.rtbackend.services.OrderService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "orders.ingest.mode", havingValue = "direct", matchIfMissing = true)
+public class DirectOrderIngestion implements OrderIngestion {
+
+    private final OrderService orderService;
+
+    @Override
+    public Order createOrder(Long waiterId, Map<Long, Integer> items, String idempotencyKey) {
+        return orderService.createOrder(waiterId, items, idempotencyKey);
+    }
+}
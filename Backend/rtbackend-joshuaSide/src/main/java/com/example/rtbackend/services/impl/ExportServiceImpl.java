@@ -0,0 +1,267 @@
+package com.example.rtbackend.services.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.example.rtbackend.domain.dto.OrderFilter;
+import com.example.rtbackend.domain.dto.OrderView;
+import com.example.rtbackend.domain.dto.PaymentFilter;
+import com.example.rtbackend.domain.dto.PaymentView;
+import com.example.rtbackend.domain.enums.ExportFormat;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.enums.PaymentStatus;
+import com.example.rtbackend.domain.projections.OrderHeader;
+import com.example.rtbackend.domain.projections.OrderLineRow;
+import com.example.rtbackend.domain.projections.PaymentRow;
+import com.example.rtbackend.repo.ArchivedOrderItemRepo;
+import com.example.rtbackend.repo.ArchivedOrderRepo;
+import com.example.rtbackend.repo.ArchivedPaymentRepo;
+import com.example.rtbackend.repo.ListSpecifications;
+import com.example.rtbackend.repo.OrderItemRepo;
+import com.example.rtbackend.repo.OrderRepo;
+import com.example.rtbackend.repo.PaymentRepo;
+import com.example.rtbackend.services.ExportService;
+import com.example.rtbackend.services.OrderArchiveService;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Streams the order and payment exports straight into the response. Rows are read
+ * through a server-side cursor, exports.fetch-size per round trip, and written and
+ * flushed a chunk at a time, so heap use stays flat whatever the date range.
+ * Archived rows come first, then live ones, each in id order. The read-only
+ * transaction (and its pooled connection) stays open until the client has read
+ * the last row, so at most exports.max-concurrent exports run at once, each on an
+ * export thread and cut off after exports.timeout-ms.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final String[] ORDER_COLUMNS = {
+        "order_id", "date", "status", "total", "waiter_id", "waiter_name",
+        "order_item_id", "menu_item_id", "menu_item_name", "quantity", "item_price", "subtotal"
+    };
+    private static final String[] PAYMENT_COLUMNS = {
+        "payment_id", "amount", "payment_status", "payment_method", "created_at", "processed_at",
+        "order_id", "order_status", "order_total", "cashier_id", "cashier_name"
+    };
+
+    private final OrderRepo orderRepo;
+    private final OrderItemRepo orderItemRepo;
+    private final PaymentRepo paymentRepo;
+    private final ArchivedOrderRepo archivedOrderRepo;
+    private final ArchivedOrderItemRepo archivedOrderItemRepo;
+    private final ArchivedPaymentRepo archivedPaymentRepo;
+    private final OrderArchiveService orderArchiveService;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+    private final long timeoutMs;
+    private final Semaphore running;
+    private final ExecutorService exporters;
+
+    public ExportServiceImpl(
+            OrderRepo orderRepo,
+            OrderItemRepo orderItemRepo,
+            PaymentRepo paymentRepo,
+            ArchivedOrderRepo archivedOrderRepo,
+            ArchivedOrderItemRepo archivedOrderItemRepo,
+            ArchivedPaymentRepo archivedPaymentRepo,
+            OrderArchiveService orderArchiveService,
+            JsonMapper jsonMapper,
+            TransactionTemplate transactionTemplate,
+            @Value("${exports.fetch-size:500}") int fetchSize,
+            @Value("${exports.timeout-ms:1800000}") long timeoutMs,
+            @Value("${exports.max-concurrent:2}") int maxConcurrent) {
+        this.orderRepo = orderRepo;
+        this.orderItemRepo = orderItemRepo;
+        this.paymentRepo = paymentRepo;
+        this.archivedOrderRepo = archivedOrderRepo;
+        this.archivedOrderItemRepo = archivedOrderItemRepo;
+        this.archivedPaymentRepo = archivedPaymentRepo;
+        this.orderArchiveService = orderArchiveService;
+        this.jsonMapper = jsonMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.timeoutMs = timeoutMs;
+        this.running = new Semaphore(maxConcurrent);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.exporters = Executors.newFixedThreadPool(maxConcurrent, r -> {
+            Thread thread = new Thread(r, "export-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public ResponseBodyEmitter streamOrders(OrderFilter filter, ExportFormat format) {
+        return stream(out -> exportOrders(filter, format, out));
+    }
+
+    @Override
+    public ResponseBodyEmitter streamPayments(PaymentFilter filter, ExportFormat format) {
+        return stream(out -> exportPayments(filter, format, out));
+    }
+
+    // Refuses rather than queues when every slot is taken: a queued export would hold its request open
+    // and then a pooled connection on top of the ones already streaming
+    private ResponseBodyEmitter stream(Export export) {
+        if (!running.tryAcquire()) {
+            throw new RejectedExecutionException("Too many exports are running, please retry later");
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        try {
+            exporters.execute(() -> {
+                try {
+                    // A send after a timeout or a disconnect throws, which ends the export and its transaction
+                    readOnlyTransaction.executeWithoutResult(status -> {
+                        try {
+                            export.writeTo(new EmitterOutputStream(emitter));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    emitter.complete();
+                } catch (RuntimeException e) {
+                    emitter.completeWithError(e);
+                } finally {
+                    running.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            running.release();
+            throw e;
+        }
+        return emitter;
+    }
+
+    // NDJSON: one order with its lines per line. CSV: one row per order line.
+    private void exportOrders(OrderFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        ExportWriter writer = new ExportWriter(format, jsonMapper, out, ORDER_COLUMNS);
+
+        // Only Served orders placed before the archive boundary can be archived
+        boolean archiveMayMatch = (filter.status() == null || filter.status() == OrderStatus.SERVED)
+            && (filter.from() == null || filter.from().isBefore(orderArchiveService.getArchiveBoundary()));
+        if (archiveMayMatch) {
+            try (Stream<OrderHeader> headers = archivedOrderRepo.streamHeaders(ListSpecifications.orders(filter, null), fetchSize)) {
+                writeOrders(headers, archivedOrderItemRepo::findLines, writer);
+            }
+        }
+        try (Stream<OrderHeader> headers = orderRepo.streamHeaders(ListSpecifications.orders(filter, null), fetchSize)) {
+            writeOrders(headers, orderItemRepo::findLines, writer);
+        }
+        writer.flush();
+    }
+
+    private void exportPayments(PaymentFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        ExportWriter writer = new ExportWriter(format, jsonMapper, out, PAYMENT_COLUMNS);
+
+        // Archived orders were all paid
+        if (filter.status() == null || filter.status() == PaymentStatus.PAID) {
+            try (Stream<PaymentRow> rows = archivedPaymentRepo.streamRows(ListSpecifications.payments(filter, null), fetchSize)) {
+                writePayments(rows, writer);
+            }
+        }
+        try (Stream<PaymentRow> rows = paymentRepo.streamRows(ListSpecifications.payments(filter, null), fetchSize)) {
+            writePayments(rows, writer);
+        }
+        writer.flush();
+    }
+
+    // Collects a fetch's worth of headers, loads all their lines in one query, writes them and flushes
+    private void writeOrders(Stream<OrderHeader> headers, Function<List<Long>, List<OrderLineRow>> findLines,
+                             ExportWriter writer) throws IOException {
+        List<OrderHeader> chunk = new ArrayList<>(fetchSize);
+        Iterator<OrderHeader> rows = headers.iterator();
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() < fetchSize && rows.hasNext()) {
+                continue;
+            }
+
+            List<OrderLineRow> lines = findLines.apply(chunk.stream().map(OrderHeader::orderId).toList());
+            for (OrderView order : OrderView.assemble(chunk, lines)) {
+                if (!writer.isCsv()) {
+                    writer.json(order);
+                    continue;
+                }
+                for (OrderView.Line line : order.items()) {
+                    writer.row(order.orderId(), order.date(), order.status(), order.total(),
+                        order.user().userId(), order.user().name(),
+                        line.orderItemId(), line.menuItem().menuItemId(), line.menuItem().name(),
+                        line.quantity(), line.itemPrice(), line.subtotal());
+                }
+            }
+            writer.flush();
+            chunk.clear();
+        }
+    }
+
+    private void writePayments(Stream<PaymentRow> payments, ExportWriter writer) throws IOException {
+        int written = 0;
+        Iterator<PaymentRow> rows = payments.iterator();
+        while (rows.hasNext()) {
+            PaymentRow row = rows.next();
+            if (writer.isCsv()) {
+                writer.row(row.paymentId(), row.amount(), row.paymentStatus(), row.paymentMethod(),
+                    row.createdAt(), row.processedAt(), row.orderId(), row.orderStatus(), row.orderTotal(),
+                    row.cashierId(), row.cashierName());
+            } else {
+                writer.json(PaymentView.from(row));
+            }
+            if (++written % fetchSize == 0) {
+                writer.flush();
+            }
+        }
+    }
+
+    private interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    // Hands whatever the writer has flushed to the emitter as one chunk
+    private static final class EmitterOutputStream extends OutputStream {
+        private final ResponseBodyEmitter emitter;
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+        EmitterOutputStream(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void write(int b) {
+            pending.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            pending.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (pending.size() > 0) {
+                emitter.send(pending.toByteArray());
+                pending.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.rtbackend.services.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.example.rtbackend.domain.enums.ExportFormat;
+
+import tools.jackson.databind.json.JsonMapper;
+
+// One NDJSON object or CSV row per call, buffered until the caller flushes a chunk
+final class ExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportFormat format;
+    private final JsonMapper jsonMapper;
+    private final Writer out;
+
+    // Writes the CSV header and flushes, so the response starts before the first query returns
+    ExportWriter(ExportFormat format, JsonMapper jsonMapper, OutputStream out, String... csvColumns) throws IOException {
+        this.format = format;
+        this.jsonMapper = jsonMapper;
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (isCsv()) {
+            row((Object[]) csvColumns);
+        }
+        flush();
+    }
+
+    boolean isCsv() {
+        return format == ExportFormat.CSV;
+    }
+
+    void json(Object value) throws IOException {
+        out.write(jsonMapper.writeValueAsString(value));
+        out.write('\n');
+    }
+
+    void row(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(csvField(values[i]));
+        }
+        out.write("\r\n");
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    // RFC 4180: quote fields holding a separator, quote or line break, doubling embedded quotes
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
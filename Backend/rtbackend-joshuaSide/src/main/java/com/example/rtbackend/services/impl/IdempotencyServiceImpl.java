@@ -0,0 +1,188 @@
+package com.example.rtbackend.services.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.rtbackend.services.IdempotencyService;
+
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final JsonMapper jsonMapper;
+    // Map keys sorted, so the same body fingerprints the same whatever order the client sent it in
+    private final ObjectWriter canonicalWriter;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final long waitTimeoutMs;
+
+    // Insertion order is also expiry order (fixed TTL), so sweeping stops at the first live entry
+    private final LinkedHashMap<String, Entry> entries;
+
+    public IdempotencyServiceImpl(
+            JsonMapper jsonMapper,
+            @Value("${idempotency.ttl-ms:86400000}") long ttlMs,
+            @Value("${idempotency.max-entries:10000}") int maxEntries,
+            @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        this.jsonMapper = jsonMapper;
+        this.canonicalWriter = jsonMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyServiceImpl.this.maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public ResponseEntity<?> execute(String scope, String key, Object body, Supplier<ResponseEntity<?>> request) {
+        if (key == null || key.isBlank()) {
+            return request.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", KEY_HEADER + " must be at most " + MAX_KEY_LENGTH + " characters"));
+        }
+
+        String id = scope + ":" + key;
+        String fingerprint = fingerprint(scope, body);
+        while (true) {
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            Entry existing = claim(id, mine, fingerprint);
+
+            if (existing == null) {
+                return run(id, mine, request);
+            }
+            if (!existing.fingerprint().equals(fingerprint)) {
+                return keyReused();
+            }
+
+            // Same key already done or in flight: wait for it rather than running the request twice,
+            // but only so long; a stuck first attempt must not pin every retry behind it
+            StoredResponse stored;
+            try {
+                stored = existing.response().get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                stored = null;
+            } catch (TimeoutException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "A request with this Idempotency-Key is still being processed"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Interrupted while waiting for the original request"));
+            }
+            if (stored != null) {
+                return replay(stored);
+            }
+            // The first attempt failed and was not kept, so this one gets to run
+        }
+    }
+
+    private static ResponseEntity<?> keyReused() {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_CONTENT)
+            .body(Map.of("error", new KeyReusedException().getMessage()));
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext() && it.next().expiresAt() <= now) {
+                it.remove();
+            }
+        }
+    }
+
+    // Null when this caller now owns the key, otherwise the entry already holding it
+    private Entry claim(String id, CompletableFuture<StoredResponse> mine, String fingerprint) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(id);
+            if (entry != null && entry.expiresAt() > now) {
+                return entry;
+            }
+            entries.remove(id);
+            entries.put(id, new Entry(mine, fingerprint, now + ttlMs));
+            return null;
+        }
+    }
+
+    private String fingerprint(String scope, Object body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(canonicalWriter.writeValueAsBytes(body));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ResponseEntity<?> run(String id, CompletableFuture<StoredResponse> mine, Supplier<ResponseEntity<?>> request) {
+        try {
+            ResponseEntity<?> response = request.get();
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                // Only successes are replayed; a rejected request may well succeed when retried
+                forget(id, mine);
+                mine.complete(null);
+                return response;
+            }
+            byte[] body = response.getBody() == null ? null : jsonMapper.writeValueAsBytes(response.getBody());
+            mine.complete(new StoredResponse(response.getStatusCode().value(), body));
+            return response;
+        } catch (RuntimeException e) {
+            forget(id, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void forget(String id, CompletableFuture<StoredResponse> mine) {
+        synchronized (entries) {
+            Entry entry = entries.get(id);
+            if (entry != null && entry.response() == mine) {
+                entries.remove(id);
+            }
+        }
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.valueOf(stored.status()))
+            .header(REPLAYED_HEADER, "true");
+        if (stored.body() == null) {
+            return builder.build();
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON).body(stored.body());
+    }
+
+    private record Entry(CompletableFuture<StoredResponse> response, String fingerprint, long expiresAt) {}
+
+    // Serialized at first response time, so replays do not depend on entity state or an open session
+    private record StoredResponse(int status, byte[] body) {}
+}
@@ -0,0 +1,350 @@
+package com.example.rtbackend.services.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.rtbackend.domain.entities.MenuItem;
+import com.example.rtbackend.domain.projections.StockLevel;
+import com.example.rtbackend.repo.MenuItemRepo;
+import com.example.rtbackend.services.StockLedger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reserves stock against in-process counters, so hot dishes no longer
+ * serialize orders on their row lock. Every change is also appended to
+ * {@code stock_journal} inside the transaction that makes it, which is what
+ * makes it durable: a flush only folds the journal into {@code menu_item}, and
+ * startup folds whatever a crash left behind before loading the counters.
+ *
+ * A change is unsettled from the moment it touches a counter until its
+ * transaction finishes. Reconcile only corrects a cell that had nothing
+ * unsettled and finished nothing while the table was read, so it never
+ * mistakes a commit it raced with for drift.
+ * Only valid while a single backend instance owns the database.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "stock.ledger.mode", havingValue = "memory", matchIfMissing = true)
+public class InMemoryStockLedger implements StockLedger {
+
+    private static final int STRIPES = 32;
+
+    private final MenuItemRepo menuItemRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, StockCell> cells = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock[] stripes = new ReentrantReadWriteLock[STRIPES];
+    private final Lock flushLock = new ReentrantLock();
+    // Stamped on each cell track() creates, so reconcile keeps items added after it read the table
+    private final AtomicLong generation = new AtomicLong();
+
+    public InMemoryStockLedger(MenuItemRepo menuItemRepo, TransactionTemplate transactionTemplate) {
+        this.menuItemRepo = menuItemRepo;
+        this.transactionTemplate = transactionTemplate;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        int folded = transactionTemplate.execute(status -> menuItemRepo.foldStockJournal());
+        for (StockLevel level : menuItemRepo.findStockLevels()) {
+            cells.put(level.getMenuItemId(), new StockCell(level.getName(), level.getStockQuantity(), 0));
+        }
+        log.info("Stock ledger loaded {} menu items ({} recovered from the journal)", cells.size(), folded);
+    }
+
+    @Override
+    public void reserve(Map<Long, Integer> quantities) {
+        Map<Long, StockCell> lines = new HashMap<>();
+        for (Long menuItemId : quantities.keySet()) {
+            StockCell cell = cells.get(menuItemId);
+            if (cell == null) {
+                throw new NoSuchElementException("Menu item not found with id: " + menuItemId);
+            }
+            lines.put(menuItemId, cell);
+        }
+
+        Map<Long, StockCell> taken = new HashMap<>();
+        List<String> shortages = new ArrayList<>();
+        lines.forEach((menuItemId, cell) -> {
+            int quantity = quantities.get(menuItemId);
+            Lock lock = stripeFor(menuItemId).readLock();
+            lock.lock();
+            try {
+                int available = cell.tryTake(quantity);
+                if (available < quantity) {
+                    shortages.add(cell.name + " (Available: " + available + ", Requested: " + quantity + ")");
+                } else {
+                    taken.put(menuItemId, cell);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+
+        if (!shortages.isEmpty()) {
+            settle(taken, quantities);
+            throw new IllegalStateException("Insufficient stock for menu item(s): " + String.join(", ", shortages));
+        }
+
+        // The order insert may still fail after this point; the stock goes back if it does
+        Map<Long, Integer> deltas = new HashMap<>();
+        quantities.forEach((menuItemId, quantity) -> deltas.put(menuItemId, -quantity));
+        journal(lines, deltas, Map.of(), quantities);
+    }
+
+    @Override
+    public void release(Map<Long, Integer> quantities) {
+        // Only hand stock back once the deletion that frees it has committed
+        Map<Long, StockCell> lines = begin(quantities.keySet());
+        Map<Long, Integer> deltas = new HashMap<>(quantities);
+        deltas.keySet().retainAll(lines.keySet());
+        journal(lines, deltas, quantities, Map.of());
+    }
+
+    @Override
+    public void setStock(Long menuItemId, int newStock) {
+        StockCell cell = cells.get(menuItemId);
+        if (cell == null) {
+            throw new NoSuchElementException("Menu Item not found with id: " + menuItemId);
+        }
+        int previous;
+        Lock lock = stripeFor(menuItemId).readLock();
+        lock.lock();
+        try {
+            cell.unsettled.incrementAndGet();
+            previous = cell.available.getAndSet(newStock);
+        } finally {
+            lock.unlock();
+        }
+        // Journalled relative to what the ledger held, so reservations still in flight land on top of it
+        journal(Map.of(menuItemId, cell), Map.of(menuItemId, newStock - previous), Map.of(),
+            Map.of(menuItemId, previous - newStock));
+    }
+
+    @Override
+    public void track(MenuItem menuItem) {
+        cells.put(menuItem.getMenuItemId(),
+            new StockCell(menuItem.getName(), menuItem.getStockQuantity(), generation.incrementAndGet()));
+    }
+
+    @Override
+    public void forget(Long menuItemId) {
+        cells.remove(menuItemId);
+    }
+
+    @Override
+    public int stockOf(Long menuItemId, int persistedStock) {
+        StockCell cell = cells.get(menuItemId);
+        return cell == null ? persistedStock : cell.available.get();
+    }
+
+    @Override
+    public Map<Long, Integer> levels() {
+        Map<Long, Integer> levels = new HashMap<>();
+        cells.forEach((menuItemId, cell) -> levels.put(menuItemId, cell.available.get()));
+        return levels;
+    }
+
+    // Folding only moves committed rows from the journal into menu_item; the counters are not involved
+    @Scheduled(fixedDelayString = "${stock.ledger.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> menuItemRepo.foldStockJournal());
+        } catch (RuntimeException e) {
+            log.warn("Stock journal fold failed, will retry", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Picks up items and stock edits made outside this process; the database wins. An item that always
+    // has an order in flight is corrected on a later round.
+    @Scheduled(
+        initialDelayString = "${stock.ledger.reconcile-interval-ms:300000}",
+        fixedDelayString = "${stock.ledger.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        flushLock.lock();
+        try {
+            Map<Long, Long> settledBefore = new HashMap<>();
+            cells.forEach((menuItemId, cell) -> settledBefore.put(menuItemId, cell.settled.get()));
+            long readAt = generation.get();
+
+            Map<Long, StockLevel> levels = new HashMap<>();
+            menuItemRepo.findStockLevels().forEach(level -> levels.put(level.getMenuItemId(), level));
+
+            // Cells tracked after the read are newer than it, not deleted
+            cells.entrySet().removeIf(entry ->
+                !levels.containsKey(entry.getKey()) && entry.getValue().generation <= readAt);
+            for (Map.Entry<Long, StockLevel> entry : levels.entrySet()) {
+                Long menuItemId = entry.getKey();
+                StockLevel level = entry.getValue();
+                StockCell cell = cells.get(menuItemId);
+                if (cell == null) {
+                    cells.putIfAbsent(menuItemId, new StockCell(level.getName(), level.getStockQuantity(), readAt));
+                    continue;
+                }
+                Lock lock = stripeFor(menuItemId).writeLock();
+                lock.lock();
+                try {
+                    cell.name = level.getName();
+                    Long before = settledBefore.get(menuItemId);
+                    if (cell.unsettled.get() != 0 || before == null || before != cell.settled.get()) {
+                        continue;
+                    }
+                    int drift = level.getStockQuantity() - cell.available.get();
+                    if (drift != 0) {
+                        cell.available.addAndGet(drift);
+                        log.info("Stock ledger corrected menu item {} by {}", menuItemId, drift);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Map<Long, StockCell> begin(Set<Long> menuItemIds) {
+        Map<Long, StockCell> lines = new HashMap<>();
+        for (Long menuItemId : menuItemIds) {
+            StockCell cell = cells.get(menuItemId);
+            if (cell == null) {
+                continue;
+            }
+            Lock lock = stripeFor(menuItemId).readLock();
+            lock.lock();
+            try {
+                cell.unsettled.incrementAndGet();
+            } finally {
+                lock.unlock();
+            }
+            lines.put(menuItemId, cell);
+        }
+        return lines;
+    }
+
+    // Appends the deltas in the caller's transaction, or in one of its own, and settles the cells when it
+    // finishes, adding back onCommit or onRollback
+    private void journal(Map<Long, StockCell> lines, Map<Long, Integer> deltas,
+            Map<Long, Integer> onCommit, Map<Long, Integer> onRollback) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new ScopedSynchronization() {
+                @Override
+                protected void undone() {
+                    settle(lines, onRollback);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (!isUndone()) {
+                        settle(lines, status == STATUS_COMMITTED ? onCommit : onRollback);
+                    }
+                }
+            });
+            appendJournal(deltas);
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> appendJournal(deltas));
+        } catch (RuntimeException e) {
+            settle(lines, onRollback);
+            throw e;
+        }
+        settle(lines, onCommit);
+    }
+
+    private void appendJournal(Map<Long, Integer> deltas) {
+        Long[] ids = deltas.keySet().toArray(new Long[0]);
+        Integer[] amounts = new Integer[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            amounts[i] = deltas.get(ids[i]);
+        }
+        menuItemRepo.appendStockJournal(ids, amounts);
+    }
+
+    private void settle(Map<Long, StockCell> lines, Map<Long, Integer> returned) {
+        lines.forEach((menuItemId, cell) -> {
+            Lock lock = stripeFor(menuItemId).readLock();
+            lock.lock();
+            try {
+                cell.settle(returned.getOrDefault(menuItemId, 0));
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private ReentrantReadWriteLock stripeFor(Long menuItemId) {
+        return stripes[Math.floorMod(menuItemId.hashCode(), STRIPES)];
+    }
+
+    private static final class StockCell {
+        private final AtomicInteger available;
+        // Changes applied to available whose transaction has not finished
+        private final AtomicInteger unsettled = new AtomicInteger();
+        // Changes whose transaction has finished
+        private final AtomicLong settled = new AtomicLong();
+        private final long generation;
+        private volatile String name;
+
+        private StockCell(String name, int available, long generation) {
+            this.name = name;
+            this.available = new AtomicInteger(available);
+            this.generation = generation;
+        }
+
+        // Returns the stock seen before taking; the take only happened (and is unsettled) if that was enough
+        private int tryTake(int quantity) {
+            unsettled.incrementAndGet();
+            while (true) {
+                int current = available.get();
+                if (current < quantity) {
+                    unsettled.decrementAndGet();
+                    return current;
+                }
+                if (available.compareAndSet(current, current - quantity)) {
+                    return current;
+                }
+            }
+        }
+
+        private void settle(int returned) {
+            available.addAndGet(returned);
+            settled.incrementAndGet();
+            unsettled.decrementAndGet();
+        }
+    }
+}
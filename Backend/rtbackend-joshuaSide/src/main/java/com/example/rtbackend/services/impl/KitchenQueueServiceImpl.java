@@ -0,0 +1,244 @@
+package com.example.rtbackend.services.impl;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.rtbackend.domain.dto.ClaimedTicket;
+import com.example.rtbackend.domain.dto.KitchenTicket;
+import com.example.rtbackend.domain.dto.OrderView;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.events.OrderEvent;
+import com.example.rtbackend.repo.ListSpecifications;
+import com.example.rtbackend.repo.OrderItemRepo;
+import com.example.rtbackend.repo.OrderRepo;
+import com.example.rtbackend.services.AuthorizationService;
+import com.example.rtbackend.services.KitchenQueueService;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Paid tickets waiting for a chef, oldest payment first. The queue lives in
+ * memory and follows committed order events; it is rebuilt from the Preparing
+ * orders at startup, after purges and on a schedule (to pick up payments taken
+ * by other instances). Two chefs can never hold the same ticket: the queue
+ * hands each ticket out once, and the claim itself is a guarded update that
+ * only succeeds while the order is unclaimed and still Preparing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KitchenQueueServiceImpl implements KitchenQueueService {
+
+    private static final Comparator<KitchenTicket> PAYMENT_ORDER =
+        Comparator.comparing(KitchenTicket::paidAt).thenComparing(KitchenTicket::orderId);
+
+    private final OrderRepo orderRepo;
+    private final OrderItemRepo orderItemRepo;
+    private final AuthorizationService authorizationService;
+
+    private volatile Tickets tickets = new Tickets();
+    // Changes are applied under the read lock; a rebuild swaps in its new state under the write lock
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final Lock rebuilding = new ReentrantLock();
+    // Changes made while a rebuild is querying, replayed onto its result before the swap; null otherwise
+    private Queue<Consumer<Tickets>> missed;
+
+    // The query runs outside the lock, so claims and events are never held up by it
+    @PostConstruct
+    @Scheduled(initialDelayString = "${kitchen.queue.reconcile-interval-ms:60000}",
+        fixedDelayString = "${kitchen.queue.reconcile-interval-ms:60000}")
+    public void rebuild() {
+        rebuilding.lock();
+        try {
+            Queue<Consumer<Tickets>> changes = new ConcurrentLinkedQueue<>();
+            rebuildLock.writeLock().lock();
+            missed = changes;
+            rebuildLock.writeLock().unlock();
+
+            Tickets fresh = new Tickets();
+            try {
+                for (KitchenTicket ticket : orderRepo.findKitchenTickets()) {
+                    if (ticket.chefId() == null) {
+                        fresh.waiting.put(ticket.orderId(), ticket);
+                        fresh.queue.add(ticket);
+                    } else {
+                        fresh.claimed.put(ticket.orderId(), ticket);
+                    }
+                }
+            } catch (RuntimeException e) {
+                rebuildLock.writeLock().lock();
+                missed = null;
+                rebuildLock.writeLock().unlock();
+                throw e;
+            }
+
+            rebuildLock.writeLock().lock();
+            try {
+                changes.forEach(change -> change.accept(fresh));
+                tickets = fresh;
+                missed = null;
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+            log.debug("Kitchen queue rebuilt: {} waiting, {} claimed", fresh.waiting.size(), fresh.claimed.size());
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    @Override
+    @Transactional
+    public Optional<KitchenTicket> claimNext(Long chefId) {
+        User chef = authorizationService.requireRole(chefId, AuthorizationService.CHEF,
+            "Access denied. Only Chefs can claim kitchen tickets");
+        
+        rebuildLock.readLock().lock();
+        try {
+            Tickets current = tickets;
+            KitchenTicket ticket;
+            while ((ticket = current.queue.poll()) != null) {
+                if (!current.waiting.remove(ticket.orderId(), ticket)) {
+                    continue;
+                }
+                Long orderId = ticket.orderId();
+                recordMissed(state -> state.waiting.remove(orderId));
+                KitchenTicket claim = ticket.claimedBy(chefId, LocalDateTime.now());
+                if (orderRepo.claimForChef(orderId, chef, claim.claimedAt()) == 1) {
+                    holdUntilCommit(ticket, claim);
+                    return Optional.of(claim);
+                }
+                // Claimed through another instance, or no longer Preparing: drop it and try the next one
+            }
+            return Optional.empty();
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<KitchenTicket> getWaitingTickets() {
+        return tickets.waiting.values().stream().sorted(PAYMENT_ORDER).toList();
+    }
+
+    @Override
+    public List<ClaimedTicket> getClaimedTickets(Long chefId) {
+        List<KitchenTicket> claimed = tickets.claimed.values().stream()
+            .filter(ticket -> chefId == null || chefId.equals(ticket.chefId()))
+            .sorted(PAYMENT_ORDER)
+            .toList();
+        if (claimed.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> orderIds = claimed.stream().map(KitchenTicket::orderId).toList();
+        Map<Long, OrderView> orders = OrderView.assemble(
+                orderRepo.findHeaders(ListSpecifications.ordersIn(orderIds), Sort.Direction.ASC, Limit.of(orderIds.size())),
+                orderItemRepo.findLines(orderIds))
+            .stream()
+            .collect(Collectors.toMap(OrderView::orderId, Function.identity()));
+        // A ticket whose order went away since the last rebuild has nothing left to cook
+        return claimed.stream()
+            .filter(ticket -> orders.containsKey(ticket.orderId()))
+            .map(ticket -> ClaimedTicket.of(ticket, orders.get(ticket.orderId())))
+            .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        switch (event.type()) {
+            case OrderEvent.ORDERS_PURGED -> rebuild();
+            case OrderEvent.STATUS_CHANGED, OrderEvent.ORDER_DELETED -> {
+                // A payment is what makes a Preparing order a kitchen ticket
+                if (event.status() == OrderStatus.PREPARING && event.amount() != null) {
+                    // Paid events carry the payment's processed_at, the same key rebuild() reads back
+                    enqueue(new KitchenTicket(event.orderId(), event.timestamp(), null, null));
+                } else if (event.previousStatus() == OrderStatus.PREPARING && event.status() != OrderStatus.PREPARING) {
+                    Long orderId = event.orderId();
+                    apply(state -> {
+                        state.waiting.remove(orderId);
+                        state.claimed.remove(orderId);
+                    });
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private void enqueue(KitchenTicket ticket) {
+        apply(state -> {
+            if (!state.claimed.containsKey(ticket.orderId()) && state.waiting.putIfAbsent(ticket.orderId(), ticket) == null) {
+                state.queue.add(ticket);
+            }
+        });
+    }
+
+    // Each change must give the same result when replayed onto state rebuilt from an earlier query
+    private void apply(Consumer<Tickets> change) {
+        rebuildLock.readLock().lock();
+        try {
+            change.accept(tickets);
+            recordMissed(change);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the read lock
+    private void recordMissed(Consumer<Tickets> change) {
+        Queue<Consumer<Tickets>> changes = missed;
+        if (changes != null) {
+            changes.add(change);
+        }
+    }
+
+    // The claim only counts once it commits; if the transaction rolls back the ticket goes back in line
+    private void holdUntilCommit(KitchenTicket ticket, KitchenTicket claim) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    apply(state -> {
+                        state.waiting.remove(claim.orderId());
+                        state.claimed.put(claim.orderId(), claim);
+                    });
+                } else {
+                    enqueue(ticket);
+                }
+            }
+        });
+    }
+
+    // A ticket is live while "waiting" maps its order to it; anything else the heap still holds is
+    // stale (finished, deleted, re-queued) and skipped when it surfaces, so removal never scans the heap
+    private static final class Tickets {
+        private final PriorityBlockingQueue<KitchenTicket> queue = new PriorityBlockingQueue<>(64, PAYMENT_ORDER);
+        private final Map<Long, KitchenTicket> waiting = new ConcurrentHashMap<>();
+        private final Map<Long, KitchenTicket> claimed = new ConcurrentHashMap<>();
+    }
+}
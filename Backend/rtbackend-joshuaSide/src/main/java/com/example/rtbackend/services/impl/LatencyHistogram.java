@@ -0,0 +1,85 @@
+package com.example.rtbackend.services.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size log-linear histogram of millisecond durations: exact below 16 ms,
+ * then 16 buckets per power of two (within about 6%), capped at about 37 hours.
+ * Recording is a single atomic increment, so there is no lock on the hot path, and
+ * histograms merge by adding buckets. Percentiles come back as bucket upper bounds.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 37;
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void record(long millis) {
+        counts.incrementAndGet(indexOf(Math.max(0, millis)));
+    }
+
+    void addTo(long[] totals) {
+        for (int i = 0; i < BUCKETS; i++) {
+            totals[i] += counts.get(i);
+        }
+    }
+
+    static long[] emptyTotals() {
+        return new long[BUCKETS];
+    }
+
+    static long count(long[] totals) {
+        long count = 0;
+        for (long bucket : totals) {
+            count += bucket;
+        }
+        return count;
+    }
+
+    // Smallest bucket bound that at least the given fraction of samples fall under
+    static long percentile(long[] totals, long count, double fraction) {
+        long rank = Math.max(1, (long) Math.ceil(count * fraction));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += totals[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    static long max(long[] totals) {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (totals[i] > 0) {
+                return upperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        if (exponent == MAX_EXPONENT && value >= (1L << (MAX_EXPONENT + 1))) {
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.rtbackend.services.impl;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.example.rtbackend.domain.events.OrderEvent;
+import com.example.rtbackend.services.OrderEventConsumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Audit trail of every relayed order event in the application log; off unless outbox.consumers.log.enabled=true
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.consumers.log.enabled", havingValue = "true")
+public class LoggingOrderEventConsumer implements OrderEventConsumer {
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void accept(OrderEvent event) {
+        log.info("Order event {} order={} {} -> {} amount={} at {}", event.type(), event.orderId(),
+            event.previousStatus(), event.status(), event.amount(), event.timestamp());
+    }
+}
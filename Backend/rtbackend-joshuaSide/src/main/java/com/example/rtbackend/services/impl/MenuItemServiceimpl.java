@@ -1,116 +1,263 @@
 package com.example.rtbackend.services.impl;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.MenuItemView;
+import com.example.rtbackend.domain.dto.MenuSnapshot;
 import com.example.rtbackend.domain.entities.MenuItem;
-import com.example.rtbackend.domain.entities.Role;
-import com.example.rtbackend.domain.entities.User;
 import com.example.rtbackend.repo.MenuItemRepo;
+import com.example.rtbackend.services.AuthorizationService;
 import com.example.rtbackend.services.MenuItemService;
-import com.example.rtbackend.services.RoleService;
-import com.example.rtbackend.services.UserService;
+import com.example.rtbackend.services.MenuSearchService;
+import com.example.rtbackend.services.StockLedger;
 
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+@Slf4j
 @Service
 public class MenuItemServiceimpl implements MenuItemService {
     
     private final MenuItemRepo menuItemRepo;
-    private final UserService userService;
-    private final RoleService roleService;
+    private final AuthorizationService authorizationService;
+    private final StockLedger stockLedger;
+    private final MenuSearchService menuSearchService;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean brotli;
 
-    private static final String MANAGER_ROLE_ID = "MANAGER";
+    private final Lock snapshotLock = new ReentrantLock();
+    private volatile CachedSnapshot snapshot;
 
-    public MenuItemServiceimpl(MenuItemRepo menuItemRepo, UserService userService, RoleService roleService) {
+    public MenuItemServiceimpl(MenuItemRepo menuItemRepo, AuthorizationService authorizationService,
+            StockLedger stockLedger, MenuSearchService menuSearchService, JsonMapper jsonMapper,
+            TransactionTemplate transactionTemplate) {
         this.menuItemRepo = menuItemRepo;
-        this.userService = userService;
-        this.roleService = roleService;
+        this.authorizationService = authorizationService;
+        this.stockLedger = stockLedger;
+        this.menuSearchService = menuSearchService;
+        this.jsonMapper = jsonMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.brotli = brotliAvailable();
+    }
+
+    @Override
+    public CursorPage<MenuItemView> getMenuItems(Long cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<MenuItemView> rows = menuItemRepo.findViews(cursor == null ? 0L : cursor, Limit.of(pageSize + 1)).stream()
+            .map(this::withLiveStock)
+            .toList();
+        return CursorPage.of(rows, pageSize, MenuItemView::menuItemId);
+    }
+
+    // A hit reads the one-row menu version; only the first request after a change, made on this instance
+    // or another, queries and serializes the menu
+    @Override
+    public MenuSnapshot getMenuSnapshot() {
+        long version = menuItemRepo.findMenuVersion();
+        CachedSnapshot current = snapshot;
+        if (current != null && current.menuVersion() >= version) {
+            return current.content();
+        }
+        snapshotLock.lock();
+        try {
+            current = snapshot;
+            if (current == null || current.menuVersion() < version) {
+                current = buildSnapshot(version);
+                snapshot = current;
+            }
+            return current.content();
+        } finally {
+            snapshotLock.unlock();
+        }
     }
 
     @Override
-    public List<MenuItem> getAllMenuItems() {
-        return menuItemRepo.findAll();
+    public Map<Long, Integer> getStockLevels() {
+        return stockLedger.levels();
     }
 
     @Override 
-    public MenuItem getMenuItemById(Long id) {
-        return menuItemRepo.findById(id)
+    public MenuItemView getMenuItemById(Long id) {
+        return menuItemRepo.findViewById(id)
+                .map(this::withLiveStock)
                 .orElseThrow(() -> new NoSuchElementException("Menu Item not found with id: " + id));
     }
 
     @Override
     public MenuItem createMenuItem(Long requesterId, MenuItem item) {
         validateManager(requesterId);
-        return menuItemRepo.save(item);
+        MenuItem saved = menuItemRepo.save(item);
+        stockLedger.track(saved);
+        menuSearchService.index(MenuItemView.from(saved));
+        menuChanged();
+        return saved;
     }
 
     @Override
     public MenuItem createMenuItemWithImage(Long requesterId, MenuItem menuItem, String imagePath) {
         validateManager(requesterId);
         menuItem.setImagePath(imagePath);
-        return menuItemRepo.save(menuItem);
+        MenuItem saved = menuItemRepo.save(menuItem);
+        stockLedger.track(saved);
+        menuSearchService.index(MenuItemView.from(saved));
+        menuChanged();
+        return saved;
     }
 
     @Override
     public MenuItem updateMenuItem(Long requesterId, Long itemId, MenuItem newItem) {
         validateManager(requesterId);
-        MenuItem item = getMenuItemById(itemId);
+        MenuItem item = findMenuItem(itemId);
 
         item.setName(newItem.getName());
         item.setPrice(newItem.getPrice());
         item.setCategory(newItem.getCategory());
         item.setDescription(newItem.getDescription());
         item.setImagePath(newItem.getImagePath());
-        item.setStockQuantity(newItem.getStockQuantity());
 
-        return menuItemRepo.save(item);
+        item = menuItemRepo.save(item);
+        menuChanged();
+        if (newItem.getStockQuantity() != null) {
+            stockLedger.setStock(itemId, newItem.getStockQuantity());
+            item.setStockQuantity(newItem.getStockQuantity());
+        }
+        menuSearchService.index(MenuItemView.from(item));
+        return item;
     }
 
     @Override
     public MenuItem updateMenuItemWithImage(Long requesterId, Long itemId, MenuItem newItem, String imagePath) {
         validateManager(requesterId);
-        MenuItem item = getMenuItemById(itemId);
+        MenuItem item = findMenuItem(itemId);
 
         item.setName(newItem.getName());
         item.setPrice(newItem.getPrice());
         item.setCategory(newItem.getCategory());
         item.setDescription(newItem.getDescription());
-        item.setStockQuantity(newItem.getStockQuantity());
         
         // Only update image path if a new image was uploaded
         if (imagePath != null && !imagePath.isEmpty()) {
             item.setImagePath(imagePath);
         }
 
-        return menuItemRepo.save(item);
+        item = menuItemRepo.save(item);
+        menuChanged();
+        if (newItem.getStockQuantity() != null) {
+            stockLedger.setStock(itemId, newItem.getStockQuantity());
+            item.setStockQuantity(newItem.getStockQuantity());
+        }
+        menuSearchService.index(MenuItemView.from(item));
+        return item;
     }
 
     @Override
     public void deleteMenuItem(Long requesterId, Long itemId) {
         validateManager(requesterId);
         menuItemRepo.deleteById(itemId);
+        stockLedger.forget(itemId);
+        menuSearchService.remove(itemId);
+        menuChanged();
     }
 
     @Override
     public MenuItem updateStock(Long requesterId, Long itemId, int newStock) {
         validateManager(requesterId);
-        MenuItem item = getMenuItemById(itemId);
+        MenuItem item = findMenuItem(itemId);
+        stockLedger.setStock(itemId, newStock);
         item.setStockQuantity(newStock);
-        return menuItemRepo.save(item);
+        menuSearchService.index(MenuItemView.from(item));
+        menuChanged();
+        return item;
+    }
+
+    private MenuItem findMenuItem(Long id) {
+        return menuItemRepo.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Menu Item not found with id: " + id));
+    }
+
+    private MenuItemView withLiveStock(MenuItemView view) {
+        return view.withStockQuantity(stockLedger.stockOf(view.menuItemId(), view.stockQuantity()));
     }
 
     private void validateManager(Long userId) {
-        User user = userService.getUserById(userId);
-        
-        if (user.getRole() == null) {
-            throw new IllegalStateException("User does not have an assigned role");
+        authorizationService.requireRole(userId, AuthorizationService.MANAGER,
+            "Access denied. Only Managers can perform this action");
+    }
+
+    // Bumped once the change is saved, so a snapshot built for the new version has it. Reservations don't
+    // move it: stock in the snapshot is as of the last change, and clients poll live levels from getStockLevels()
+    private void menuChanged() {
+        transactionTemplate.executeWithoutResult(status -> menuItemRepo.bumpMenuVersion());
+    }
+
+    // The version was read before the rows, so a change that lands mid-build leaves the result already stale
+    private CachedSnapshot buildSnapshot(long version) {
+        List<MenuItemView> rows = menuItemRepo.findViews(0L, Limit.unlimited()).stream()
+            .map(this::withLiveStock)
+            .toList();
+        byte[] json = jsonMapper.writeValueAsBytes(rows);
+        return new CachedSnapshot(version,
+            new MenuSnapshot(etagOf(json), json, gzip(json), brotli ? brotli(json) : null));
+    }
+
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
+    }
 
-        Role managerRole = roleService.getRoleByName(MANAGER_ROLE_ID);
-        
-        if (!user.getRole().getRoleId().equals(managerRole.getRoleId())) {
-            throw new SecurityException("Access denied. Only Managers can perform this action");
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return out.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] json) {
+        try {
+            return Encoder.compress(json, new Encoder.Parameters().setQuality(11));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // The encoder is a native library; on a platform without one the menu is offered as gzip and identity only
+    private static boolean brotliAvailable() {
+        try {
+            Brotli4jLoader.ensureAvailability();
+            return true;
+        } catch (LinkageError | RuntimeException e) {
+            log.warn("Brotli encoder unavailable, /menu will not offer br", e);
+            return false;
+        }
+    }
+
+    // A rebuild of an unchanged menu hashes to the same ETag, so clients still get their 304s
+    private record CachedSnapshot(long menuVersion, MenuSnapshot content) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,280 @@
+package com.example.rtbackend.services.impl;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.MenuCategory;
+import com.example.rtbackend.domain.dto.MenuItemView;
+import com.example.rtbackend.repo.MenuItemRepo;
+import com.example.rtbackend.services.MenuSearchService;
+import com.example.rtbackend.services.StockLedger;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the menu in memory for GET /menu/search and /menu/categories: items by
+ * id, id sets per category, and a sorted map from every word of a name or
+ * description to the items containing it, so a prefix is one range scan.
+ * Writers change one item's entries under a lock; readers take no lock and
+ * re-check each hit against the item itself, so a search racing an edit never
+ * returns an item that does not match. Lookups read live stock from the
+ * StockLedger and never touch the database.
+ */
+@Slf4j
+@Service
+public class MenuSearchServiceImpl implements MenuSearchService {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final MenuItemRepo menuItemRepo;
+    private final StockLedger stockLedger;
+
+    private final Map<Long, IndexedItem> items = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> byCategory = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Set<Long>> byWord = new ConcurrentSkipListMap<>();
+    private final Lock writeLock = new ReentrantLock();
+    // Counts index() and remove() calls, so reconcile can tell its rows were overtaken by an edit
+    private final AtomicLong edits = new AtomicLong();
+
+    public MenuSearchServiceImpl(MenuItemRepo menuItemRepo, StockLedger stockLedger) {
+        this.menuItemRepo = menuItemRepo;
+        this.stockLedger = stockLedger;
+    }
+
+    @PostConstruct
+    public void load() {
+        reconcile();
+        log.info("Menu search index loaded {} menu items", items.size());
+    }
+
+    // Picks up menu edits made by other instances; items that did not change keep their entries.
+    // A round that overlaps an edit here is skipped rather than let older rows overwrite it.
+    @Scheduled(
+        initialDelayString = "${menu.index.reconcile-interval-ms:300000}",
+        fixedDelayString = "${menu.index.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long editsBefore = edits.get();
+        List<MenuItemView> rows = menuItemRepo.findViews(0L, Limit.unlimited());
+        writeLock.lock();
+        try {
+            if (edits.get() != editsBefore) {
+                return;
+            }
+            Set<Long> stale = new HashSet<>(items.keySet());
+            for (MenuItemView row : rows) {
+                stale.remove(row.menuItemId());
+                IndexedItem current = items.get(row.menuItemId());
+                if (current == null || !current.view().equals(row)) {
+                    put(row);
+                }
+            }
+            stale.forEach(this::drop);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void index(MenuItemView item) {
+        writeLock.lock();
+        try {
+            put(item);
+            edits.incrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long menuItemId) {
+        writeLock.lock();
+        try {
+            drop(menuItemId);
+            edits.incrementAndGet();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<MenuItemView> search(String query, String category, boolean inStockOnly, int limit) {
+        String phrase = normalize(query == null ? "" : query).trim();
+        Set<String> terms = tokenize(phrase);
+        String categoryKey = category == null || category.isBlank() ? null : normalize(category).trim();
+
+        List<Hit> hits = new ArrayList<>();
+        for (Long menuItemId : candidates(terms, categoryKey)) {
+            IndexedItem item = items.get(menuItemId);
+            if (item == null || !item.matches(terms, categoryKey)) {
+                continue;
+            }
+            int stock = stockLedger.stockOf(menuItemId, item.view().stockQuantity());
+            if (inStockOnly && stock <= 0) {
+                continue;
+            }
+            hits.add(new Hit(item.rank(phrase, terms), item.sortName(), item.view().withStockQuantity(stock)));
+        }
+
+        return hits.stream()
+            .sorted(Comparator.comparingInt(Hit::rank)
+                .thenComparing(Hit::sortName)
+                .thenComparing(hit -> hit.view().menuItemId()))
+            .limit(CursorPage.clampLimit(limit))
+            .map(Hit::view)
+            .toList();
+    }
+
+    @Override
+    public List<MenuCategory> getCategories() {
+        List<MenuCategory> categories = new ArrayList<>();
+        byCategory.values().forEach(ids -> {
+            String name = null;
+            int count = 0;
+            int inStock = 0;
+            for (Long menuItemId : ids) {
+                IndexedItem item = items.get(menuItemId);
+                if (item == null) {
+                    continue;
+                }
+                name = item.view().category();
+                count++;
+                if (stockLedger.stockOf(menuItemId, item.view().stockQuantity()) > 0) {
+                    inStock++;
+                }
+            }
+            if (count > 0) {
+                categories.add(new MenuCategory(name, count, inStock));
+            }
+        });
+        categories.sort(Comparator.comparing(MenuCategory::name, String.CASE_INSENSITIVE_ORDER));
+        return categories;
+    }
+
+    // Ids that may match: the intersection of each term's prefix range, or the category bucket, or everything
+    private Collection<Long> candidates(Set<String> terms, String categoryKey) {
+        if (terms.isEmpty()) {
+            return categoryKey != null ? byCategory.getOrDefault(categoryKey, Set.of()) : items.keySet();
+        }
+        Set<Long> result = null;
+        for (String term : terms) {
+            Set<Long> matches = new HashSet<>();
+            byWord.subMap(term, true, term + Character.MAX_VALUE, false).values().forEach(matches::addAll);
+            if (result == null) {
+                result = matches;
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    // Callers hold writeLock
+    private void put(MenuItemView view) {
+        drop(view.menuItemId());
+        IndexedItem item = IndexedItem.of(view);
+        items.put(view.menuItemId(), item);
+        byCategory.computeIfAbsent(item.categoryKey(), key -> ConcurrentHashMap.newKeySet()).add(view.menuItemId());
+        item.words().forEach(word -> byWord.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet())
+            .add(view.menuItemId()));
+    }
+
+    // Callers hold writeLock
+    private void drop(Long menuItemId) {
+        IndexedItem item = items.remove(menuItemId);
+        if (item == null) {
+            return;
+        }
+        unlink(byCategory, item.categoryKey(), menuItemId);
+        item.words().forEach(word -> unlink(byWord, word, menuItemId));
+    }
+
+    private static void unlink(Map<String, Set<Long>> index, String key, Long menuItemId) {
+        Set<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(menuItemId);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    // Lower case without accents, so "Creme" finds "Crème"
+    private static String normalize(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> tokenize(String normalized) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : SEPARATORS.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private record IndexedItem(MenuItemView view, String sortName, String categoryKey, Set<String> nameWords,
+            Set<String> words) {
+
+        static IndexedItem of(MenuItemView view) {
+            String name = normalize(view.name() == null ? "" : view.name());
+            Set<String> nameWords = tokenize(name);
+            Set<String> words = new HashSet<>(nameWords);
+            words.addAll(tokenize(normalize(view.description() == null ? "" : view.description())));
+            String category = view.category() == null ? "" : normalize(view.category()).trim();
+            return new IndexedItem(view, name.trim(), category, nameWords, words);
+        }
+
+        boolean matches(Set<String> terms, String categoryKey) {
+            if (categoryKey != null && !categoryKey.equals(this.categoryKey)) {
+                return false;
+            }
+            return terms.stream().allMatch(term -> hasPrefix(words, term));
+        }
+
+        // 0: the name starts with the query, 1: every term is in the name, 2: some only in the description
+        int rank(String phrase, Set<String> terms) {
+            if (!phrase.isEmpty() && sortName.startsWith(phrase)) {
+                return 0;
+            }
+            return terms.stream().allMatch(term -> hasPrefix(nameWords, term)) ? 1 : 2;
+        }
+
+        private static boolean hasPrefix(Set<String> words, String term) {
+            for (String word : words) {
+                if (word.startsWith(term)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Hit(int rank, String sortName, MenuItemView view) {
+    }
+}
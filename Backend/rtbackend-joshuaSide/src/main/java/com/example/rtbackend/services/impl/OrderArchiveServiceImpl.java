@@ -0,0 +1,140 @@
+package com.example.rtbackend.services.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.rtbackend.repo.ArchivedOrderItemRepo;
+import com.example.rtbackend.repo.ArchivedOrderRepo;
+import com.example.rtbackend.repo.ArchivedPaymentRepo;
+import com.example.rtbackend.repo.OrderItemRepo;
+import com.example.rtbackend.repo.OrderRepo;
+import com.example.rtbackend.repo.PaymentRepo;
+import com.example.rtbackend.services.OrderArchiveService;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves Served, paid orders placed more than orders.archive.after-days ago out of
+ * orders, order_item and payments into the monthly partitions of the archive
+ * tables. Archived orders are read-only history: their stock stays consumed and
+ * nothing is published, since no live screen shows them.
+ */
+@Slf4j
+@Service
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+
+    private final OrderRepo orderRepo;
+    private final OrderItemRepo orderItemRepo;
+    private final PaymentRepo paymentRepo;
+    private final ArchivedOrderRepo archivedOrderRepo;
+    private final ArchivedOrderItemRepo archivedOrderItemRepo;
+    private final ArchivedPaymentRepo archivedPaymentRepo;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int chunkSize;
+
+    // No archived order is newer than this; keeps reads finding them if after-days is later raised
+    private final AtomicReference<LocalDateTime> latestArchived = new AtomicReference<>();
+
+    public OrderArchiveServiceImpl(
+            OrderRepo orderRepo,
+            OrderItemRepo orderItemRepo,
+            PaymentRepo paymentRepo,
+            ArchivedOrderRepo archivedOrderRepo,
+            ArchivedOrderItemRepo archivedOrderItemRepo,
+            ArchivedPaymentRepo archivedPaymentRepo,
+            TransactionTemplate transactionTemplate,
+            @Value("${orders.archive.enabled:true}") boolean enabled,
+            @Value("${orders.archive.after-days:90}") int afterDays,
+            @Value("${orders.archive.chunk-size:500}") int chunkSize) {
+        this.orderRepo = orderRepo;
+        this.orderItemRepo = orderItemRepo;
+        this.paymentRepo = paymentRepo;
+        this.archivedOrderRepo = archivedOrderRepo;
+        this.archivedOrderItemRepo = archivedOrderItemRepo;
+        this.archivedPaymentRepo = archivedPaymentRepo;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @PostConstruct
+    public void load() {
+        archivedOrderRepo.findLatestDate().ifPresent(this::recordArchived);
+    }
+
+    @Scheduled(cron = "${orders.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveOrders();
+        }
+    }
+
+    // Not transactional on purpose: each chunk is copied and deleted in its own transaction, like the purge
+    @Override
+    public long archiveOrders() {
+        LocalDateTime before = cutoff();
+        long archived = 0;
+        long after = 0L;
+
+        while (true) {
+            long from = after;
+            List<Long> chunk = transactionTemplate.execute(status -> moveChunk(from, before));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            archived += chunk.size();
+            after = chunk.getLast();
+            log.info("Archived {} orders placed before {}", archived, before);
+        }
+
+        if (archived > 0) {
+            recordArchived(before);
+        }
+        return archived;
+    }
+
+    // Orders placed at or after this are never in the archive, so reads newer than it skip the archive tables
+    @Override
+    public LocalDateTime getArchiveBoundary() {
+        LocalDateTime boundary = cutoff();
+        LocalDateTime latest = latestArchived.get();
+        return latest != null && !latest.isBefore(boundary) ? latest.plusNanos(1000) : boundary;
+    }
+
+    private List<Long> moveChunk(long after, LocalDateTime before) {
+        List<Long> orderIds = orderRepo.findArchivableIds(after, before, Limit.of(chunkSize));
+        if (orderIds.isEmpty()) {
+            return orderIds;
+        }
+
+        archivedOrderRepo.createPartitionsFor(orderIds);
+        archivedOrderRepo.copyFromLive(orderIds);
+        archivedOrderItemRepo.copyFromLive(orderIds);
+        archivedPaymentRepo.copyFromLive(orderIds);
+
+        paymentRepo.deleteByOrderIds(orderIds);
+        orderItemRepo.deleteByOrderIds(orderIds);
+        orderRepo.deleteByOrderIds(orderIds);
+        return orderIds;
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDate.now().minusDays(afterDays).atStartOfDay();
+    }
+
+    private void recordArchived(LocalDateTime date) {
+        latestArchived.accumulateAndGet(date, (current, next) -> current == null || next.isAfter(current) ? next : current);
+    }
+}
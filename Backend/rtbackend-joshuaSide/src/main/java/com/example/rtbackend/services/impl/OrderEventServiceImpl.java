@@ -0,0 +1,154 @@
+package com.example.rtbackend.services.impl;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.events.OrderEvent;
+import com.example.rtbackend.services.OrderEventService;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class OrderEventServiceImpl implements OrderEventService {
+
+    private static final String RESYNC_EVENT = "resync";
+
+    private final long emitterTimeoutMs;
+    private final int historySize;
+
+    // Everything below is only touched from the dispatcher thread, which keeps
+    // event ids, the replay history and the subscriber list consistent without locks.
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "order-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Deque<SequencedEvent> history = new ArrayDeque<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private long sequence = 0;
+
+    public OrderEventServiceImpl(
+            @Value("${orders.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${orders.stream.history-size:512}") int historySize) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.historySize = historySize;
+    }
+
+    @Override
+    public SseEmitter subscribe(Set<OrderStatus> statuses, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, statuses);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        dispatcher.execute(() -> {
+            if (lastEventId != null && !replay(subscriber, lastEventId)) {
+                return;
+            }
+            // Commits the response, so the client sees the stream open now rather than at the first event
+            try {
+                emitter.send(SseEmitter.event().comment("connected"));
+            } catch (IOException | IllegalStateException e) {
+                return;
+            }
+            subscribers.add(subscriber);
+        });
+        return emitter;
+    }
+
+    // Runs after the publishing transaction commits, so rolled-back changes are never streamed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        dispatcher.execute(() -> {
+            SequencedEvent sequenced = new SequencedEvent(++sequence, event);
+            history.addLast(sequenced);
+            while (history.size() > historySize) {
+                history.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (event.matches(subscriber.statuses())) {
+                    send(subscriber, sequenced);
+                }
+            }
+        });
+    }
+
+    // Keeps idle connections from being closed by proxies and detects dead clients
+    @Scheduled(fixedRateString = "${orders.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        dispatcher.execute(() -> {
+            for (Subscriber subscriber : subscribers) {
+                try {
+                    subscriber.emitter().send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(subscriber);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+    }
+
+    private boolean replay(Subscriber subscriber, long lastEventId) {
+        long oldestRetained = history.isEmpty() ? sequence + 1 : history.peekFirst().id();
+
+        // The client missed events we no longer hold (or we restarted): tell it to reload
+        if (lastEventId > sequence || lastEventId + 1 < oldestRetained) {
+            try {
+                subscriber.emitter().send(SseEmitter.event()
+                    .id(String.valueOf(sequence))
+                    .name(RESYNC_EVENT)
+                    .data("{}", MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                return false;
+            }
+        }
+
+        for (SequencedEvent sequenced : history) {
+            if (sequenced.id() > lastEventId && sequenced.event().matches(subscriber.statuses())) {
+                if (!send(subscriber, sequenced)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean send(Subscriber subscriber, SequencedEvent sequenced) {
+        try {
+            subscriber.emitter().send(SseEmitter.event()
+                .id(String.valueOf(sequenced.id()))
+                .name(sequenced.event().type())
+                .data(sequenced.event(), MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            return false;
+        }
+    }
+
+    private record SequencedEvent(long id, OrderEvent event) {}
+
+    private record Subscriber(SseEmitter emitter, Set<OrderStatus> statuses) {}
+}
@@ -0,0 +1,130 @@
+package com.example.rtbackend.services.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.rtbackend.domain.dto.LatencyReport;
+import com.example.rtbackend.domain.dto.LatencySummary;
+import com.example.rtbackend.domain.enums.LatencyStage;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.events.OrderEvent;
+import com.example.rtbackend.domain.projections.OrderStageTimes;
+import com.example.rtbackend.repo.OrderItemRepo;
+import com.example.rtbackend.services.OrderLatencyService;
+
+/**
+ * Stage latencies from committed order events, one histogram per stage, menu
+ * category and clock hour. Each event reads the stage times of that single
+ * order; history is never scanned, so the histograms start empty after a
+ * restart and only cover the last {@code orders.latency.retained-hours}.
+ */
+@Service
+public class OrderLatencyServiceImpl implements OrderLatencyService {
+
+    private static final String NO_CATEGORY = "Uncategorized";
+
+    private final OrderItemRepo orderItemRepo;
+    private final int retainedHours;
+    private final Map<Key, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public OrderLatencyServiceImpl(
+            OrderItemRepo orderItemRepo,
+            @Value("${orders.latency.retained-hours:24}") int retainedHours) {
+        this.orderItemRepo = orderItemRepo;
+        this.retainedHours = retainedHours;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        if (!OrderEvent.STATUS_CHANGED.equals(event.type())) {
+            return;
+        }
+        LatencyStage stage;
+        if (event.amount() != null) {
+            stage = LatencyStage.TIME_TO_PAY;
+        } else if (event.status() == OrderStatus.READY) {
+            stage = LatencyStage.TIME_TO_COOK;
+        } else if (event.status() == OrderStatus.SERVED) {
+            stage = LatencyStage.TIME_TO_SERVE;
+        } else {
+            return;
+        }
+        for (OrderStageTimes times : orderItemRepo.findStageTimes(event.orderId())) {
+            record(stage, times);
+        }
+    }
+
+    @Override
+    public LatencyReport getReport() {
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(retainedHours - 1);
+        List<LatencySummary> byCategory = summarize(since, key -> new Key(key.stage(), key.category(), null));
+        List<LatencySummary> byHour = summarize(since, key -> new Key(key.stage(), null, key.hour()));
+        return new LatencyReport(since, byCategory, byHour);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.latency.evict-interval-ms:300000}")
+    public void evictExpired() {
+        LocalDateTime oldest = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(retainedHours - 1);
+        histograms.keySet().removeIf(key -> key.hour().isBefore(oldest));
+    }
+
+    private void record(LatencyStage stage, OrderStageTimes times) {
+        LocalDateTime start = switch (stage) {
+            case TIME_TO_PAY -> times.placedAt();
+            case TIME_TO_COOK -> times.startedAt();
+            case TIME_TO_SERVE -> times.readyAt();
+        };
+        LocalDateTime end = switch (stage) {
+            case TIME_TO_PAY -> times.paidAt();
+            case TIME_TO_COOK -> times.readyAt();
+            case TIME_TO_SERVE -> times.servedAt();
+        };
+        // Orders from before the stage times were recorded have no start
+        if (start == null || end == null) {
+            return;
+        }
+        String category = times.category() == null || times.category().isBlank() ? NO_CATEGORY : times.category();
+        Key key = new Key(stage, category, end.truncatedTo(ChronoUnit.HOURS));
+        histograms.computeIfAbsent(key, k -> new LatencyHistogram())
+            .record(Duration.between(start, end).toMillis());
+    }
+
+    // Merges the live histograms into the requested grouping; a few hundred buckets per histogram
+    private List<LatencySummary> summarize(LocalDateTime since, Function<Key, Key> grouping) {
+        Map<Key, long[]> groups = new TreeMap<>(Key.ORDER);
+        histograms.forEach((key, histogram) -> {
+            if (!key.hour().isBefore(since)) {
+                histogram.addTo(groups.computeIfAbsent(grouping.apply(key), k -> LatencyHistogram.emptyTotals()));
+            }
+        });
+        List<LatencySummary> summaries = new ArrayList<>(groups.size());
+        groups.forEach((key, totals) -> {
+            long count = LatencyHistogram.count(totals);
+            summaries.add(new LatencySummary(key.stage(), key.category(), key.hour(), count,
+                LatencyHistogram.percentile(totals, count, 0.50),
+                LatencyHistogram.percentile(totals, count, 0.95),
+                LatencyHistogram.percentile(totals, count, 0.99),
+                LatencyHistogram.max(totals)));
+        });
+        return summaries;
+    }
+
+    private record Key(LatencyStage stage, String category, LocalDateTime hour) {
+        static final Comparator<Key> ORDER = Comparator.comparing(Key::stage)
+            .thenComparing(Key::category, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Key::hour, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+}
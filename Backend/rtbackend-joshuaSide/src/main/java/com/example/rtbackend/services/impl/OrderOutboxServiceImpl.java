@@ -0,0 +1,254 @@
+package com.example.rtbackend.services.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.rtbackend.domain.dto.OutboxStatus;
+import com.example.rtbackend.domain.entities.OutboxEvent;
+import com.example.rtbackend.domain.events.OrderEvent;
+import com.example.rtbackend.repo.OutboxEventRepo;
+import com.example.rtbackend.services.OrderEventConsumer;
+import com.example.rtbackend.services.OrderOutboxService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes every OrderEvent to order_outbox inside the transaction that publishes
+ * it, and relays committed rows to the {@link OrderEventConsumer} beans from a
+ * pool of outbox.relay.threads threads. Events are split into partitions by
+ * order id, one thread per partition. A batch is claimed (under an advisory lock,
+ * so one instance claims a partition at a time) and committed before the
+ * consumers see it, so delivery holds no transaction, connection or lock. An
+ * event is only claimed once no earlier event of its order is claimed or parked,
+ * so the events of an order are delivered one after another in the order they
+ * were written. A request only pays for the insert, however many
+ * consumers there are. Each thread wakes when one of its events commits, and
+ * otherwise polls every outbox.relay.poll-interval-ms for retries and for rows
+ * written by other instances. A failed event is retried after
+ * outbox.relay.backoff-ms, doubling per attempt up to max-backoff-ms, and is
+ * parked after max-attempts until it is requeued.
+ */
+@Slf4j
+@Service
+public class OrderOutboxServiceImpl implements OrderOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepo outboxEventRepo;
+    private final List<OrderEventConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitions;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final int maxAttempts;
+    private final long leaseMs;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final Semaphore[] wakeUps;
+    private final ExecutorService relay;
+    private volatile boolean running = true;
+
+    public OrderOutboxServiceImpl(
+            OutboxEventRepo outboxEventRepo,
+            List<OrderEventConsumer> consumers,
+            TransactionTemplate transactionTemplate,
+            @Value("${outbox.relay.threads:2}") int threads,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.poll-interval-ms:1000}") long pollIntervalMs,
+            @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.relay.lease-ms:60000}") long leaseMs,
+            @Value("${outbox.relay.backoff-ms:1000}") long backoffMs,
+            @Value("${outbox.relay.max-backoff-ms:300000}") long maxBackoffMs) {
+        this.outboxEventRepo = outboxEventRepo;
+        this.consumers = consumers;
+        this.transactionTemplate = transactionTemplate;
+        this.partitions = threads;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxAttempts = maxAttempts;
+        this.leaseMs = leaseMs;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.wakeUps = new Semaphore[threads];
+        for (int i = 0; i < threads; i++) {
+            wakeUps[i] = new Semaphore(0);
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.relay = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "outbox-relay-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Synchronous on purpose: joins the publisher's transaction, so the row commits or rolls back with
+    // the change. Events published outside a transaction (the chunked purge) get one of their own.
+    @EventListener
+    @Transactional
+    public void record(OrderEvent event) {
+        outboxEventRepo.save(OutboxEvent.from(event));
+        int partition = partitionOf(event.orderId());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wake(partition);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int partition = 0; partition < partitions; partition++) {
+            int assigned = partition;
+            relay.execute(() -> run(assigned));
+        }
+        log.info("Outbox relay started: {} partitions, consumers {}", partitions,
+            consumers.stream().map(OrderEventConsumer::name).toList());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        relay.shutdownNow();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OutboxStatus getStatus() {
+        return new OutboxStatus(outboxEventRepo.countByFailedAtIsNull(), outboxEventRepo.countByFailedAtIsNotNull(),
+            outboxEventRepo.findOldestPending().orElse(null), consumers.stream().map(OrderEventConsumer::name).toList());
+    }
+
+    // For parked events once whatever made them fail is fixed; the events they held back follow them
+    @Override
+    public int requeueParked(Long orderId) {
+        int requeued = transactionTemplate.execute(status -> outboxEventRepo.requeueParked(orderId));
+        if (requeued > 0) {
+            for (int partition = 0; partition < partitions; partition++) {
+                wake(partition);
+            }
+        }
+        return requeued;
+    }
+
+    private void run(int partition) {
+        while (running) {
+            try {
+                wakeUps[partition].tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                wakeUps[partition].drainPermits();
+                while (running && drain(partition)) {
+                    // A full batch was delivered; more may be waiting
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay for partition {} failed; retrying", partition, e);
+            }
+        }
+    }
+
+    // Delivers one claimed batch and deletes what got through. After a failure the rest of that order's
+    // events are handed back unclaimed for the retry, so nothing overtakes it; other orders carry on.
+    private boolean drain(int partition) {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> claim(partition));
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        List<Long> delivered = new ArrayList<>(batch.size());
+        List<Long> held = new ArrayList<>();
+        Map<OutboxEvent, String> failures = new LinkedHashMap<>();
+        Set<Long> blockedOrders = new HashSet<>();
+        for (OutboxEvent row : batch) {
+            if (blockedOrders.contains(row.getOrderId())) {
+                held.add(row.getId());
+                continue;
+            }
+            String error = deliver(row.toEvent());
+            if (error == null) {
+                delivered.add(row.getId());
+                continue;
+            }
+            blockedOrders.add(row.getOrderId());
+            failures.put(row, error);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!delivered.isEmpty()) {
+                outboxEventRepo.deleteByIds(delivered);
+            }
+            failures.forEach((row, error) ->
+                outboxEventRepo.recordFailure(row.getId(), truncate(error), maxAttempts, backoff(row.getAttempts())));
+            if (!held.isEmpty()) {
+                outboxEventRepo.releaseClaims(held);
+            }
+        });
+        failures.forEach((row, error) -> log.warn("Outbox event {} ({} for order {}) failed attempt {}: {}",
+            row.getId(), row.getEventType(), row.getOrderId(), row.getAttempts() + 1, error));
+        return batch.size() == batchSize && blockedOrders.isEmpty();
+    }
+
+    // Empty when another instance is claiming this partition right now
+    private List<OutboxEvent> claim(int partition) {
+        if (!outboxEventRepo.tryLockPartition(partition)) {
+            return List.of();
+        }
+        List<OutboxEvent> batch = outboxEventRepo.findPending(partition, partitions, batchSize);
+        if (!batch.isEmpty()) {
+            outboxEventRepo.claim(batch.stream().map(OutboxEvent::getId).toList(), leaseMs);
+        }
+        return batch;
+    }
+
+    // Null when every consumer took the event, otherwise the first failure
+    private String deliver(OrderEvent event) {
+        for (OrderEventConsumer consumer : consumers) {
+            try {
+                consumer.accept(event);
+            } catch (Exception e) {
+                return consumer.name() + ": " + e;
+            }
+        }
+        return null;
+    }
+
+    // backoff-ms before the first retry, doubling per failed attempt up to max-backoff-ms
+    private long backoff(int previousAttempts) {
+        return Math.min(backoffMs << Math.min(previousAttempts, 30), maxBackoffMs);
+    }
+
+    private void wake(int partition) {
+        if (wakeUps[partition].availablePermits() == 0) {
+            wakeUps[partition].release();
+        }
+    }
+
+    // Must agree with the mod() in OutboxEventRepo.findPending; events without an order go to partition 0
+    private int partitionOf(Long orderId) {
+        return orderId == null ? 0 : (int) Math.floorMod(orderId, (long) partitions);
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
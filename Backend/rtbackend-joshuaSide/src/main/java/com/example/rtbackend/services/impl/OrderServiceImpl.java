@@ -1,95 +1,147 @@
 package com.example.rtbackend.services.impl;
 
+import java.sql.Connection;
+import java.sql.Savepoint;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.OrderCommand;
+import com.example.rtbackend.domain.dto.OrderFilter;
+import com.example.rtbackend.domain.dto.OrderStatusChange;
+import com.example.rtbackend.domain.dto.OrderView;
+import com.example.rtbackend.domain.dto.PaymentView;
 import com.example.rtbackend.domain.entities.MenuItem;
 import com.example.rtbackend.domain.entities.Order;
 import com.example.rtbackend.domain.entities.OrderItem;
-import com.example.rtbackend.domain.entities.Payment;
-import com.example.rtbackend.domain.entities.Role;
 import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.enums.OrderTransition;
+import com.example.rtbackend.domain.events.OrderEvent;
+import com.example.rtbackend.domain.events.RemovedOrder;
+import com.example.rtbackend.domain.projections.OrderHeader;
+import com.example.rtbackend.domain.projections.OrderLineRow;
+import com.example.rtbackend.repo.ArchivedOrderItemRepo;
+import com.example.rtbackend.repo.ArchivedOrderRepo;
+import com.example.rtbackend.repo.ArchivedPaymentRepo;
+import com.example.rtbackend.repo.ListSpecifications;
 import com.example.rtbackend.repo.MenuItemRepo;
 import com.example.rtbackend.repo.OrderItemRepo;
 import com.example.rtbackend.repo.OrderRepo;
 import com.example.rtbackend.repo.PaymentRepo;
+import com.example.rtbackend.services.AuthorizationService;
+import com.example.rtbackend.services.IdempotencyService;
+import com.example.rtbackend.services.OrderArchiveService;
 import com.example.rtbackend.services.OrderService;
-import com.example.rtbackend.services.RoleService;
-import com.example.rtbackend.services.UserService;
+import com.example.rtbackend.services.SalesRollupService;
+import com.example.rtbackend.services.StockLedger;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
     private final OrderRepo orderRepo;
     private final PaymentRepo paymentRepo;
-    private final UserService userService;
-    private final RoleService roleService;
+    private final AuthorizationService authorizationService;
     private final MenuItemRepo menuItemRepo;
     private final OrderItemRepo orderItemRepo;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ArchivedOrderRepo archivedOrderRepo;
+    private final ArchivedOrderItemRepo archivedOrderItemRepo;
+    private final ArchivedPaymentRepo archivedPaymentRepo;
+    private final OrderArchiveService orderArchiveService;
+    private final SalesRollupService salesRollupService;
 
-    private static final String WAITER_ROLE = "WAITER";
-    private static final String CHEF_ROLE = "CHEF";
+    @Value("${orders.purge.chunk-size:500}")
+    private int purgeChunkSize;
 
     @Override
     @Transactional
-    public Order createOrder(Long waiterId, Map<Long, Integer> items) {
-        // Validate waiter
-        validateWaiter(waiterId);
+    public Order createOrder(Long waiterId, Map<Long, Integer> items, String idempotencyKey) {
+        // Validate waiter, before anything is replayed to the caller
+        User waiter = authorizationService.requireRole(waiterId, AuthorizationService.WAITER,
+            "Access denied. Only Waiters can create orders");
         
-        User waiter = userService.getUserById(waiterId);
+        // Retry whose first attempt already committed (e.g. after the key store forgot it)
+        if (idempotencyKey != null) {
+            Optional<Order> existing = orderRepo.findByIdempotencyKey(idempotencyKey);
+            if (existing.isPresent()) {
+                return sameRequest(existing.get(), waiterId, items);
+            }
+        }
         
         // Validate items map is not empty
         if (items == null || items.isEmpty()) {
             throw new IllegalArgumentException("Order must contain at least one item");
         }
         
+        // Validate quantities before touching stock
+        for (Map.Entry<Long, Integer> entry : items.entrySet()) {
+            if (entry.getValue() == null || entry.getValue() <= 0) {
+                throw new IllegalArgumentException("Quantity must be greater than 0 for menu item id: " + entry.getKey());
+            }
+        }
+        
+        // Reserve every line at once; released again if this transaction rolls back
+        stockLedger.reserve(items);
+        
+        // Load all menu items in one query
+        Map<Long, MenuItem> menuItems = new HashMap<>();
+        menuItemRepo.findAllById(items.keySet())
+            .forEach(menuItem -> menuItems.put(menuItem.getMenuItemId(), stockLedger.refreshStock(menuItem)));
+
+        // A ledger cell can outlive its row (the item was deleted on another instance); the rollback
+        // hands the reservation back and the stale cell is dropped
+        for (Long menuItemId : items.keySet()) {
+            if (!menuItems.containsKey(menuItemId)) {
+                stockLedger.forget(menuItemId);
+                throw new NoSuchElementException("Menu Item not found with id: " + menuItemId);
+            }
+        }
+
         // Create order
         Order order = new Order();
         order.setUser(waiter);
         order.setDate(LocalDateTime.now());
-        order.setStatus("Pending");
-        order.setTotal(0.0);
-        
-        // Save order first to get ID
-        order = orderRepo.save(order);
+        order.setStatus(OrderStatus.PENDING);
+        order.setIdempotencyKey(idempotencyKey);
         
         List<OrderItem> orderItems = new ArrayList<>();
         double totalAmount = 0.0;
         
-        // Process each menu item
         for (Map.Entry<Long, Integer> entry : items.entrySet()) {
-            Long menuItemId = entry.getKey();
+            MenuItem menuItem = menuItems.get(entry.getKey());
             Integer quantity = entry.getValue();
             
-            // Validate quantity
-            if (quantity <= 0) {
-                throw new IllegalArgumentException("Quantity must be greater than 0 for menu item id: " + menuItemId);
-            }
-            
-            // Get menu item
-            MenuItem menuItem = menuItemRepo.findById(menuItemId)
-                .orElseThrow(() -> new NoSuchElementException("Menu item not found with id: " + menuItemId));
-            
-            // Check stock availability
-            if (menuItem.getStockQuantity() < quantity) {
-                throw new IllegalStateException("Insufficient stock for menu item: " + menuItem.getName() + 
-                    ". Available: " + menuItem.getStockQuantity() + ", Requested: " + quantity);
-            }
-            
-            // Update stock (deduct from inventory)
-            menuItem.setStockQuantity(menuItem.getStockQuantity() - quantity);
-            menuItemRepo.save(menuItem);
-            
-            // Create order item
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
             orderItem.setMenuItem(menuItem);
@@ -101,185 +153,259 @@ public class OrderServiceImpl implements OrderService {
             totalAmount += orderItem.getSubtotal();
         }
         
-        // Save all order items
-        orderItemRepo.saveAll(orderItems);
-        
-        // Update order with items and total
+        // Items cascade from the order, so the order and its lines are written together in one batched flush.
+        // Flushing here rather than at commit means nothing after the event below can still fail.
         order.setItems(orderItems);
         order.setTotal(totalAmount);
-        order = orderRepo.save(order);
+        order = orderRepo.saveAndFlush(order);
+        salesRollupService.recordOrder(order);
         
+        eventPublisher.publishEvent(OrderEvent.created(order.getOrderId(), order.getStatus(), order.getTotal()));
         return order;
     }
 
+    // The key is only replayed for the request it was first used with
+    private Order sameRequest(Order existing, Long waiterId, Map<Long, Integer> items) {
+        Map<Long, Integer> existingItems = new HashMap<>();
+        existing.getItems().forEach(line ->
+            existingItems.merge(line.getMenuItem().getMenuItemId(), line.getQuantity(), Integer::sum));
+        if (!existing.getUser().getUserId().equals(waiterId) || !existingItems.equals(items)) {
+            throw new IdempotencyService.KeyReusedException();
+        }
+        return existing;
+    }
+
+    // One commit for the whole batch. Each order runs under its own savepoint and calls createOrder
+    // directly (not through the proxy), so a rejected order is rolled back alone. That only holds while
+    // the failure is raised outside any transactional proxy: validation, roles and stock shortfalls are.
+    // A failure that did mark the shared transaction rollback-only (a database error inside a repository
+    // or collaborator) cannot be undone by the savepoint, so the batch stops and is retried one by one.
     @Override
     @Transactional
-    public Order markOrderAsCooking(Long orderId, Long cashierId) {
-        // Get order
-        Order order = orderRepo.findById(orderId)
-            .orElseThrow(() -> new NoSuchElementException("Order not found with id: " + orderId));
-        
-        // Check if order is in Pending status
-        if (!"Pending".equals(order.getStatus())) {
-            throw new IllegalStateException("Order must be in Pending status. Current status: " + order.getStatus());
+    public List<OrderCommand.Result> createOrders(List<OrderCommand> commands) {
+        Session session = entityManager.unwrap(Session.class);
+        List<OrderCommand.Result> results = new ArrayList<>(commands.size());
+        for (OrderCommand command : commands) {
+            Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.savepoint(savepoint));
+            try {
+                Order order = createOrder(command.waiterId(), command.items(), command.idempotencyKey());
+                session.doWork(connection -> connection.releaseSavepoint(savepoint));
+                results.add(new OrderCommand.Result(order, null));
+            } catch (RuntimeException e) {
+                session.doWork(connection -> connection.rollback(savepoint));
+                for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                    sync.savepointRollback(savepoint);
+                }
+                if (TransactionAspectSupport.currentTransactionStatus().isRollbackOnly()) {
+                    throw e;
+                }
+                // Drop whatever the failed order left in the persistence context
+                entityManager.clear();
+                results.add(new OrderCommand.Result(null, e));
+            }
         }
-        
-        // Update order status to Preparing
-        order.setStatus("Preparing");
-        return orderRepo.save(order);
+        return results;
     }
 
     @Override
     @Transactional
-    public Order markOrderAsReady(Long orderId, Long chefId) {
-        // Validate chef
-        validateChef(chefId);
-        
-        // Get order
-        Order order = orderRepo.findById(orderId)
-            .orElseThrow(() -> new NoSuchElementException("Order not found with id: " + orderId));
-        
-        // Check if order is paid
-        Payment payment = paymentRepo.findByOrder_OrderId(orderId)
-            .orElseThrow(() -> new IllegalStateException("Order must be paid before marking as ready"));
-        
-        if (!"Paid".equals(payment.getPaymentStatus())) {
-            throw new IllegalStateException("Order payment is not confirmed");
-        }
-        
-        // Check if order is in Preparing status
-        if (!"Preparing".equals(order.getStatus())) {
-            throw new IllegalStateException("Order must be in Preparing status. Current status: " + order.getStatus());
-        }
-        
-        // Update order status to Ready
-        order.setStatus("Ready");
-        return orderRepo.save(order);
+    public OrderStatusChange markOrderAsCooking(Long orderId, Long cashierId) {
+        return applyTransition(orderId, OrderTransition.START_COOKING);
     }
 
     @Override
     @Transactional
-    public Order markOrderAsServed(Long orderId, Long waiterId) {
-        // Get order
-        Order order = orderRepo.findById(orderId)
-            .orElseThrow(() -> new NoSuchElementException("Order not found with id: " + orderId));
+    public OrderStatusChange markOrderAsReady(Long orderId, Long chefId) {
+        // Validate chef
+        User chef = authorizationService.requireRole(chefId, AuthorizationService.CHEF,
+            "Access denied. Only Chefs can mark orders as ready");
         
-        // Check if order is in Ready status
-        if (!"Ready".equals(order.getStatus())) {
-            throw new IllegalStateException("Order must be in Ready status. Current status: " + order.getStatus());
+        // A ticket claimed from the kitchen queue can only be finished by the chef who claimed it;
+        // that is checked by the same update that changes the status, so a claim can't slip in between
+        if (orderRepo.markReady(orderId, chef, chefId, LocalDateTime.now()) == 0) {
+            throw rejection(orderId, OrderTransition.MARK_READY, chefId);
         }
-        
-        // Update order status to Served
-        order.setStatus("Served");
-        return orderRepo.save(order);
+        return transitioned(orderId, OrderTransition.MARK_READY);
     }
 
     @Override
-    public List<Order> getOrdersByStatus(String status) {
-        if (status == null || status.trim().isEmpty()) {
-            throw new IllegalArgumentException("Status parameter is required");
-        }
-        return orderRepo.findByStatus(status);
+    @Transactional
+    public OrderStatusChange markOrderAsServed(Long orderId, Long waiterId) {
+        return applyTransition(orderId, OrderTransition.SERVE);
     }
 
     @Override
-    public Order getOrderById(Long orderId) {
-        return orderRepo.findById(orderId)
-            .orElseThrow(() -> new NoSuchElementException("Order not found with id: " + orderId));
+    @Transactional(readOnly = true)
+    public OrderView getOrderById(Long orderId) {
+        List<OrderHeader> headers = orderRepo.findHeaders(ListSpecifications.order(orderId), Sort.Direction.ASC, Limit.of(1));
+        if (!headers.isEmpty()) {
+            return toViews(headers).get(0);
+        }
+        
+        List<OrderHeader> archived = archivedOrderRepo.findHeaders(ListSpecifications.order(orderId), Sort.Direction.ASC, Limit.of(1));
+        if (archived.isEmpty()) {
+            throw new NoSuchElementException("Order not found with id: " + orderId);
+        }
+        return OrderView.assemble(archived, archivedOrderItemRepo.findLines(List.of(orderId))).get(0);
     }
 
     @Override
-    public List<Order> getAllOrders() {
-        return orderRepo.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<OrderView> getOrders(OrderFilter filter, Long cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<OrderHeader> rows = orderRepo.findHeaders(ListSpecifications.orders(filter, cursor),
+            Sort.Direction.DESC, Limit.of(pageSize + 1));
+        
+        // Same keyset page from the archive, merged by id, once the list reaches back to archived dates
+        Set<Long> archivedIds = Set.of();
+        if (mayReachArchive(filter, rows, pageSize)) {
+            List<OrderHeader> archived = archivedOrderRepo.findHeaders(ListSpecifications.orders(filter, cursor),
+                Sort.Direction.DESC, Limit.of(pageSize + 1));
+            if (!archived.isEmpty()) {
+                archivedIds = archived.stream().map(OrderHeader::orderId).collect(Collectors.toSet());
+                rows = Stream.concat(rows.stream(), archived.stream())
+                    .sorted(Comparator.comparing(OrderHeader::orderId).reversed())
+                    .limit(pageSize + 1)
+                    .toList();
+            }
+        }
+        
+        CursorPage<OrderHeader> page = CursorPage.of(rows, pageSize, OrderHeader::orderId);
+        return new CursorPage<>(toViews(page.items(), archivedIds), page.nextCursor());
     }
 
     @Override
     @Transactional
     public void deleteOrder(Long orderId) {
-        Order order = orderRepo.findById(orderId)
+        RemovedOrder removed = orderRepo.findRemovedById(orderId)
             .orElseThrow(() -> new NoSuchElementException("Order not found with id: " + orderId));
         
-        // Restore stock for deleted order
-        if (order.getItems() != null && !order.getItems().isEmpty()) {
-            for (OrderItem item : order.getItems()) {
-                MenuItem menuItem = item.getMenuItem();
-                menuItem.setStockQuantity(menuItem.getStockQuantity() + item.getQuantity());
-                menuItemRepo.save(menuItem);
-            }
+        purgeOrders(List.of(orderId));
+        eventPublisher.publishEvent(OrderEvent.deleted(orderId, removed));
+    }
+
+    // Not transactional on purpose: each chunk commits on its own so no single transaction grows with history.
+    // Archived orders are history and are left alone.
+    @Override
+    public long deleteAllOrders() {
+        Long upTo = orderRepo.findMaxOrderId().orElse(null);
+        if (upTo == null) {
+            return 0;
         }
         
-        // Delete associated payment if exists
-        paymentRepo.findByOrder_OrderId(orderId).ifPresent(payment -> {
-            paymentRepo.delete(payment);
-        });
+        long total = orderRepo.count();
+        long deleted = 0;
+        long after = 0L;
         
-        // Delete all order items first
-        orderItemRepo.deleteAll(order.getItems());
+        while (true) {
+            List<Long> chunk = orderRepo.findIdsInRange(after, upTo, Limit.of(purgeChunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            deleted += transactionTemplate.execute(status -> purgeOrders(chunk));
+            after = chunk.get(chunk.size() - 1);
+            log.info("Purged {}/{} orders", deleted, total);
+        }
         
-        // Delete the order
-        orderRepo.delete(order);
+        eventPublisher.publishEvent(OrderEvent.purged());
+        return deleted;
     }
 
-    @Override
-    @Transactional
-    public void deleteAllOrders() {
-        List<Order> allOrders = orderRepo.findAll();
+    // Restores the stock the orders held (summed per menu item) and takes them out of the sales rollups,
+    // then bulk-deletes payments, items and orders
+    private int purgeOrders(List<Long> orderIds) {
+        Map<Long, Integer> restoredStock = new HashMap<>();
+        orderItemRepo.sumQuantitiesByMenuItem(orderIds)
+            .forEach(row -> restoredStock.put(row.menuItemId(), Math.toIntExact(row.quantity())));
+        salesRollupService.removeOrders(orderIds);
         
-        for (Order order : allOrders) {
-            // Restore stock for each order
-            if (order.getItems() != null && !order.getItems().isEmpty()) {
-                for (OrderItem item : order.getItems()) {
-                    MenuItem menuItem = item.getMenuItem();
-                    menuItem.setStockQuantity(menuItem.getStockQuantity() + item.getQuantity());
-                    menuItemRepo.save(menuItem);
-                }
-            }
-            
-            // Delete associated payment if exists
-            paymentRepo.findByOrder_OrderId(order.getOrderId()).ifPresent(payment -> {
-                paymentRepo.delete(payment);
-            });
-            
-            // Delete all order items
-            orderItemRepo.deleteAll(order.getItems());
-        }
+        paymentRepo.deleteByOrderIds(orderIds);
+        orderItemRepo.deleteByOrderIds(orderIds);
+        int deleted = orderRepo.deleteByOrderIds(orderIds);
         
-        // Delete all orders
-        orderRepo.deleteAll();
+        stockLedger.release(restoredStock);
+        return deleted;
     }
 
     @Override
-    public Payment getPaymentByOrderId(Long orderId) {
-        return paymentRepo.findByOrder_OrderId(orderId)
+    @Transactional(readOnly = true)
+    public PaymentView getPaymentByOrderId(Long orderId) {
+        return paymentRepo.findRows(ListSpecifications.paymentForOrder(orderId), Sort.Direction.ASC, Limit.of(1))
+            .stream()
+            .findFirst()
+            .or(() -> archivedPaymentRepo.findRowByOrderId(orderId))
+            .map(PaymentView::from)
             .orElseThrow(() -> new NoSuchElementException("Payment not found for order id: " + orderId));
     }
 
-    // Role validation methods
-    private void validateWaiter(Long userId) {
-        User user = userService.getUserById(userId);
+    // Two narrow queries per call however many orders: headers, then all of their lines
+    private List<OrderView> toViews(List<OrderHeader> headers) {
+        return toViews(headers, Set.of());
+    }
+
+    // Lines of archived orders come from the archive, one more query only if the page holds any
+    private List<OrderView> toViews(List<OrderHeader> headers, Set<Long> archivedIds) {
+        if (headers.isEmpty()) {
+            return List.of();
+        }
+        List<Long> liveIds = new ArrayList<>();
+        List<Long> archivedOnPage = new ArrayList<>();
+        headers.forEach(header -> (archivedIds.contains(header.orderId()) ? archivedOnPage : liveIds).add(header.orderId()));
         
-        if (user.getRole() == null) {
-            throw new IllegalStateException("User does not have an assigned role");
+        List<OrderLineRow> lines = new ArrayList<>();
+        if (!liveIds.isEmpty()) {
+            lines.addAll(orderItemRepo.findLines(liveIds));
+        }
+        if (!archivedOnPage.isEmpty()) {
+            lines.addAll(archivedOrderItemRepo.findLines(archivedOnPage));
         }
+        return OrderView.assemble(headers, lines);
+    }
 
-        Role waiterRole = roleService.getRoleByName(WAITER_ROLE);
-        
-        if (!user.getRole().getRoleId().equals(waiterRole.getRoleId())) {
-            throw new SecurityException("Access denied. Only Waiters can create orders");
+    // The archive holds only Served orders placed before its boundary. Newest-first pages stop short of it
+    // until the list reaches that far back, so the everyday screens never query the archive tables.
+    private boolean mayReachArchive(OrderFilter filter, List<OrderHeader> liveRows, int pageSize) {
+        if (filter.status() != null && filter.status() != OrderStatus.SERVED) {
+            return false;
+        }
+        LocalDateTime boundary = orderArchiveService.getArchiveBoundary();
+        if (filter.from() != null && !filter.from().isBefore(boundary)) {
+            return false;
         }
+        return liveRows.size() <= pageSize || liveRows.getLast().date().isBefore(boundary);
     }
 
-    private void validateChef(Long userId) {
-        User user = userService.getUserById(userId);
+    // One guarded UPDATE on the happy path; the status is only read back to explain a rejection
+    private OrderStatusChange applyTransition(Long orderId, OrderTransition transition) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = transition.isRequiresPayment()
+            ? orderRepo.transitionPaidStatus(orderId, transition.getFrom(), transition.getTo(), now)
+            : orderRepo.transitionStatus(orderId, transition.getFrom(), transition.getTo(), now);
         
-        if (user.getRole() == null) {
-            throw new IllegalStateException("User does not have an assigned role");
+        if (updated == 0) {
+            throw rejection(orderId, transition, null);
         }
+        return transitioned(orderId, transition);
+    }
 
-        Role chefRole = roleService.getRoleByName(CHEF_ROLE);
-        
-        if (!user.getRole().getRoleId().equals(chefRole.getRoleId())) {
-            throw new SecurityException("Access denied. Only Chefs can mark orders as ready");
+    private OrderStatusChange transitioned(Long orderId, OrderTransition transition) {
+        eventPublisher.publishEvent(OrderEvent.statusChanged(orderId, transition.getFrom(), transition.getTo()));
+        return new OrderStatusChange(orderId, transition.getFrom(), transition.getTo());
+    }
+
+    // Why a guarded update changed nothing. chefId is the chef finishing the order, if the update checked one.
+    private RuntimeException rejection(Long orderId, OrderTransition transition, Long chefId) {
+        Optional<OrderStatus> current = orderRepo.findStatusById(orderId);
+        if (current.isEmpty()) {
+            return new NoSuchElementException("Order not found with id: " + orderId);
+        }
+        if (transition.getFrom() != current.get()) {
+            return new IllegalStateException("Order must be in " + transition.getFrom() + " status. Current status: " + current.get());
+        }
+        if (chefId != null && orderRepo.findChefIdById(orderId).filter(claimedBy -> !claimedBy.equals(chefId)).isPresent()) {
+            return new IllegalStateException("Order #" + orderId + " is being prepared by another chef");
         }
+        return new IllegalStateException("Order must be paid before marking as " + transition.getTo().getLabel().toLowerCase());
     }
 }
\ No newline at end of file
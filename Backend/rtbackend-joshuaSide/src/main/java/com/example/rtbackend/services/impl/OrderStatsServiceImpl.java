@@ -0,0 +1,165 @@
+package com.example.rtbackend.services.impl;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.rtbackend.domain.dto.OrderStats;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.events.OrderEvent;
+import com.example.rtbackend.domain.events.RemovedOrder;
+import com.example.rtbackend.domain.projections.DailyTotal;
+import com.example.rtbackend.domain.projections.StatusCount;
+import com.example.rtbackend.repo.OrderRepo;
+import com.example.rtbackend.repo.PaymentRepo;
+import com.example.rtbackend.services.OrderStatsService;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps dashboard numbers in memory so a refresh never scans the orders table.
+ * Counters move with every committed order event, are seeded from the database
+ * at startup and rebuilt from it on a schedule. A single deletion is undone from
+ * what the event carries; only a full purge triggers a rebuild.
+ */
+@Slf4j
+@Service
+public class OrderStatsServiceImpl implements OrderStatsService {
+
+    private final OrderRepo orderRepo;
+    private final PaymentRepo paymentRepo;
+    private final int retainedDays;
+
+    // Guarded by "this"; every update touches a handful of entries
+    private Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+    private Map<LocalDate, DayTotals> days = new HashMap<>();
+
+    public OrderStatsServiceImpl(
+            OrderRepo orderRepo,
+            PaymentRepo paymentRepo,
+            @Value("${orders.stats.retained-days:7}") int retainedDays) {
+        this.orderRepo = orderRepo;
+        this.paymentRepo = paymentRepo;
+        this.retainedDays = retainedDays;
+    }
+
+    @PostConstruct
+    public void load() {
+        reconcile();
+    }
+
+    // Events that commit while the queries run can be counted twice or not at all; the next pass fixes that
+    @Scheduled(fixedDelayString = "${orders.stats.reconcile-interval-ms:60000}",
+               initialDelayString = "${orders.stats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        LocalDate firstDay = LocalDate.now().minusDays(retainedDays - 1);
+
+        Map<OrderStatus, Long> freshCounts = new EnumMap<>(OrderStatus.class);
+        for (StatusCount row : orderRepo.countByStatus()) {
+            freshCounts.put(row.status(), row.count());
+        }
+
+        Map<LocalDate, DayTotals> freshDays = new HashMap<>();
+        for (DailyTotal row : orderRepo.sumTotalsByDay(firstDay.atStartOfDay())) {
+            DayTotals totals = freshDays.computeIfAbsent(row.day(), day -> new DayTotals());
+            totals.ordersPlaced = row.count();
+            totals.orderTotal = row.amount();
+        }
+        for (DailyTotal row : paymentRepo.sumPaidByDay(firstDay.atStartOfDay())) {
+            DayTotals totals = freshDays.computeIfAbsent(row.day(), day -> new DayTotals());
+            totals.paymentsReceived = row.count();
+            totals.revenue = row.amount();
+        }
+
+        synchronized (this) {
+            statusCounts = freshCounts;
+            days = freshDays;
+        }
+        log.debug("Order stats reconciled: {}", freshCounts);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        switch (event.type()) {
+            case OrderEvent.ORDERS_PURGED -> reconcile();
+            case OrderEvent.ORDER_DELETED -> remove(event);
+            case OrderEvent.ORDER_CREATED -> apply(event, totals -> {
+                totals.ordersPlaced++;
+                totals.orderTotal += amountOf(event);
+            });
+            case OrderEvent.STATUS_CHANGED -> apply(event, event.amount() == null ? null : totals -> {
+                totals.paymentsReceived++;
+                totals.revenue += event.amount();
+            });
+            default -> { }
+        }
+    }
+
+    @Override
+    public synchronized OrderStats getStats(LocalDate date) {
+        DayTotals totals = days.getOrDefault(date, new DayTotals());
+        Map<String, Long> counts = new LinkedHashMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status.getLabel(), count));
+        return new OrderStats(counts, date,
+            totals.ordersPlaced, totals.orderTotal, totals.paymentsReceived, totals.revenue);
+    }
+
+    private synchronized void apply(OrderEvent event, Consumer<DayTotals> dayUpdate) {
+        if (event.previousStatus() != null) {
+            statusCounts.merge(event.previousStatus(), -1L, Long::sum);
+        }
+        if (event.status() != null) {
+            statusCounts.merge(event.status(), 1L, Long::sum);
+        }
+        if (dayUpdate != null) {
+            LocalDate day = event.timestamp().toLocalDate();
+            dayUpdate.accept(days.computeIfAbsent(day, d -> new DayTotals()));
+            days.keySet().removeIf(d -> d.isBefore(day.minusDays(retainedDays - 1)));
+        }
+    }
+
+    // Days already outside the retained window are left alone
+    private synchronized void remove(OrderEvent event) {
+        RemovedOrder removed = event.removed();
+        if (removed == null) {
+            return;
+        }
+        if (removed.status() != null) {
+            statusCounts.merge(removed.status(), -1L, Long::sum);
+        }
+        if (removed.placedAt() != null) {
+            days.computeIfPresent(removed.placedAt().toLocalDate(), (day, totals) -> {
+                totals.ordersPlaced--;
+                totals.orderTotal -= removed.total() == null ? 0.0 : removed.total();
+                return totals;
+            });
+        }
+        if (removed.paidAt() != null) {
+            days.computeIfPresent(removed.paidAt().toLocalDate(), (day, totals) -> {
+                totals.paymentsReceived--;
+                totals.revenue -= removed.paid() == null ? 0.0 : removed.paid();
+                return totals;
+            });
+        }
+    }
+
+    private static double amountOf(OrderEvent event) {
+        return event.amount() == null ? 0.0 : event.amount();
+    }
+
+    private static class DayTotals {
+        long ordersPlaced;
+        double orderTotal;
+        long paymentsReceived;
+        double revenue;
+    }
+}
@@ -1,21 +1,38 @@
 package com.example.rtbackend.services.impl;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.PaymentFilter;
+import com.example.rtbackend.domain.dto.PaymentView;
+import com.example.rtbackend.domain.dto.UserSummary;
 import com.example.rtbackend.domain.entities.Payment;
-import com.example.rtbackend.domain.entities.Role;
 import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.enums.PaymentStatus;
+import com.example.rtbackend.domain.events.OrderEvent;
+import com.example.rtbackend.domain.projections.CheckoutRow;
+import com.example.rtbackend.domain.projections.PaymentRow;
+import com.example.rtbackend.repo.ArchivedPaymentRepo;
+import com.example.rtbackend.repo.ListSpecifications;
 import com.example.rtbackend.repo.OrderRepo;
 import com.example.rtbackend.repo.PaymentRepo;
+import com.example.rtbackend.services.AuthorizationService;
+import com.example.rtbackend.services.IdempotencyService;
 import com.example.rtbackend.services.PaymentService;
-import com.example.rtbackend.services.RoleService;
-import com.example.rtbackend.services.UserService;
+import com.example.rtbackend.services.SalesRollupService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,95 +42,94 @@ public class PaymentServiceimpl implements PaymentService {
 
     private final PaymentRepo paymentRepo;
     private final OrderRepo orderRepo;
-    private final UserService userService;
-    private final RoleService roleService;
-
-    private static final String CASHIER_ROLE = "CASHIER";
+    private final ArchivedPaymentRepo archivedPaymentRepo;
+    private final AuthorizationService authorizationService;
+    private final SalesRollupService salesRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    // Checkout is one guarded statement (PaymentRepo.checkout) plus the revenue rollup; the role check
+    // is served from cache and the response is built from what the statement returned
     @Override
     @Transactional
-    public Payment processPayment(Long orderId, String paymentMethod, Long cashierId) {
-        
-        validateCashier(cashierId);
-        
-        User cashier = userService.getUserById(cashierId);
+    public PaymentView processPayment(Long orderId, String paymentMethod, Long cashierId, String idempotencyKey) {
         
-        // Get order
-        Order order = orderRepo.findById(orderId)
-            .orElseThrow(() -> new NoSuchElementException("Order not found with id: " + orderId));
-        
-        // Check if order is cancelled
-        if ("Cancelled".equals(order.getStatus())) {
-            throw new IllegalStateException("Cannot process payment for a cancelled order");
-        }
+        // Checked before anything is replayed to the caller
+        User cashier = authorizationService.requireRole(cashierId, AuthorizationService.CASHIER,
+            "Access denied. Only Cashiers can process payments");
         
-        // Check if order is already paid
-        paymentRepo.findByOrder_OrderId(orderId).ifPresent(p -> {
-            if ("Paid".equals(p.getPaymentStatus())) {
-                throw new IllegalStateException("Order is already paid");
+        // Retry whose first attempt already committed (e.g. after the key store forgot it)
+        if (idempotencyKey != null) {
+            Optional<PaymentView> existing = findOne(ListSpecifications.paymentForIdempotencyKey(idempotencyKey));
+            if (existing.isPresent()) {
+                // Only replayed for the request the key was first used with
+                PaymentView payment = existing.get();
+                boolean cashierMatches = payment.cashier() == null || payment.cashier().userId().equals(cashierId);
+                if (!payment.order().orderId().equals(orderId) || !cashierMatches
+                        || !Objects.equals(payment.paymentMethod(), paymentMethod)) {
+                    throw new IdempotencyService.KeyReusedException();
+                }
+                return payment;
             }
-        });
+        }
         
         // Validate payment method
         if (paymentMethod == null || paymentMethod.trim().isEmpty()) {
             throw new IllegalArgumentException("Payment method is required");
         }
         
-        // Create payment
-        Payment payment = new Payment();
-        payment.setOrder(order);
-        payment.setAmount(order.getTotal());
-        payment.setPaymentStatus("Paid");
-        payment.setPaymentMethod(paymentMethod);
-        payment.setCashier(cashier);
-        payment.setCreatedAt(LocalDateTime.now());
-        payment.setProcessedAt(LocalDateTime.now());
-        
-        payment = paymentRepo.save(payment);
+        // At the column's precision, so the event carries exactly the processed_at the row gets
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        CheckoutRow checkout = paymentRepo.checkout(orderId, paymentMethod, cashierId, now, idempotencyKey)
+            .orElseThrow(() -> rejectionFor(orderId));
+        salesRollupService.recordPayment(now, paymentMethod, checkout.amount());
         
-        // Update order status to Preparing (after payment is confirmed)
-        order.setStatus("Preparing");
-        orderRepo.save(order);
+        OrderStatus previousStatus = OrderStatus.valueOf(checkout.previousStatus());
+        eventPublisher.publishEvent(OrderEvent.paid(orderId, previousStatus, OrderStatus.PREPARING, checkout.amount(), now));
         
-        return payment;
+        return new PaymentView(checkout.paymentId(), checkout.amount(), PaymentStatus.PAID, paymentMethod, now, now,
+            new PaymentView.OrderSummary(orderId, OrderStatus.PREPARING, checkout.amount()),
+            new UserSummary(cashier.getUserId(), cashier.getName()));
     }
 
-    @Override
-    public Payment getPaymentById(Long paymentId) {
-        return paymentRepo.findById(paymentId)
-            .orElseThrow(() -> new NoSuchElementException("Payment not found with id: " + paymentId));
+    // Only reached when checkout charged nothing, so the extra lookup stays off the happy path
+    private RuntimeException rejectionFor(Long orderId) {
+        Optional<OrderStatus> status = orderRepo.findStatusById(orderId);
+        if (status.isEmpty()) {
+            return new NoSuchElementException("Order not found with id: " + orderId);
+        }
+        if (status.get() == OrderStatus.CANCELLED) {
+            return new IllegalStateException("Cannot process payment for a cancelled order");
+        }
+        return new IllegalStateException("Order is already paid");
     }
 
     @Override
-    public Payment getPaymentByOrderId(Long orderId) {
-        return paymentRepo.findByOrder_OrderId(orderId)
-            .orElseThrow(() -> new NoSuchElementException("Payment not found for order id: " + orderId));
+    @Transactional(readOnly = true)
+    public PaymentView getPaymentById(Long paymentId) {
+        return findOne(ListSpecifications.payment(paymentId))
+            .or(() -> archivedPaymentRepo.findRowById(paymentId).map(PaymentView::from))
+            .orElseThrow(() -> new NoSuchElementException("Payment not found with id: " + paymentId));
     }
 
     @Override
-    public List<Payment> getAllPayments() {
-        return paymentRepo.findAll();
+    @Transactional(readOnly = true)
+    public PaymentView getPaymentByOrderId(Long orderId) {
+        return findOne(ListSpecifications.paymentForOrder(orderId))
+            .or(() -> archivedPaymentRepo.findRowByOrderId(orderId).map(PaymentView::from))
+            .orElseThrow(() -> new NoSuchElementException("Payment not found for order id: " + orderId));
     }
 
     @Override
-    public List<Payment> getPaymentsByStatus(String paymentStatus) {
-        if (paymentStatus == null || paymentStatus.trim().isEmpty()) {
-            throw new IllegalArgumentException("Payment status parameter is required");
-        }
-        return paymentRepo.findByPaymentStatus(paymentStatus);
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentView> getPayments(PaymentFilter filter, Long cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<PaymentRow> rows = paymentRepo.findRows(ListSpecifications.payments(filter, cursor),
+            Sort.Direction.DESC, Limit.of(pageSize + 1));
+        CursorPage<PaymentRow> page = CursorPage.of(rows, pageSize, PaymentRow::paymentId);
+        return new CursorPage<>(page.items().stream().map(PaymentView::from).toList(), page.nextCursor());
     }
 
-    private void validateCashier(Long userId) {
-        User user = userService.getUserById(userId);
-        
-        if (user.getRole() == null) {
-            throw new IllegalStateException("User does not have an assigned role");
-        }
-
-        Role cashierRole = roleService.getRoleByName(CASHIER_ROLE);
-        
-        if (!user.getRole().getRoleId().equals(cashierRole.getRoleId())) {
-            throw new SecurityException("Access denied. Only Cashiers can process payments");
-        }
+    private Optional<PaymentView> findOne(Specification<Payment> spec) {
+        return paymentRepo.findRows(spec, Sort.Direction.ASC, Limit.of(1)).stream().findFirst().map(PaymentView::from);
     }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.example.rtbackend.domain.entities.Role;
 import com.example.rtbackend.repo.RoleRepo;
+import com.example.rtbackend.services.AuthorizationService;
 import com.example.rtbackend.services.RoleService;
 
 @Service
@@ -15,10 +16,12 @@ import com.example.rtbackend.services.RoleService;
 public class RoleServiceimpl implements RoleService { 
 
     private final RoleRepo roleRepo;
+    private final AuthorizationService authorizationService;
 
     
-    public RoleServiceimpl(RoleRepo roleRepo) {
+    public RoleServiceimpl(RoleRepo roleRepo, AuthorizationService authorizationService) {
         this.roleRepo = roleRepo;
+        this.authorizationService = authorizationService;
     }
 
     @Override
@@ -57,7 +60,9 @@ public class RoleServiceimpl implements RoleService {
         }
 
         existingRole.setRoleName(role.getRoleName());
-        return roleRepo.save(existingRole);
+        Role saved = roleRepo.save(existingRole);
+        authorizationService.evictRoles();
+        return saved;
     }
 
     @Override
@@ -66,5 +71,6 @@ public class RoleServiceimpl implements RoleService {
             throw new NoSuchElementException("Cannot delete. Role not found with ID: " + id);
         }
         roleRepo.deleteById(id);
+        authorizationService.evictRoles();
     }
 }
\ No newline at end of file
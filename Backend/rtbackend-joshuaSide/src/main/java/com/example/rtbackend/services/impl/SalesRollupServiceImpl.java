@@ -0,0 +1,367 @@
+package com.example.rtbackend.services.impl;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.rtbackend.domain.dto.SalesReport;
+import com.example.rtbackend.domain.entities.ItemRollup;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.OrderItem;
+import com.example.rtbackend.domain.entities.RevenueRollup;
+import com.example.rtbackend.domain.enums.ReportGrain;
+import com.example.rtbackend.domain.projections.DailyTotal;
+import com.example.rtbackend.domain.projections.HourlyTotal;
+import com.example.rtbackend.domain.projections.MenuItemSales;
+import com.example.rtbackend.domain.projections.PaymentMethodTotal;
+import com.example.rtbackend.repo.ItemRollupRepo;
+import com.example.rtbackend.repo.OrderRollupRepo;
+import com.example.rtbackend.repo.RevenueRollupRepo;
+import com.example.rtbackend.services.SalesRollupService;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hourly rollups of orders, units sold and revenue, so a report reads at most one
+ * row per hour (and dish or payment method) of the requested range. New orders and
+ * payments don't touch the rollup tables: their totals are added up in memory once
+ * their transaction commits and written by one flush every
+ * reports.rollups.flush-interval-ms, so writers never queue on the current hour's
+ * row. A report flushes first. What a crash takes with the buffer is recounted at
+ * the next startup: each order and payment also records its hour in
+ * rollup_dirty_hours within its own transaction, and the hours from the oldest one
+ * left there on are recounted from the orders and payments. Purges subtract in
+ * their own transaction, before the rows go. Archiving moves orders without
+ * changing what was sold, so it leaves them alone.
+ */
+@Slf4j
+@Service
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    // Older than any order; a full rebuild recounts from here
+    private static final LocalDateTime ALL_HISTORY = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final OrderRollupRepo orderRollupRepo;
+    private final ItemRollupRepo itemRollupRepo;
+    private final RevenueRollupRepo revenueRollupRepo;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate snapshotTransaction;
+
+    // Committed changes not yet written to the rollup tables
+    private final Map<LocalDateTime, Totals> pendingOrders = new ConcurrentHashMap<>();
+    private final Map<ItemRollup.Key, Totals> pendingItems = new ConcurrentHashMap<>();
+    private final Map<RevenueRollup.Key, Totals> pendingRevenue = new ConcurrentHashMap<>();
+    // Writers hold the read side from just before their commit until their totals are buffered,
+    // so a rebuild can take its snapshot at a point where every buffered total is in it
+    private final ReadWriteLock commits = new ReentrantReadWriteLock();
+    // Flushes and rebuilds take turns
+    private final Lock flushing = new ReentrantLock();
+    // Dirty hours before this one have been settled
+    private LocalDateTime settledBefore = ALL_HISTORY;
+
+    public SalesRollupServiceImpl(
+            OrderRollupRepo orderRollupRepo,
+            ItemRollupRepo itemRollupRepo,
+            RevenueRollupRepo revenueRollupRepo,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate) {
+        this.orderRollupRepo = orderRollupRepo;
+        this.itemRollupRepo = itemRollupRepo;
+        this.revenueRollupRepo = revenueRollupRepo;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.snapshotTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrder(Order order) {
+        LocalDateTime hour = order.getDate().truncatedTo(ChronoUnit.HOURS);
+        Totals placed = new Totals(1, order.getTotal());
+        Map<ItemRollup.Key, Totals> sold = new HashMap<>();
+        for (OrderItem line : order.getItems()) {
+            sold.merge(new ItemRollup.Key(hour, line.getMenuItem().getMenuItemId()),
+                new Totals(line.getQuantity(), line.getSubtotal()), Totals::plus);
+        }
+        orderRollupRepo.markDirty(hour);
+        bufferOnCommit(() -> {
+            pendingOrders.merge(hour, placed, Totals::plus);
+            sold.forEach((key, totals) -> pendingItems.merge(key, totals, Totals::plus));
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPayment(LocalDateTime paidAt, String paymentMethod, Double amount) {
+        RevenueRollup.Key key = new RevenueRollup.Key(paidAt.truncatedTo(ChronoUnit.HOURS),
+            paymentMethod == null ? "Unknown" : paymentMethod);
+        Totals paid = new Totals(1, amount);
+        orderRollupRepo.markDirty(key.getHour());
+        bufferOnCommit(() -> pendingRevenue.merge(key, paid, Totals::plus));
+    }
+
+    // Must run before the orders, lines and payments are deleted. Totals are read from the rows themselves,
+    // so this stays in the purge's transaction; purges run in the background, off the request path.
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeOrders(Collection<Long> orderIds) {
+        orderRollupRepo.apply(orderIds, -1);
+        itemRollupRepo.apply(orderIds, -1);
+        revenueRollupRepo.apply(orderIds, -1);
+    }
+
+    // Always orders, then items, then revenue, each in key order, so a flush and a purge can't deadlock
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${reports.rollups.flush-interval-ms:1000}")
+    public void flush() {
+        flushing.lock();
+        try {
+            Map<LocalDateTime, Totals> orders = drain(pendingOrders);
+            Map<ItemRollup.Key, Totals> items = drain(pendingItems);
+            Map<RevenueRollup.Key, Totals> revenue = drain(pendingRevenue);
+            LocalDateTime settle = hoursToSettle();
+            if (orders.isEmpty() && items.isEmpty() && revenue.isEmpty() && settle == null) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    write(orders, items, revenue);
+                    if (settle != null) {
+                        orderRollupRepo.settleHours(settle);
+                    }
+                });
+                if (settle != null) {
+                    settledBefore = settle;
+                }
+            } catch (RuntimeException e) {
+                // Back in the buffer for the next round
+                orders.forEach((key, totals) -> pendingOrders.merge(key, totals, Totals::plus));
+                items.forEach((key, totals) -> pendingItems.merge(key, totals, Totals::plus));
+                revenue.forEach((key, totals) -> pendingRevenue.merge(key, totals, Totals::plus));
+                log.warn("Sales rollup flush failed, retrying next round: {}", e.getMessage());
+            }
+        } finally {
+            flushing.unlock();
+        }
+    }
+
+    // Sales that were buffered but not flushed when the last run stopped are only in the dirty hours
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        Optional<LocalDateTime> oldest = readOnlyTransaction.execute(status -> orderRollupRepo.findOldestDirtyHour());
+        if (oldest.isPresent()) {
+            recount(oldest.get());
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        recount(ALL_HISTORY);
+    }
+
+    // Writers block only while the snapshot is taken. The buffered totals from the given hour on are all in
+    // that snapshot, so they are dropped; totals buffered after it belong to commits the snapshot can't see,
+    // and are flushed later.
+    private void recount(LocalDateTime from) {
+        flushing.lock();
+        try {
+            snapshotTransaction.executeWithoutResult(status -> {
+                entityManager.createNativeQuery(
+                    "LOCK TABLE rollup_orders_hourly, rollup_items_hourly, rollup_revenue_hourly IN EXCLUSIVE MODE")
+                    .executeUpdate();
+                commits.writeLock().lock();
+                try {
+                    // Repeatable read: the first query fixes the snapshot every statement below reads
+                    entityManager.createNativeQuery("SELECT 1").getSingleResult();
+                    pendingOrders.keySet().removeIf(hour -> !hour.isBefore(from));
+                    pendingItems.keySet().removeIf(key -> !key.getHour().isBefore(from));
+                    pendingRevenue.keySet().removeIf(key -> !key.getHour().isBefore(from));
+                } finally {
+                    commits.writeLock().unlock();
+                }
+                orderRollupRepo.clear(from);
+                itemRollupRepo.clear(from);
+                revenueRollupRepo.clear(from);
+                int hours = orderRollupRepo.rebuild(from);
+                int items = itemRollupRepo.rebuild(from);
+                int revenue = revenueRollupRepo.rebuild(from);
+                log.info("Sales rollups recounted from {}: {} order, {} item and {} revenue rows",
+                    from.equals(ALL_HISTORY) ? "the start" : from, hours, items, revenue);
+            });
+        } finally {
+            flushing.unlock();
+        }
+    }
+
+    @Override
+    public SalesReport getReport(LocalDateTime from, LocalDateTime to, ReportGrain grain) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        // Everything committed before the report was asked for is in it
+        flush();
+        return readOnlyTransaction.execute(status -> report(from, to, grain));
+    }
+
+    private SalesReport report(LocalDateTime from, LocalDateTime to, ReportGrain grain) {
+        Map<LocalDateTime, PeriodTotals> byStart = new TreeMap<>();
+        if (grain == ReportGrain.HOUR) {
+            for (HourlyTotal row : orderRollupRepo.sumByHour(from, to)) {
+                byStart.computeIfAbsent(row.hour(), start -> new PeriodTotals()).addOrders(row.count(), row.amount());
+            }
+            for (HourlyTotal row : revenueRollupRepo.sumByHour(from, to)) {
+                byStart.computeIfAbsent(row.hour(), start -> new PeriodTotals()).addPayments(row.count(), row.amount());
+            }
+        } else {
+            for (DailyTotal row : orderRollupRepo.sumByDay(from, to)) {
+                byStart.computeIfAbsent(row.day().atStartOfDay(), start -> new PeriodTotals()).addOrders(row.count(), row.amount());
+            }
+            for (DailyTotal row : revenueRollupRepo.sumByDay(from, to)) {
+                byStart.computeIfAbsent(row.day().atStartOfDay(), start -> new PeriodTotals()).addPayments(row.count(), row.amount());
+            }
+        }
+
+        PeriodTotals totals = new PeriodTotals();
+        List<SalesReport.Period> periods = new ArrayList<>();
+        byStart.forEach((start, period) -> {
+            // Hours whose orders were all deleted stay behind as zero rows; not worth a period
+            if (period.ordersPlaced == 0 && period.paymentsReceived == 0) {
+                return;
+            }
+            periods.add(new SalesReport.Period(start,
+                period.ordersPlaced, period.orderTotal, period.paymentsReceived, period.revenue));
+            totals.addOrders(period.ordersPlaced, period.orderTotal);
+            totals.addPayments(period.paymentsReceived, period.revenue);
+        });
+
+        List<PaymentMethodTotal> byPaymentMethod = revenueRollupRepo.sumByPaymentMethod(from, to).stream()
+            .filter(row -> row.payments() != 0)
+            .toList();
+        List<MenuItemSales> byMenuItem = itemRollupRepo.sumByMenuItem(from, to);
+        long unitsSold = byMenuItem.stream().mapToLong(MenuItemSales::unitsSold).sum();
+
+        return new SalesReport(from, to, grain.getLabel(),
+            new SalesReport.Totals(totals.ordersPlaced, totals.orderTotal, totals.paymentsReceived, totals.revenue, unitsSold),
+            periods, byPaymentMethod, byMenuItem);
+    }
+
+    // The totals are buffered only if the transaction commits, and not if a savepoint around them is rolled back
+    private void bufferOnCommit(Runnable buffer) {
+        TransactionSynchronizationManager.registerSynchronization(new ScopedSynchronization() {
+            private boolean holding;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commits.readLock().lock();
+                holding = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED && !isUndone()) {
+                        buffer.run();
+                    }
+                } finally {
+                    if (holding) {
+                        commits.readLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    private void write(Map<LocalDateTime, Totals> orders, Map<ItemRollup.Key, Totals> items,
+                       Map<RevenueRollup.Key, Totals> revenue) {
+        if (!orders.isEmpty()) {
+            List<LocalDateTime> hours = new ArrayList<>(orders.keySet());
+            orderRollupRepo.add(hours.toArray(LocalDateTime[]::new),
+                hours.stream().map(hour -> orders.get(hour).count()).toArray(Long[]::new),
+                hours.stream().map(hour -> orders.get(hour).amount()).toArray(Double[]::new));
+        }
+        if (!items.isEmpty()) {
+            List<ItemRollup.Key> keys = new ArrayList<>(items.keySet());
+            itemRollupRepo.add(keys.stream().map(ItemRollup.Key::getHour).toArray(LocalDateTime[]::new),
+                keys.stream().map(ItemRollup.Key::getMenuItemId).toArray(Long[]::new),
+                keys.stream().map(key -> items.get(key).count()).toArray(Long[]::new),
+                keys.stream().map(key -> items.get(key).amount()).toArray(Double[]::new));
+        }
+        if (!revenue.isEmpty()) {
+            List<RevenueRollup.Key> keys = new ArrayList<>(revenue.keySet());
+            revenueRollupRepo.add(keys.stream().map(RevenueRollup.Key::getHour).toArray(LocalDateTime[]::new),
+                keys.stream().map(RevenueRollup.Key::getPaymentMethod).toArray(String[]::new),
+                keys.stream().map(key -> revenue.get(key).count()).toArray(Long[]::new),
+                keys.stream().map(key -> revenue.get(key).amount()).toArray(Double[]::new));
+        }
+    }
+
+    // Sales are stamped with the time they are made, so once an hour is over and the next one is too, nothing
+    // new lands in it; whatever of it was buffered is written by the flush that settles it. Null if nothing to do.
+    private LocalDateTime hoursToSettle() {
+        LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(1);
+        return before.isAfter(settledBefore) ? before : null;
+    }
+
+    // Key by key, so totals merged in meanwhile either make this flush or wait for the next one
+    private static <K> Map<K, Totals> drain(Map<K, Totals> pending) {
+        Map<K, Totals> drained = new HashMap<>();
+        for (K key : pending.keySet()) {
+            Totals totals = pending.remove(key);
+            if (totals != null) {
+                drained.put(key, totals);
+            }
+        }
+        return drained;
+    }
+
+    private record Totals(long count, double amount) {
+        Totals plus(Totals other) {
+            return new Totals(count + other.count, amount + other.amount);
+        }
+    }
+
+    private static class PeriodTotals {
+        long ordersPlaced;
+        double orderTotal;
+        long paymentsReceived;
+        double revenue;
+
+        void addOrders(Long count, Double amount) {
+            ordersPlaced += count == null ? 0 : count;
+            orderTotal += amount == null ? 0.0 : amount;
+        }
+
+        void addPayments(Long count, Double amount) {
+            paymentsReceived += count == null ? 0 : count;
+            revenue += amount == null ? 0.0 : amount;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.rtbackend.services.impl;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+
+/**
+ * Also notices when a savepoint taken before it was registered is rolled back:
+ * that undoes the work it belongs to even though the outer transaction goes on
+ * (grouped order ingestion runs each order under its own savepoint).
+ */
+abstract class ScopedSynchronization implements TransactionSynchronization {
+    private final Set<Object> laterSavepoints = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean undone;
+
+    @Override
+    public void savepoint(Object savepoint) {
+        laterSavepoints.add(savepoint);
+    }
+
+    @Override
+    public void savepointRollback(Object savepoint) {
+        if (!undone && !laterSavepoints.contains(savepoint)) {
+            undone = true;
+            undone();
+        }
+    }
+
+    protected void undone() {
+    }
+
+    protected boolean isUndone() {
+        return undone;
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.rtbackend.services.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.OrderFilter;
+import com.example.rtbackend.domain.dto.PaymentFilter;
+import com.example.rtbackend.domain.dto.SettlementReport;
+import com.example.rtbackend.domain.entities.Settlement;
+import com.example.rtbackend.domain.entities.SettlementCashier;
+import com.example.rtbackend.domain.entities.SettlementOrder;
+import com.example.rtbackend.domain.entities.SettlementPaymentMethod;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.enums.PaymentStatus;
+import com.example.rtbackend.domain.enums.SettlementIssue;
+import com.example.rtbackend.domain.projections.OrderHeader;
+import com.example.rtbackend.domain.projections.PaymentRow;
+import com.example.rtbackend.repo.ArchivedOrderRepo;
+import com.example.rtbackend.repo.ArchivedPaymentRepo;
+import com.example.rtbackend.repo.ListSpecifications;
+import com.example.rtbackend.repo.OrderRepo;
+import com.example.rtbackend.repo.PaymentRepo;
+import com.example.rtbackend.repo.SettlementRepo;
+import com.example.rtbackend.services.OrderArchiveService;
+import com.example.rtbackend.services.SettlementService;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Closes a business day: one cursor pass over the day's paid payments and one
+ * over the day's orders, settlements.fetch-size rows per round trip. Only the
+ * per-method and per-cashier totals are kept in memory; open orders are written
+ * out as they are found and the persistence context is cleared every fetch, so
+ * heap use does not grow with the day. The result is stored once and served
+ * from the settlement tables afterwards.
+ */
+@Slf4j
+@Service
+public class SettlementServiceImpl implements SettlementService {
+
+    // Payments whose cashier has since been deleted are totalled under this id
+    private static final Long UNKNOWN_CASHIER = 0L;
+
+    private final SettlementRepo settlementRepo;
+    private final PaymentRepo paymentRepo;
+    private final OrderRepo orderRepo;
+    private final ArchivedPaymentRepo archivedPaymentRepo;
+    private final ArchivedOrderRepo archivedOrderRepo;
+    private final OrderArchiveService orderArchiveService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int fetchSize;
+
+    public SettlementServiceImpl(
+            SettlementRepo settlementRepo,
+            PaymentRepo paymentRepo,
+            OrderRepo orderRepo,
+            ArchivedPaymentRepo archivedPaymentRepo,
+            ArchivedOrderRepo archivedOrderRepo,
+            OrderArchiveService orderArchiveService,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            @Value("${settlements.enabled:true}") boolean enabled,
+            @Value("${settlements.fetch-size:500}") int fetchSize) {
+        this.settlementRepo = settlementRepo;
+        this.paymentRepo = paymentRepo;
+        this.orderRepo = orderRepo;
+        this.archivedPaymentRepo = archivedPaymentRepo;
+        this.archivedOrderRepo = archivedOrderRepo;
+        this.orderArchiveService = orderArchiveService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+    }
+
+    // Settles yesterday unless a manager already closed it by hand
+    @Scheduled(cron = "${settlements.cron:0 15 0 * * *}")
+    public void scheduledSettlement() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        if (enabled && !settlementRepo.existsById(yesterday)) {
+            transactionTemplate.execute(status -> settle(yesterday));
+        }
+    }
+
+    @Override
+    @Transactional
+    public SettlementReport settle(LocalDate day) {
+        // A day still under way would be frozen with the orders and payments it has so far
+        if (!day.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Only a finished business day can be settled: " + day);
+        }
+        if (settlementRepo.existsById(day)) {
+            throw new IllegalStateException("Business day already settled: " + day);
+        }
+
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        boolean archiveMayMatch = start.isBefore(orderArchiveService.getArchiveBoundary());
+        DayTotals totals = new DayTotals(day);
+
+        // Archived orders were all paid and served, so they only ever add to the totals
+        PaymentFilter payments = new PaymentFilter(PaymentStatus.PAID, start, end, null);
+        if (archiveMayMatch) {
+            try (Stream<PaymentRow> rows = archivedPaymentRepo.streamRows(ListSpecifications.payments(payments, null), fetchSize)) {
+                rows.forEach(totals::addPayment);
+            }
+        }
+        try (Stream<PaymentRow> rows = paymentRepo.streamRows(ListSpecifications.payments(payments, null), fetchSize)) {
+            rows.forEach(totals::addPayment);
+        }
+
+        OrderFilter orders = new OrderFilter(null, start, end, null);
+        if (archiveMayMatch) {
+            try (Stream<OrderHeader> headers = archivedOrderRepo.streamHeaders(ListSpecifications.orders(orders, null), fetchSize)) {
+                headers.forEach(totals::addOrder);
+            }
+        }
+        try (Stream<OrderHeader> headers = orderRepo.streamHeaders(ListSpecifications.orders(orders, null), fetchSize)) {
+            headers.forEach(totals::addOrder);
+        }
+
+        totals.store();
+        log.info("Settled {}: {} payments, revenue {}, {} paid not served, {} pending unpaid",
+            day, totals.paymentsReceived, totals.revenue, totals.paidNotServed, totals.pendingUnpaid);
+        return getSettlement(day).orElseThrow();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SettlementReport> getSettlement(LocalDate day) {
+        return settlementRepo.findById(day).map(settlement -> SettlementReport.from(settlement,
+            settlementRepo.findPaymentMethods(day), settlementRepo.findCashiers(day)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SettlementReport.OpenOrder> getOpenOrders(LocalDate day, Long cursor, int limit) {
+        if (!settlementRepo.existsById(day)) {
+            throw new NoSuchElementException("Business day not settled: " + day);
+        }
+        int pageSize = CursorPage.clampLimit(limit);
+        List<SettlementReport.OpenOrder> rows = settlementRepo.findOpenOrders(day, cursor != null ? cursor : 0L,
+            Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, SettlementReport.OpenOrder::orderId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Settlement> getSettlements(LocalDate from, LocalDate to) {
+        return settlementRepo.findByBusinessDayBetweenOrderByBusinessDayDesc(from, to);
+    }
+
+    // Running totals of the day being settled; the breakdown maps hold one entry per payment method and cashier
+    private class DayTotals {
+        final LocalDate day;
+        final Map<String, SettlementPaymentMethod> byMethod = new HashMap<>();
+        final Map<Long, SettlementCashier> byCashier = new HashMap<>();
+        long ordersPlaced;
+        double orderTotal;
+        long paymentsReceived;
+        double revenue;
+        long paidNotServed;
+        long pendingUnpaid;
+        int unflushed;
+
+        DayTotals(LocalDate day) {
+            this.day = day;
+        }
+
+        void addPayment(PaymentRow row) {
+            paymentsReceived++;
+            revenue += row.amount();
+
+            String method = row.paymentMethod() != null ? row.paymentMethod() : "Unknown";
+            SettlementPaymentMethod methodTotal = byMethod.computeIfAbsent(method,
+                m -> new SettlementPaymentMethod(day, m, 0L, 0.0));
+            methodTotal.setPayments(methodTotal.getPayments() + 1);
+            methodTotal.setRevenue(methodTotal.getRevenue() + row.amount());
+
+            Long cashierId = row.cashierId() != null ? row.cashierId() : UNKNOWN_CASHIER;
+            SettlementCashier cashierTotal = byCashier.computeIfAbsent(cashierId,
+                id -> new SettlementCashier(day, id, row.cashierName(), 0L, 0.0));
+            cashierTotal.setPayments(cashierTotal.getPayments() + 1);
+            cashierTotal.setRevenue(cashierTotal.getRevenue() + row.amount());
+
+            if (row.orderStatus() != OrderStatus.SERVED && row.orderStatus() != OrderStatus.CANCELLED) {
+                paidNotServed++;
+                write(new SettlementOrder(day, row.orderId(), SettlementIssue.PAID_NOT_SERVED,
+                    row.orderStatus(), row.orderTotal()));
+            }
+        }
+
+        // Paying an order moves it out of Pending, so a Pending order has no payment
+        void addOrder(OrderHeader header) {
+            ordersPlaced++;
+            orderTotal += header.total();
+            if (header.status() == OrderStatus.PENDING) {
+                pendingUnpaid++;
+                write(new SettlementOrder(day, header.orderId(), SettlementIssue.PENDING_UNPAID,
+                    header.status(), header.total()));
+            }
+        }
+
+        void store() {
+            byMethod.values().forEach(entityManager::persist);
+            byCashier.values().forEach(entityManager::persist);
+            entityManager.persist(new Settlement(day, LocalDateTime.now(), ordersPlaced, orderTotal,
+                paymentsReceived, revenue, paidNotServed, pendingUnpaid));
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        // Open orders go out in JDBC batches and are detached again, so none of them stay on the heap
+        private void write(SettlementOrder order) {
+            entityManager.persist(order);
+            if (++unflushed == fetchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                unflushed = 0;
+            }
+        }
+    }
+}
@@ -3,12 +3,15 @@ package com.example.rtbackend.services.impl;
 import java.util.List;
 import java.util.NoSuchElementException;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import com.example.rtbackend.domain.dto.CursorPage;
 import com.example.rtbackend.domain.entities.Role;
 import com.example.rtbackend.domain.entities.User;
 import com.example.rtbackend.repo.RoleRepo;
 import com.example.rtbackend.repo.UserRepo;
+import com.example.rtbackend.services.AuthorizationService;
 import com.example.rtbackend.services.UserService;
 
 @Service
@@ -16,15 +19,20 @@ public class UserServiceImpl implements UserService {
     
     private final UserRepo userRepo;
     private final RoleRepo roleRepo;
+    private final AuthorizationService authorizationService;
 
-    public UserServiceImpl(UserRepo userRepo, RoleRepo roleRepo) {
+    public UserServiceImpl(UserRepo userRepo, RoleRepo roleRepo, AuthorizationService authorizationService) {
         this.userRepo = userRepo;
         this.roleRepo = roleRepo;
+        this.authorizationService = authorizationService;
     }
 
     @Override
-    public List<User> getAllUsers() {
-        return userRepo.findAll();
+    public CursorPage<User> getUsers(Long cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<User> rows = userRepo.findByUserIdGreaterThanOrderByUserIdAsc(
+            cursor == null ? 0L : cursor, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, User::getUserId);
     }
 
     @Override
@@ -92,7 +100,9 @@ public class UserServiceImpl implements UserService {
             user.setRole(updatedUser.getRole());
         }
         
-        return userRepo.save(user);
+        User saved = userRepo.save(user);
+        authorizationService.evictUser(id);
+        return saved;
     }
 
     @Override
@@ -102,6 +112,7 @@ public class UserServiceImpl implements UserService {
             throw new NoSuchElementException("User not found with id: " + id);
         }
         userRepo.deleteById(id);
+        authorizationService.evictUser(id);
     }
 
     @Override
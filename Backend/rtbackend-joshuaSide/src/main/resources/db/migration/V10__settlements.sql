@@ -0,0 +1,44 @@
+-- End-of-day settlements written by SettlementServiceImpl. A settlement is taken
+-- once per business day and never changed, so GET /api/settlements/{day} reads it
+-- back instead of going over the day's payments again. No foreign keys, like the
+-- archive: the snapshot keeps what was true when the day was closed.
+
+CREATE TABLE settlements (
+    business_day      date PRIMARY KEY,
+    settled_at        timestamp(6) NOT NULL,
+    orders_placed     bigint NOT NULL,
+    order_total       double precision NOT NULL,
+    payments_received bigint NOT NULL,
+    revenue           double precision NOT NULL,
+    paid_not_served   bigint NOT NULL,
+    pending_unpaid    bigint NOT NULL
+);
+
+-- Paid payments of the day per payment method
+CREATE TABLE settlement_payment_methods (
+    business_day   date NOT NULL,
+    payment_method varchar(255) NOT NULL,
+    payments       bigint NOT NULL,
+    revenue        double precision NOT NULL,
+    PRIMARY KEY (business_day, payment_method)
+);
+
+-- Paid payments of the day per cashier; the name is the one they had that day
+CREATE TABLE settlement_cashiers (
+    business_day date NOT NULL,
+    cashier_id   bigint NOT NULL,
+    cashier_name varchar(255),
+    payments     bigint NOT NULL,
+    revenue      double precision NOT NULL,
+    PRIMARY KEY (business_day, cashier_id)
+);
+
+-- Orders left open at settlement: paid but not yet served, or still pending payment
+CREATE TABLE settlement_orders (
+    business_day date NOT NULL,
+    order_id     bigint NOT NULL,
+    issue        varchar(32) NOT NULL,
+    status       orderstatus NOT NULL,
+    total        double precision NOT NULL,
+    PRIMARY KEY (business_day, order_id)
+);
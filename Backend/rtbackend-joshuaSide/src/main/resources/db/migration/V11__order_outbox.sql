@@ -0,0 +1,22 @@
+-- Transactional outbox for OrderEvent. OrderOutboxServiceImpl inserts a row in the
+-- same transaction as the state change it describes, and its relay threads hand
+-- committed rows to the OrderEventConsumer beans, then delete them. Ids come from
+-- the column default at insert time, so the events of one order (written by
+-- transactions that follow each other) are numbered in the order they happened.
+
+CREATE TABLE order_outbox (
+    id              bigserial PRIMARY KEY,
+    order_id        bigint,
+    event_type      varchar(32) NOT NULL,
+    status          orderstatus,
+    previous_status orderstatus,
+    amount          double precision,
+    occurred_at     timestamp(6) NOT NULL,
+    attempts        integer NOT NULL DEFAULT 0,
+    last_error      varchar(1000),
+    failed_at       timestamp(6)
+);
+
+-- What the relay polls: undelivered rows in id order. Rows that used up their
+-- attempts keep failed_at set and stay behind for inspection.
+CREATE INDEX idx_order_outbox_pending ON order_outbox (id) WHERE failed_at IS NULL;
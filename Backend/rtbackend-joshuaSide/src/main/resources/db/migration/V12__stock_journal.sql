@@ -0,0 +1,11 @@
+-- Stock changes taken by the in-memory ledger (stock.ledger.mode=memory). Each
+-- reservation, release and manager edit appends its deltas here in the same
+-- transaction, so a committed change survives a crash even though menu_item is
+-- only updated by the periodic fold. Live stock is menu_item.stock_quantity plus
+-- the sum of this item's rows; the ledger folds the rows in on startup and on
+-- every flush. Append-only, so busy dishes never queue on a row lock.
+CREATE TABLE stock_journal (
+    id           bigserial PRIMARY KEY,
+    menu_item_id bigint NOT NULL,
+    delta        integer NOT NULL
+);
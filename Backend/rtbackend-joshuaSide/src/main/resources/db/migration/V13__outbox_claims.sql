@@ -0,0 +1,8 @@
+-- The outbox relay now claims a batch and commits before handing it to the
+-- consumers, instead of holding its transaction and partition lock through
+-- delivery. claimed_until is the claim's lease: a relay that dies mid-batch
+-- leaves its rows to be claimed again once the lease has run out.
+ALTER TABLE order_outbox ADD COLUMN claimed_until timestamp(6);
+
+-- Parked rows of an order hold back its later events; the relay looks them up by order
+CREATE INDEX idx_order_outbox_parked ON order_outbox (order_id, id) WHERE failed_at IS NOT NULL;
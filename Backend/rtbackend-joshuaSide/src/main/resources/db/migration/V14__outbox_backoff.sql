@@ -0,0 +1,5 @@
+-- A failed delivery is no longer retried on the relay's next pass: next_attempt_at
+-- holds the row (and the later events of its order) back for an exponentially
+-- growing delay, so a consumer that is down for a while does not burn through
+-- outbox.relay.max-attempts in seconds. NULL means due now.
+ALTER TABLE order_outbox ADD COLUMN next_attempt_at timestamp(6);
@@ -0,0 +1,9 @@
+-- SalesRollupServiceImpl adds new sales to the rollups from an in-memory buffer,
+-- so a crash loses whatever it had not flushed yet. Every order and payment also
+-- records its hour here, in its own transaction, so the hours that may hold
+-- unflushed sales are known after a crash; at startup the rollups are recounted
+-- from the oldest of them on. Flushes remove the hours that can no longer get new
+-- sales once they are fully written.
+CREATE TABLE rollup_dirty_hours (
+    hour timestamp(6) PRIMARY KEY
+);
@@ -0,0 +1,9 @@
+-- One counter every instance bumps after it changes the menu. GET /menu reads it
+-- (a single-row lookup) and rebuilds its cached snapshot only when it has moved,
+-- so edits made on another instance show up on the next request.
+CREATE TABLE menu_version (
+    id      smallint PRIMARY KEY CHECK (id = 1),
+    version bigint NOT NULL
+);
+
+INSERT INTO menu_version (id, version) VALUES (1, 0);
@@ -0,0 +1,52 @@
+-- Schema as ddl-auto=update used to create it. Databases that already have these
+-- tables are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE roles (
+    role_id   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    role_name varchar(50) NOT NULL UNIQUE
+);
+
+CREATE TABLE users (
+    user_id  bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username varchar(255) NOT NULL UNIQUE,
+    name     varchar(255) NOT NULL,
+    role_id  bigint NOT NULL REFERENCES roles (role_id)
+);
+
+CREATE TABLE menu_item (
+    menu_item_id   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           varchar(255) NOT NULL,
+    price          double precision NOT NULL,
+    description    text NOT NULL,
+    category       varchar(255) NOT NULL,
+    image_path     varchar(255),
+    stock_quantity integer NOT NULL
+);
+
+CREATE TABLE orders (
+    order_id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id  bigint NOT NULL REFERENCES users (user_id),
+    date     timestamp(6) NOT NULL,
+    status   varchar(20) NOT NULL,
+    total    double precision NOT NULL
+);
+
+CREATE TABLE order_item (
+    order_item_id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id      bigint NOT NULL REFERENCES orders (order_id),
+    menu_item_id  bigint NOT NULL REFERENCES menu_item (menu_item_id),
+    quantity      integer,
+    item_price    double precision,
+    subtotal      double precision
+);
+
+CREATE TABLE payments (
+    payment_id     bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id       bigint NOT NULL REFERENCES orders (order_id),
+    amount         double precision NOT NULL,
+    payment_status varchar(255) NOT NULL,
+    payment_method varchar(255),
+    cashier_id     bigint REFERENCES users (user_id),
+    created_at     timestamp(6) NOT NULL,
+    processed_at   timestamp(6)
+);
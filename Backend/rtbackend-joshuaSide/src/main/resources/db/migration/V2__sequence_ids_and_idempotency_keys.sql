@@ -0,0 +1,54 @@
+-- Ids come from pooled sequences (50 per round trip) so Hibernate can batch inserts.
+-- Sequences may already exist if ddl-auto created them; either way they are moved
+-- one increment past MAX(id), because the pooled optimizer hands out (value - 50, value].
+DO $$
+DECLARE
+    t         record;
+    max_id    bigint;
+    seq_value bigint;
+BEGIN
+    FOR t IN SELECT * FROM (VALUES
+        ('roles',      'role_id',       'roles_seq'),
+        ('users',      'user_id',       'users_seq'),
+        ('menu_item',  'menu_item_id',  'menu_item_seq'),
+        ('orders',     'order_id',      'orders_seq'),
+        ('order_item', 'order_item_id', 'order_item_seq'),
+        ('payments',   'payment_id',    'payments_seq')
+    ) AS v (tbl, col, seq)
+    LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', t.seq);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I DROP IDENTITY IF EXISTS', t.tbl, t.col);
+
+        EXECUTE format('SELECT COALESCE(MAX(%I), 0) FROM %I', t.col, t.tbl) INTO max_id;
+        SELECT COALESCE(last_value, 0) INTO seq_value
+        FROM pg_sequences
+        WHERE schemaname = current_schema() AND sequencename = t.seq;
+
+        IF max_id > 0 AND max_id + 50 > seq_value THEN
+            PERFORM setval(t.seq, max_id + 50);
+        END IF;
+    END LOOP;
+END $$;
+
+-- Client-supplied Idempotency-Key; unique so a retried request can never insert twice.
+-- Skips the index where ddl-auto already added an equivalent unique constraint.
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS idempotency_key varchar(64);
+ALTER TABLE payments ADD COLUMN IF NOT EXISTS idempotency_key varchar(64);
+
+DO $$
+DECLARE
+    tbl text;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['orders', 'payments']
+    LOOP
+        IF NOT EXISTS (
+            SELECT 1
+            FROM pg_index i
+            JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+            WHERE i.indrelid = tbl::regclass AND i.indisunique AND i.indnatts = 1
+              AND a.attname = 'idempotency_key'
+        ) THEN
+            EXECUTE format('CREATE UNIQUE INDEX %I ON %I (idempotency_key)', 'ux_' || tbl || '_idempotency_key', tbl);
+        END IF;
+    END LOOP;
+END $$;
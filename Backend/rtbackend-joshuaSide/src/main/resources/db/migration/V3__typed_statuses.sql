@@ -0,0 +1,14 @@
+-- Statuses become Postgres enums: 4 bytes per row instead of a varchar, and no
+-- misspelled value can get in. Labels are the Java constant names; the API keeps
+-- sending "Pending", "Paid", ... (see OrderStatus / PaymentStatus).
+-- Type names follow Hibernate's convention for named enums (the Java class name).
+-- Fails, and rolls back, if a row holds a status outside these lists.
+
+CREATE TYPE orderstatus AS ENUM ('PENDING', 'PREPARING', 'READY', 'SERVED', 'CANCELLED');
+CREATE TYPE paymentstatus AS ENUM ('PENDING', 'PAID');
+
+ALTER TABLE orders
+    ALTER COLUMN status TYPE orderstatus USING upper(trim(status))::orderstatus;
+
+ALTER TABLE payments
+    ALTER COLUMN payment_status TYPE paymentstatus USING upper(trim(payment_status))::paymentstatus;
@@ -0,0 +1,74 @@
+-- Indexes for the queries the services actually run. Nothing beyond primary keys
+-- and unique constraints existed before, so every status lookup was a full scan.
+
+-- Kitchen and cashier boards: open orders of one status, in id order. Served and
+-- cancelled history (the bulk of the table) stays out of this index, so it stays
+-- small however long the restaurant runs.
+CREATE INDEX IF NOT EXISTS idx_orders_active_status
+    ON orders (status, order_id)
+    WHERE status IN ('PENDING', 'PREPARING', 'READY');
+
+-- Date-range filters on the order list and the per-day stats rebuild
+CREATE INDEX IF NOT EXISTS idx_orders_date ON orders (date);
+
+-- Orders taken by one waiter, newest first (also covers the foreign key)
+CREATE INDEX IF NOT EXISTS idx_orders_user_id ON orders (user_id, order_id DESC);
+
+-- Lines of a set of orders (order views, purge) and of a menu item (foreign keys)
+CREATE INDEX IF NOT EXISTS idx_order_item_order_id ON order_item (order_id);
+CREATE INDEX IF NOT EXISTS idx_order_item_menu_item_id ON order_item (menu_item_id);
+
+-- One payment per order. Backs findByOrder_OrderId and the paid check on transitions.
+-- Hibernate may already have added this for the @OneToOne; if so it is left alone.
+-- The old check-then-insert in processPayment could record two payments for one order.
+-- Before the index is built, each order keeps one payment (a paid one first, then the
+-- earliest) and the others move to payments_duplicates, to be refunded or reconciled
+-- by hand. Nothing is deleted outright.
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+        FROM pg_index i
+        JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+        WHERE i.indrelid = 'payments'::regclass AND i.indisunique AND i.indnatts = 1
+          AND a.attname = 'order_id'
+    ) THEN
+        IF EXISTS (SELECT 1 FROM payments GROUP BY order_id HAVING COUNT(*) > 1) THEN
+            CREATE TABLE IF NOT EXISTS payments_duplicates (LIKE payments INCLUDING DEFAULTS);
+
+            WITH ranked AS (
+                SELECT payment_id,
+                       row_number() OVER (
+                           PARTITION BY order_id
+                           ORDER BY (payment_status = 'PAID') DESC, payment_id
+                       ) AS rn
+                FROM payments
+            ),
+            moved AS (
+                DELETE FROM payments p
+                USING ranked r
+                WHERE p.payment_id = r.payment_id AND r.rn > 1
+                RETURNING p.*
+            )
+            INSERT INTO payments_duplicates SELECT * FROM moved;
+
+            RAISE WARNING 'moved % duplicate payments to payments_duplicates; review them before dropping the table',
+                (SELECT COUNT(*) FROM payments_duplicates);
+        END IF;
+        CREATE UNIQUE INDEX ux_payments_order_id ON payments (order_id);
+    END IF;
+END $$;
+
+-- Payment list filtered by status, keyset by id
+CREATE INDEX IF NOT EXISTS idx_payments_status ON payments (payment_status, payment_id);
+
+-- Revenue per day (stats) only ever reads paid payments
+CREATE INDEX IF NOT EXISTS idx_payments_paid_created_at
+    ON payments (created_at)
+    WHERE payment_status = 'PAID';
+
+-- Payments taken by one cashier, newest first (also covers the foreign key)
+CREATE INDEX IF NOT EXISTS idx_payments_cashier_id ON payments (cashier_id, payment_id DESC);
+
+-- Users by role (foreign key)
+CREATE INDEX IF NOT EXISTS idx_users_role_id ON users (role_id);
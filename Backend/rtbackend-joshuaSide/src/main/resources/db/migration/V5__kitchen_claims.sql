@@ -0,0 +1,7 @@
+-- Who is cooking each order. Set by a guarded update when a chef claims the
+-- order from the kitchen queue, so two chefs can never hold the same ticket.
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS chef_id BIGINT REFERENCES users (user_id);
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMP(6);
+
+-- Orders handled by one chef (also covers the foreign key); most rows never have one
+CREATE INDEX IF NOT EXISTS idx_orders_chef_id ON orders (chef_id) WHERE chef_id IS NOT NULL;
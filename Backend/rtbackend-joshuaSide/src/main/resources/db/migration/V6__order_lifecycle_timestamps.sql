@@ -0,0 +1,12 @@
+-- When each order reached each stage. Set by the same guarded updates that move
+-- the status, so a timestamp is only ever written by the transition it describes.
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS paid_at TIMESTAMP(6);
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS started_at TIMESTAMP(6);
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS ready_at TIMESTAMP(6);
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS served_at TIMESTAMP(6);
+
+-- Payment time is already known for paid orders; the other stages were never recorded
+UPDATE orders o
+SET paid_at = p.processed_at
+FROM payments p
+WHERE p.order_id = o.order_id AND p.payment_status = 'PAID' AND o.paid_at IS NULL;
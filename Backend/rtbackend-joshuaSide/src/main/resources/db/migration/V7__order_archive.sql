@@ -0,0 +1,79 @@
+-- Cold storage for finished orders. OrderArchiveServiceImpl moves Served, paid
+-- orders older than orders.archive.after-days here (with their lines and payment),
+-- so orders, order_item and payments only hold the working set and their indexes
+-- stay small. Each table is range-partitioned by the order date, one partition per
+-- month, created on demand by create_archive_partitions() below. Old months can be
+-- detached or dropped as a whole instead of being deleted row by row.
+--
+-- No foreign keys: archived rows never change, and users or dishes can still be
+-- removed later without scanning years of history.
+
+CREATE TABLE orders_archive (
+    order_id    bigint NOT NULL,
+    user_id     bigint NOT NULL,
+    date        timestamp(6) NOT NULL,
+    status      orderstatus NOT NULL,
+    total       double precision NOT NULL,
+    paid_at     timestamp(6),
+    started_at  timestamp(6),
+    ready_at    timestamp(6),
+    served_at   timestamp(6),
+    chef_id     bigint,
+    claimed_at  timestamp(6),
+    archived_at timestamp(6) NOT NULL DEFAULT now(),
+    PRIMARY KEY (order_id, date)
+) PARTITION BY RANGE (date);
+
+-- Lines carry their order's date so they land in the same month as the order
+CREATE TABLE order_item_archive (
+    order_item_id bigint NOT NULL,
+    order_id      bigint NOT NULL,
+    order_date    timestamp(6) NOT NULL,
+    menu_item_id  bigint NOT NULL,
+    quantity      integer,
+    item_price    double precision,
+    subtotal      double precision,
+    PRIMARY KEY (order_item_id, order_date)
+) PARTITION BY RANGE (order_date);
+
+CREATE TABLE payments_archive (
+    payment_id     bigint NOT NULL,
+    order_id       bigint NOT NULL,
+    order_date     timestamp(6) NOT NULL,
+    amount         double precision NOT NULL,
+    payment_status paymentstatus NOT NULL,
+    payment_method varchar(255),
+    cashier_id     bigint,
+    created_at     timestamp(6) NOT NULL,
+    processed_at   timestamp(6),
+    PRIMARY KEY (payment_id, order_date)
+) PARTITION BY RANGE (order_date);
+
+-- Same access paths as the live tables (V4): waiter filter, lines and payment of an order
+CREATE INDEX idx_orders_archive_user_id ON orders_archive (user_id, order_id DESC);
+CREATE INDEX idx_order_item_archive_order_id ON order_item_archive (order_id);
+CREATE INDEX idx_payments_archive_order_id ON payments_archive (order_id);
+
+-- Creates the monthly partitions of all three tables covering [from_date, to_date].
+-- Returns how many were created. Serialised so two instances can't race on the DDL.
+CREATE FUNCTION create_archive_partitions(from_date timestamp, to_date timestamp) RETURNS integer
+LANGUAGE plpgsql AS $$
+DECLARE
+    month   date := date_trunc('month', from_date);
+    parent  text;
+    created integer := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('create_archive_partitions'));
+    WHILE month <= to_date LOOP
+        FOREACH parent IN ARRAY ARRAY['orders_archive', 'order_item_archive', 'payments_archive'] LOOP
+            IF to_regclass(parent || to_char(month, '_YYYY_MM')) IS NULL THEN
+                EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                    parent || to_char(month, '_YYYY_MM'), parent, month, month + interval '1 month');
+                created := created + 1;
+            END IF;
+        END LOOP;
+        month := month + interval '1 month';
+    END LOOP;
+    RETURN created;
+END $$;
+
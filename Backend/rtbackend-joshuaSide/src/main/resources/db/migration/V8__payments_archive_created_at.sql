@@ -0,0 +1,3 @@
+-- Payment exports filter archived payments by payment time, which is not the
+-- partition key, so each monthly partition needs its own index on it
+CREATE INDEX IF NOT EXISTS idx_payments_archive_created_at ON payments_archive (created_at);
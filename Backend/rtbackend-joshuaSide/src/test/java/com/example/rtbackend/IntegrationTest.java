@@ -0,0 +1,176 @@
+package com.example.rtbackend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+
+import com.example.rtbackend.domain.dto.PaymentView;
+import com.example.rtbackend.domain.entities.MenuItem;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.repo.RoleRepo;
+import com.example.rtbackend.repo.UserRepo;
+import com.example.rtbackend.services.AuthorizationService;
+import com.example.rtbackend.services.MenuItemService;
+import com.example.rtbackend.services.OrderService;
+import com.example.rtbackend.services.PaymentService;
+
+/**
+ * Runs the services, and the HTTP endpoints on a random port, against the test
+ * database. Every test class extends this one so they share one cached context:
+ * a second context would start a second outbox relay that takes events away
+ * from the first one's consumers.
+ *
+ * Users, menu items and orders made through these helpers are removed after
+ * each test, orders first since they reference the rest.
+ */
+// Streams left open by a test would otherwise hold up the graceful shutdown at the end of the run
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "server.shutdown=immediate")
+@Import({ TestcontainersConfiguration.class, RecordingOrderEventConsumer.class })
+@ExtendWith(TestcontainersConfiguration.DatabaseAvailable.class)
+public abstract class IntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    protected OrderService orderService;
+
+    @Autowired
+    protected PaymentService paymentService;
+
+    @Autowired
+    protected MenuItemService menuItemService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private RoleRepo roleRepo;
+
+    private final List<Long> orderIds = new CopyOnWriteArrayList<>();
+    private final List<Long> menuItemIds = new CopyOnWriteArrayList<>();
+    private final List<User> users = new CopyOnWriteArrayList<>();
+    private User manager;
+
+    @AfterEach
+    void removeFixtures() {
+        orderIds.forEach(orderId -> removeIfPresent(() -> orderService.deleteOrder(orderId)));
+        menuItemIds.forEach(menuItemId -> removeIfPresent(() -> menuItemService.deleteMenuItem(managerId(), menuItemId)));
+        userRepo.deleteAll(users);
+    }
+
+    // The test may have removed it already
+    private static void removeIfPresent(Runnable removal) {
+        try {
+            removal.run();
+        } catch (NoSuchElementException e) {
+            // Nothing left to remove
+        }
+    }
+
+    protected String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+
+    protected User user(String roleName) {
+        User user = new User(null, "test-" + roleName.toLowerCase() + "-" + UUID.randomUUID(), "Test " + roleName,
+            roleRepo.findByRoleName(roleName).orElseThrow(), null);
+        user = userRepo.save(user);
+        users.add(user);
+        return user;
+    }
+
+    // Menu edits are made as this manager, created on first use
+    protected Long managerId() {
+        if (manager == null) {
+            manager = user(AuthorizationService.MANAGER);
+        }
+        return manager.getUserId();
+    }
+
+    protected MenuItem menuItem(String name, String category, String description, int stock) {
+        MenuItem item = menuItemService.createMenuItem(managerId(),
+            new MenuItem(null, name, 10.0, description, category, null, stock));
+        menuItemIds.add(item.getMenuItemId());
+        return item;
+    }
+
+    protected Order order(User waiter, Map<Long, Integer> items) {
+        return placed(orderService.createOrder(waiter.getUserId(), items, null));
+    }
+
+    // Registers an order the test created itself, so it is removed afterwards
+    protected Order placed(Order order) {
+        placed(order.getOrderId());
+        return order;
+    }
+
+    protected Long placed(Long orderId) {
+        orderIds.add(orderId);
+        return orderId;
+    }
+
+    protected PaymentView pay(Order order, User cashier) {
+        return paymentService.processPayment(order.getOrderId(), "Cash", cashier.getUserId(), null);
+    }
+
+    protected static <T> List<Outcome<T>> race(int threads, Callable<T> call) throws Exception {
+        List<Callable<T>> calls = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            calls.add(call);
+        }
+        return race(calls);
+    }
+
+    // Starts every call at once and collects each result or the exception it threw
+    protected static <T> List<Outcome<T>> race(List<Callable<T>> calls) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(calls.size());
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> call : calls) {
+                futures.add(threads.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+
+            List<Outcome<T>> outcomes = new ArrayList<>();
+            for (Future<T> future : futures) {
+                try {
+                    outcomes.add(new Outcome<>(future.get(), null));
+                } catch (ExecutionException e) {
+                    outcomes.add(new Outcome<>(null, e.getCause()));
+                }
+            }
+            return outcomes;
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    protected static long succeeded(List<? extends Outcome<?>> outcomes) {
+        return outcomes.stream().filter(outcome -> outcome.error() == null).count();
+    }
+
+    protected record Outcome<T>(T value, Throwable error) {
+    }
+}
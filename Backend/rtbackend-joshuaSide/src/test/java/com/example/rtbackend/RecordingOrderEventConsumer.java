@@ -0,0 +1,43 @@
+package com.example.rtbackend;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.rtbackend.domain.events.OrderEvent;
+import com.example.rtbackend.services.OrderEventConsumer;
+
+/**
+ * Keeps every event the outbox relay delivers, per order, and fails on request
+ * so tests can watch redelivery.
+ */
+public class RecordingOrderEventConsumer implements OrderEventConsumer {
+
+    private final Map<Long, List<OrderEvent>> delivered = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> failures = new ConcurrentHashMap<>();
+
+    @Override
+    public String name() {
+        return "test-recorder";
+    }
+
+    @Override
+    public void accept(OrderEvent event) throws Exception {
+        AtomicInteger remaining = failures.get(event.orderId());
+        if (remaining != null && remaining.getAndDecrement() > 0) {
+            throw new IllegalStateException("Failing on purpose for order " + event.orderId());
+        }
+        delivered.computeIfAbsent(event.orderId(), orderId -> new CopyOnWriteArrayList<>()).add(event);
+    }
+
+    public List<OrderEvent> deliveredFor(Long orderId) {
+        return List.copyOf(delivered.getOrDefault(orderId, List.of()));
+    }
+
+    // The next times events of this order arrive, they are rejected
+    public void failNext(Long orderId, int times) {
+        failures.put(orderId, new AtomicInteger(times));
+    }
+}
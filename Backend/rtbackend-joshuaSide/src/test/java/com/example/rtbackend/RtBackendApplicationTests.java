@@ -1,10 +1,8 @@
 package com.example.rtbackend;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class RtBackendApplicationTests {
+class RtBackendApplicationTests extends IntegrationTest {
 
 	@Test
 	void contextLoads() {
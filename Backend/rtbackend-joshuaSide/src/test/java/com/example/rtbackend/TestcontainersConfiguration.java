@@ -0,0 +1,86 @@
+package com.example.rtbackend;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.test.context.DynamicPropertyRegistrar;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * The database for every test that starts the application. The tests migrate
+ * it with Flyway, write and delete rows and run an outbox relay, so they never
+ * use the datasource in application.properties:
+ *
+ *   -Dtest.datasource.url=...  a database set aside for tests (with
+ *                              test.datasource.username and .password)
+ *   otherwise                  a throwaway PostgreSQL container, when Docker is available
+ *
+ * With neither, {@link DatabaseAvailable} skips the test class.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+    static final String URL_PROPERTY = "test.datasource.url";
+
+    @Bean
+    @ServiceConnection
+    @Conditional(UseContainer.class)
+    PostgreSQLContainer postgresContainer() {
+        return new PostgreSQLContainer(DockerImageName.parse("postgres:16-alpine"));
+    }
+
+    @Bean
+    @Conditional(UseConfiguredDatabase.class)
+    DynamicPropertyRegistrar testDatasourceProperties() {
+        return registry -> {
+            registry.add("spring.datasource.url", () -> System.getProperty(URL_PROPERTY));
+            registry.add("spring.datasource.username", () -> System.getProperty("test.datasource.username", ""));
+            registry.add("spring.datasource.password", () -> System.getProperty("test.datasource.password", ""));
+        };
+    }
+
+    static boolean databaseConfigured() {
+        return System.getProperty(URL_PROPERTY) != null;
+    }
+
+    static boolean dockerAvailable() {
+        return DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    public static class DatabaseAvailable implements ExecutionCondition {
+
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            if (databaseConfigured() || dockerAvailable()) {
+                return ConditionEvaluationResult.enabled("Test database available");
+            }
+            return ConditionEvaluationResult.disabled(
+                "No Docker and no -D" + URL_PROPERTY + "; the application's own database is never used");
+        }
+    }
+
+    static class UseContainer implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return !databaseConfigured() && dockerAvailable();
+        }
+    }
+
+    static class UseConfiguredDatabase implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return databaseConfigured();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.rtbackend.bench;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.rtbackend.TestcontainersConfiguration;
+import com.example.rtbackend.domain.entities.MenuItem;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.repo.MenuItemRepo;
+import com.example.rtbackend.repo.OrderItemRepo;
+import com.example.rtbackend.repo.OrderRepo;
+import com.example.rtbackend.repo.PaymentRepo;
+import com.example.rtbackend.repo.RoleRepo;
+import com.example.rtbackend.repo.UserRepo;
+import com.example.rtbackend.services.OrderIngestion;
+import com.example.rtbackend.services.OrderService;
+import com.example.rtbackend.services.StockLedger;
+import com.example.rtbackend.services.impl.BatchedOrderIngestion;
+import com.example.rtbackend.services.impl.DirectOrderIngestion;
+
+/**
+ * Peak-hour order intake: many concurrent waiters posting orders, one transaction
+ * each versus group commit, with and without a share of orders rejected for stock.
+ * Needs a test database (see TestcontainersConfiguration); results are in docs/benchmarks/order-ingestion.md.
+ *
+ *   mvn test -Dtest=OrderIngestionBenchmark -Dbench=true
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+@Import(TestcontainersConfiguration.class)
+@ExtendWith(TestcontainersConfiguration.DatabaseAvailable.class)
+class OrderIngestionBenchmark {
+
+    private static final int CLIENTS = 64;
+    private static final int LINES_PER_ORDER = 3;
+    private static final int WARMUP_ORDERS = 2000;
+    private static final int MEASURED_ORDERS = 5000;
+    // In the mixed runs, every REJECT_EVERY-th order asks for an item that is out of stock
+    private static final int REJECT_EVERY = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private MenuItemRepo menuItemRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private RoleRepo roleRepo;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private OrderItemRepo orderItemRepo;
+
+    @Autowired
+    private PaymentRepo paymentRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> menuItemIds = new ArrayList<>();
+    private Long soldOutId;
+    private final List<Long> orderIds = Collections.synchronizedList(new ArrayList<>());
+    private User waiter;
+
+    @BeforeEach
+    void createFixtures() {
+        User user = new User(null, "bench-waiter", "Bench Waiter",
+            roleRepo.findByRoleName("WAITER").orElseThrow(), null);
+        waiter = userRepo.save(user);
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            MenuItem item = menuItemRepo.save(
+                new MenuItem(null, "bench-item-" + i, 100.0, "benchmark", "Bench", null, 1_000_000));
+            stockLedger.track(item);
+            menuItemIds.add(item.getMenuItemId());
+        }
+        MenuItem soldOut = menuItemRepo.save(new MenuItem(null, "bench-sold-out", 100.0, "benchmark", "Bench", null, 0));
+        stockLedger.track(soldOut);
+        soldOutId = soldOut.getMenuItemId();
+    }
+
+    @AfterEach
+    void deleteFixtures() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            paymentRepo.deleteByOrderIds(orderIds);
+            orderItemRepo.deleteByOrderIds(orderIds);
+            orderRepo.deleteByOrderIds(orderIds);
+        });
+        menuItemIds.forEach(stockLedger::forget);
+        stockLedger.forget(soldOutId);
+        menuItemRepo.deleteAllById(menuItemIds);
+        menuItemRepo.deleteById(soldOutId);
+        userRepo.delete(waiter);
+    }
+
+    // The first round only warms up: on a small host the JIT and the pool otherwise favour whichever
+    // configuration happens to run last
+    @Test
+    void compareIngestionModes() throws Exception {
+        DirectOrderIngestion direct = new DirectOrderIngestion(orderService);
+        BatchedOrderIngestion batched = new BatchedOrderIngestion(orderService, 32, 5, 1024, 10_000);
+        batched.start();
+        try {
+            for (boolean measured : new boolean[] { false, true }) {
+                report("direct", direct, 0, measured);
+                report("direct, 5% rejected", direct, REJECT_EVERY, measured);
+                report("batched (32 / 5 ms)", batched, 0, measured);
+                report("batched, 5% rejected", batched, REJECT_EVERY, measured);
+            }
+        } finally {
+            batched.shutdown();
+        }
+    }
+
+    private void report(String label, OrderIngestion ingestion, int rejectEvery, boolean measured) throws Exception {
+        int orders = measured ? MEASURED_ORDERS : WARMUP_ORDERS;
+        long start = System.nanoTime();
+        long[] latencies = run(ingestion, orders, rejectEvery);
+        long elapsedNanos = System.nanoTime() - start;
+        if (!measured) {
+            return;
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%-22s %8.1f orders/s  p50 %6.2f ms  p99 %6.2f ms%n",
+            label,
+            orders / (elapsedNanos / 1e9),
+            latencies[orders / 2] / 1e6,
+            latencies[(int) (orders * 0.99)] / 1e6);
+    }
+
+    private long[] run(OrderIngestion ingestion, int orders, int rejectEvery) throws Exception {
+        Map<Long, Integer> items = new HashMap<>();
+        menuItemIds.forEach(id -> items.put(id, 1));
+        Map<Long, Integer> rejectedItems = new HashMap<>(items);
+        rejectedItems.put(soldOutId, 1);
+
+        long[] latencies = new long[orders];
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> calls = new ArrayList<>(orders);
+            for (int i = 0; i < orders; i++) {
+                int slot = i;
+                boolean reject = rejectEvery > 0 && i % rejectEvery == 0;
+                calls.add(clients.submit(() -> {
+                    long start = System.nanoTime();
+                    if (reject) {
+                        assertThrows(IllegalStateException.class,
+                            () -> ingestion.createOrder(waiter.getUserId(), rejectedItems, null));
+                    } else {
+                        orderIds.add(ingestion.createOrder(waiter.getUserId(), items, null).getOrderId());
+                    }
+                    latencies[slot] = System.nanoTime() - start;
+                }));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+        return latencies;
+    }
+}
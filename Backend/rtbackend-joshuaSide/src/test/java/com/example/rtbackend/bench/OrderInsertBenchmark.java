@@ -0,0 +1,196 @@
+package com.example.rtbackend.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.rtbackend.TestcontainersConfiguration;
+import com.example.rtbackend.domain.entities.MenuItem;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.OrderItem;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.repo.MenuItemRepo;
+import com.example.rtbackend.repo.OrderItemRepo;
+import com.example.rtbackend.repo.OrderRepo;
+import com.example.rtbackend.repo.PaymentRepo;
+import com.example.rtbackend.repo.RoleRepo;
+import com.example.rtbackend.repo.UserRepo;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Compares writing an order the IDENTITY way (order first to get its id, then one
+ * INSERT per line) with the pooled-sequence path where the order and all its lines
+ * go out in one batched flush. Each order is its own transaction. Needs a test
+ * database (see TestcontainersConfiguration); results and method are in docs/benchmarks/order-inserts.md.
+ *
+ *   mvn test -Dtest=OrderInsertBenchmark -Dbench=true
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.session.events.auto=com.example.rtbackend.bench.RoundTripCounter"
+})
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+@Import(TestcontainersConfiguration.class)
+@ExtendWith(TestcontainersConfiguration.DatabaseAvailable.class)
+class OrderInsertBenchmark {
+
+    private static final int LINES_PER_ORDER = 6;
+    private static final int WARMUP_ORDERS = 200;
+    private static final int MEASURED_ORDERS = 2000;
+
+    @Autowired
+    private MenuItemRepo menuItemRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private RoleRepo roleRepo;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private OrderItemRepo orderItemRepo;
+
+    @Autowired
+    private PaymentRepo paymentRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> menuItemIds = new ArrayList<>();
+    private final List<Long> orderIds = new ArrayList<>();
+    private User waiter;
+
+    @BeforeEach
+    void createFixtures() {
+        User user = new User(null, "bench-waiter", "Bench Waiter",
+            roleRepo.findByRoleName("WAITER").orElseThrow(), null);
+        waiter = userRepo.save(user);
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            MenuItem item = new MenuItem(null, "bench-item-" + i, 100.0, "benchmark", "Bench", null, 1_000_000);
+            menuItemIds.add(menuItemRepo.save(item).getMenuItemId());
+        }
+    }
+
+    @AfterEach
+    void deleteFixtures() {
+        transactionTemplate.executeWithoutResult(status -> {
+            paymentRepo.deleteByOrderIds(orderIds);
+            orderItemRepo.deleteByOrderIds(orderIds);
+            orderRepo.deleteByOrderIds(orderIds);
+        });
+        menuItemRepo.deleteAllById(menuItemIds);
+        userRepo.delete(waiter);
+    }
+
+    @Test
+    void compareInsertPaths() {
+        // What IDENTITY forced: the order row is written to learn its id, then each line on its own
+        Consumer<Order> rowAtATime = order -> {
+            List<OrderItem> items = order.getItems();
+            order.setItems(new ArrayList<>());
+            entityManager.persist(order);
+            entityManager.flush();
+            for (OrderItem item : items) {
+                entityManager.persist(item);
+                entityManager.flush();
+            }
+        };
+        Consumer<Order> batched = order -> {
+            entityManager.persist(order);
+            entityManager.flush();
+        };
+
+        for (int i = 0; i < WARMUP_ORDERS; i++) {
+            insert(rowAtATime);
+            insert(batched);
+        }
+
+        // Alternating order by order, so drift on a shared host (caches, vacuum, JIT) hits both paths alike
+        long[] rowLatencies = new long[MEASURED_ORDERS];
+        long[] batchedLatencies = new long[MEASURED_ORDERS];
+        long rowTrips = 0;
+        long batchedTrips = 0;
+        for (int i = 0; i < MEASURED_ORDERS; i++) {
+            RoundTripCounter.reset();
+            rowLatencies[i] = timed(rowAtATime);
+            rowTrips += RoundTripCounter.executions();
+
+            RoundTripCounter.reset();
+            batchedLatencies[i] = timed(batched);
+            batchedTrips += RoundTripCounter.executions();
+        }
+
+        report("row-at-a-time flush", rowLatencies, rowTrips);
+        report("single batched flush", batchedLatencies, batchedTrips);
+    }
+
+    private long timed(Consumer<Order> insertPath) {
+        long start = System.nanoTime();
+        insert(insertPath);
+        return System.nanoTime() - start;
+    }
+
+    // Single-threaded, so throughput is orders over the summed latency. Round trips exclude the commit.
+    private void report(String label, long[] latencies, long roundTrips) {
+        long totalNanos = Arrays.stream(latencies).sum();
+        Arrays.sort(latencies);
+        System.out.printf("%-22s %8.1f orders/s  p50 %6.3f ms  p99 %6.3f ms  %5.2f round trips/order%n",
+            label,
+            latencies.length / (totalNanos / 1e9),
+            latencies[latencies.length / 2] / 1e6,
+            latencies[(int) (latencies.length * 0.99)] / 1e6,
+            (double) roundTrips / latencies.length);
+    }
+
+    private void insert(Consumer<Order> insertPath) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = newOrder();
+            insertPath.accept(order);
+            orderIds.add(order.getOrderId());
+        });
+    }
+
+    private Order newOrder() {
+        Order order = new Order();
+        order.setUser(waiter);
+        order.setDate(LocalDateTime.now());
+        order.setStatus(OrderStatus.PENDING);
+
+        List<OrderItem> items = new ArrayList<>();
+        double total = 0.0;
+        // Loaded the way createOrder loads them; proxies would each be initialized by OrderItem.hashCode at flush
+        for (MenuItem menuItem : menuItemRepo.findAllById(menuItemIds)) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setMenuItem(menuItem);
+            item.setQuantity(1);
+            item.setItemPrice(100.0);
+            item.setSubtotal(100.0);
+            items.add(item);
+            total += item.getSubtotal();
+        }
+        order.setItems(items);
+        order.setTotal(total);
+        return order;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.rtbackend.bench;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts statements Hibernate sends to the database, with a JDBC batch counted once.
+ * Statistics.getPrepareStatementCount() counts every row added to a batch, which hides
+ * what batching saves. Registered by the benchmarks through hibernate.session.events.auto.
+ */
+public class RoundTripCounter implements SessionEventListener {
+
+    private static final AtomicLong EXECUTIONS = new AtomicLong();
+
+    public static void reset() {
+        EXECUTIONS.set(0);
+    }
+
+    public static long executions() {
+        return EXECUTIONS.get();
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        EXECUTIONS.incrementAndGet();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        EXECUTIONS.incrementAndGet();
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.rtbackend.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.rtbackend.TestcontainersConfiguration;
+import com.example.rtbackend.domain.entities.MenuItem;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.repo.MenuItemRepo;
+import com.example.rtbackend.repo.OrderItemRepo;
+import com.example.rtbackend.repo.OrderRepo;
+import com.example.rtbackend.repo.PaymentRepo;
+import com.example.rtbackend.repo.RoleRepo;
+import com.example.rtbackend.repo.UserRepo;
+import com.example.rtbackend.services.OrderService;
+import com.example.rtbackend.services.StockLedger;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Platform versus virtual request threads on the menu, order and payment
+ * endpoints, over real HTTP against the embedded Tomcat. Run once per mode
+ * against the test database (see TestcontainersConfiguration) and compare the two tables:
+ *
+ *   mvn test -Dtest=ServingModeBenchmark -Dbench=true -Dspring.threads.virtual.enabled=false
+ *   mvn test -Dtest=ServingModeBenchmark -Dbench=true -Dspring.threads.virtual.enabled=true
+ *
+ * Client concurrency is above Tomcat's 200 platform threads on purpose. The
+ * "pool wait" column is the most threads seen queueing for a JDBC connection;
+ * when it is high, the connection pool rather than the thread model is the limit.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+@Import(TestcontainersConfiguration.class)
+@ExtendWith(TestcontainersConfiguration.DatabaseAvailable.class)
+class ServingModeBenchmark {
+
+    private static final int CONCURRENCY = 400;
+    private static final int WARMUP_REQUESTS = 1000;
+    private static final int MEASURED_REQUESTS = 4000;
+    private static final int MENU_ITEMS = 20;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private MenuItemRepo menuItemRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private RoleRepo roleRepo;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private OrderItemRepo orderItemRepo;
+
+    @Autowired
+    private PaymentRepo paymentRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+    private final List<Long> menuItemIds = new ArrayList<>();
+    private User waiter;
+    private User cashier;
+    private long firstOrderId;
+
+    @BeforeEach
+    void createFixtures() {
+        firstOrderId = orderRepo.findMaxOrderId().orElse(0L);
+        waiter = userRepo.save(new User(null, "bench-waiter", "Bench Waiter",
+            roleRepo.findByRoleName("WAITER").orElseThrow(), null));
+        cashier = userRepo.save(new User(null, "bench-cashier", "Bench Cashier",
+            roleRepo.findByRoleName("CASHIER").orElseThrow(), null));
+        for (int i = 0; i < MENU_ITEMS; i++) {
+            MenuItem item = menuItemRepo.save(
+                new MenuItem(null, "bench-item-" + i, 100.0, "benchmark", "Bench", null, 1_000_000));
+            stockLedger.track(item);
+            menuItemIds.add(item.getMenuItemId());
+        }
+    }
+
+    @AfterEach
+    void deleteFixtures() {
+        List<Long> orderIds = orderRepo.findIdsInRange(firstOrderId, Long.MAX_VALUE, Limit.unlimited());
+        transactionTemplate.executeWithoutResult(status -> {
+            paymentRepo.deleteByOrderIds(orderIds);
+            orderItemRepo.deleteByOrderIds(orderIds);
+            orderRepo.deleteByOrderIds(orderIds);
+        });
+        menuItemIds.forEach(stockLedger::forget);
+        menuItemRepo.deleteAllById(menuItemIds);
+        userRepo.deleteAll(List.of(waiter, cashier));
+    }
+
+    @Test
+    void compareServingModes() throws Exception {
+        String orderBody = "{\"waiterId\":" + waiter.getUserId() + ",\"items\":{\""
+            + menuItemIds.get(0) + "\":1,\"" + menuItemIds.get(1) + "\":2}}";
+
+        System.out.printf("%s threads, %d concurrent clients, maximum-pool-size=%d%n",
+            virtualThreads ? "virtual" : "platform", CONCURRENCY, dataSource.getMaximumPoolSize());
+
+        report("GET /menu", i -> get("/menu"));
+        report("GET /api/orders", i -> get("/api/orders?limit=20"));
+        report("POST /api/orders", i -> post("/api/orders", orderBody));
+
+        // One unpaid order per payment request
+        List<Long> unpaid = new ArrayList<>();
+        for (int i = 0; i < WARMUP_REQUESTS + MEASURED_REQUESTS; i++) {
+            unpaid.add(orderService.createOrder(waiter.getUserId(), Map.of(menuItemIds.get(2), 1), null).getOrderId());
+        }
+        AtomicInteger next = new AtomicInteger();
+        report("POST /api/payments", i -> post("/api/payments", "{\"orderId\":" + unpaid.get(next.getAndIncrement())
+            + ",\"paymentMethod\":\"Cash\",\"cashierId\":" + cashier.getUserId() + "}"));
+    }
+
+    private void report(String label, IntFunction<HttpRequest> request) throws Exception {
+        run(request, WARMUP_REQUESTS);
+
+        PoolWatcher watcher = new PoolWatcher();
+        Thread.ofPlatform().daemon().start(watcher);
+        long start = System.nanoTime();
+        long[] latencies = run(request, MEASURED_REQUESTS);
+        long elapsedNanos = System.nanoTime() - start;
+        watcher.running = false;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-20s %8.1f req/s  p50 %7.2f ms  p99 %7.2f ms  pool wait %3d%n",
+            label,
+            MEASURED_REQUESTS / (elapsedNanos / 1e9),
+            latencies[latencies.length / 2] / 1e6,
+            latencies[(int) (latencies.length * 0.99)] / 1e6,
+            watcher.peakWaiting);
+    }
+
+    private long[] run(IntFunction<HttpRequest> request, int count) throws Exception {
+        long[] latencies = new long[count];
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> calls = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int slot = i;
+                inFlight.acquire();
+                calls.add(clients.submit(() -> {
+                    try {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request.apply(slot), HttpResponse.BodyHandlers.discarding());
+                        latencies[slot] = System.nanoTime() - start;
+                        if (response.statusCode() >= 300) {
+                            throw new IllegalStateException("HTTP " + response.statusCode());
+                        }
+                        return null;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        }
+        return latencies;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json))
+            .build();
+    }
+
+    private final class PoolWatcher implements Runnable {
+        private volatile boolean running = true;
+        private volatile int peakWaiting;
+
+        @Override
+        public void run() {
+            while (running) {
+                peakWaiting = Math.max(peakWaiting, dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection());
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
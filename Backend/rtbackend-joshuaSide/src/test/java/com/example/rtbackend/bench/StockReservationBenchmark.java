@@ -0,0 +1,117 @@
+package com.example.rtbackend.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.rtbackend.TestcontainersConfiguration;
+import com.example.rtbackend.domain.entities.MenuItem;
+import com.example.rtbackend.repo.MenuItemRepo;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compares the old per-line stock deduction (findById + save per item) with the
+ * single conditional update used by createOrder. Needs a test database (see TestcontainersConfiguration):
+ *
+ *   mvn test -Dtest=StockReservationBenchmark -Dbench=true
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@EnabledIfSystemProperty(named = "bench", matches = "true")
+@Import(TestcontainersConfiguration.class)
+@ExtendWith(TestcontainersConfiguration.DatabaseAvailable.class)
+class StockReservationBenchmark {
+
+    private static final int LINES_PER_ORDER = 6;
+    private static final int WARMUP_ORDERS = 200;
+    private static final int MEASURED_ORDERS = 2000;
+
+    @Autowired
+    private MenuItemRepo menuItemRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> menuItemIds = new ArrayList<>();
+
+    @BeforeEach
+    void createMenuItems() {
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            MenuItem item = new MenuItem(null, "bench-item-" + i, 100.0, "benchmark", "Bench", null, 1_000_000);
+            menuItemIds.add(menuItemRepo.save(item).getMenuItemId());
+        }
+    }
+
+    @AfterEach
+    void deleteMenuItems() {
+        menuItemRepo.deleteAllById(menuItemIds);
+    }
+
+    @Test
+    void compareReservationPaths() {
+        Long[] ids = menuItemIds.toArray(new Long[0]);
+        Integer[] quantities = new Integer[ids.length];
+        Arrays.fill(quantities, 1);
+
+        Runnable perLine = () -> transactionTemplate.executeWithoutResult(status -> {
+            for (Long id : ids) {
+                MenuItem item = menuItemRepo.findById(id).orElseThrow(NoSuchElementException::new);
+                if (item.getStockQuantity() < 1) {
+                    throw new IllegalStateException("Insufficient stock");
+                }
+                item.setStockQuantity(item.getStockQuantity() - 1);
+                menuItemRepo.save(item);
+            }
+        });
+
+        Runnable setBased = () -> transactionTemplate.executeWithoutResult(status -> {
+            if (menuItemRepo.reserveStock(ids, quantities).size() != ids.length) {
+                throw new IllegalStateException("Insufficient stock");
+            }
+            menuItemRepo.findAllById(menuItemIds);
+        });
+
+        report("per-line findById/save", perLine);
+        report("set-based reserveStock", setBased);
+    }
+
+    private void report(String label, Runnable orderPath) {
+        for (int i = 0; i < WARMUP_ORDERS; i++) {
+            orderPath.run();
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ORDERS; i++) {
+            orderPath.run();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        System.out.printf("%-26s %8.1f orders/s  %6.3f ms/order  %5.1f statements/order%n",
+            label,
+            MEASURED_ORDERS / (elapsedNanos / 1e9),
+            elapsedNanos / 1e6 / MEASURED_ORDERS,
+            (double) statistics.getPrepareStatementCount() / MEASURED_ORDERS);
+    }
+}
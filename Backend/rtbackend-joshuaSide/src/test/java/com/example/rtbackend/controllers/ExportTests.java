@@ -0,0 +1,101 @@
+package com.example.rtbackend.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.services.AuthorizationService;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * GET /api/orders/export and /api/payments/export: every matching row in id
+ * order, as one NDJSON object per order or payment, or one CSV row per order
+ * line or payment under a header row.
+ */
+class ExportTests extends IntegrationTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Test
+    void ordersAsNdjson() throws Exception {
+        User waiter = user(AuthorizationService.WAITER);
+        Long soup = menuItem("Export Soup", "Export", "", 10).getMenuItemId();
+        Long bread = menuItem("Export Bread", "Export", "", 10).getMenuItemId();
+        Order first = order(waiter, Map.of(soup, 2, bread, 1));
+        Order second = order(waiter, Map.of(bread, 3));
+
+        HttpResponse<String> response = get("/api/orders/export?waiterId=" + waiter.getUserId());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElseThrow().startsWith("application/x-ndjson"));
+        List<JsonNode> orders = response.body().lines().map(jsonMapper::readTree).toList();
+        assertEquals(2, orders.size());
+        assertEquals(first.getOrderId(), orders.get(0).get("orderId").asLong());
+        assertEquals(2, orders.get(0).get("items").size());
+        assertEquals(30.0, orders.get(0).get("total").asDouble());
+        assertEquals(second.getOrderId(), orders.get(1).get("orderId").asLong());
+        assertEquals("Export Bread", orders.get(1).get("items").get(0).get("menuItem").get("name").asString());
+    }
+
+    @Test
+    void ordersAsCsvRowPerLine() throws Exception {
+        User waiter = user(AuthorizationService.WAITER);
+        Long soup = menuItem("Soup, \"House\"", "Export", "", 10).getMenuItemId();
+        Long bread = menuItem("Export Bread", "Export", "", 10).getMenuItemId();
+        Order order = order(waiter, Map.of(soup, 1, bread, 2));
+
+        HttpResponse<String> response = get("/api/orders/export?format=csv&waiterId=" + waiter.getUserId());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Disposition").orElseThrow().contains("orders.csv"));
+        List<String> rows = response.body().lines().toList();
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).startsWith("order_id,date,status,total,waiter_id"), rows.get(0));
+        assertTrue(rows.stream().skip(1).allMatch(row -> row.startsWith(order.getOrderId() + ",")), rows.toString());
+        assertTrue(rows.stream().anyMatch(row -> row.contains(",\"Soup, \"\"House\"\"\",")), rows.toString());
+    }
+
+    @Test
+    void paymentsByCashier() throws Exception {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Long dish = menuItem("Export Paid", "Export", "", 10).getMenuItemId();
+        Order first = order(waiter, Map.of(dish, 1));
+        Order second = order(waiter, Map.of(dish, 2));
+        order(waiter, Map.of(dish, 3));
+        pay(first, cashier);
+        pay(second, cashier);
+
+        List<JsonNode> payments = get("/api/payments/export?cashierId=" + cashier.getUserId()).body().lines()
+            .map(jsonMapper::readTree).toList();
+        assertEquals(List.of(first.getOrderId(), second.getOrderId()),
+            payments.stream().map(payment -> payment.get("order").get("orderId").asLong()).toList());
+        assertEquals(20.0, payments.get(1).get("amount").asDouble());
+
+        List<String> rows = get("/api/payments/export?format=csv&cashierId=" + cashier.getUserId()).body()
+            .lines().toList();
+        assertEquals(3, rows.size());
+        assertTrue(rows.get(0).startsWith("payment_id,amount,payment_status"), rows.get(0));
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url(path))).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.rtbackend.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.OrderView;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.services.AuthorizationService;
+import com.example.rtbackend.services.IdempotencyService;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * POST /api/orders answers with the order read model, the same shape the
+ * list endpoints return, for a new order and for a replayed Idempotency-Key;
+ * the list by status is paged like /api/orders.
+ */
+class OrderControllerTests extends IntegrationTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Test
+    void createdOrderIsReturnedAsItsView() throws Exception {
+        User waiter = user(AuthorizationService.WAITER);
+        Long dish = menuItem("Created Dish", "Create", "", 10).getMenuItemId();
+        String key = UUID.randomUUID().toString();
+        String body = jsonMapper.writeValueAsString(
+            Map.of("waiterId", waiter.getUserId(), "items", Map.of(String.valueOf(dish), 2)));
+
+        HttpResponse<String> created = post(body, key);
+        JsonNode order = jsonMapper.readTree(created.body());
+        placed(order.get("orderId").asLong());
+
+        assertEquals(201, created.statusCode());
+        assertEquals(Set.of("orderId", "date", "status", "total", "user", "items"), fields(order));
+        assertEquals(Set.of("userId", "name"), fields(order.get("user")));
+        assertEquals(waiter.getUserId(), order.get("user").get("userId").asLong());
+        assertEquals(20.0, order.get("total").asDouble());
+        JsonNode line = order.get("items").get(0);
+        assertEquals(2, line.get("quantity").asInt());
+        assertEquals(Set.of("menuItemId", "name", "price"), fields(line.get("menuItem")));
+        assertEquals("Created Dish", line.get("menuItem").get("name").asString());
+
+        HttpResponse<String> replayed = post(body, key);
+        assertEquals(201, replayed.statusCode());
+        assertEquals("true", replayed.headers().firstValue(IdempotencyService.REPLAYED_HEADER).orElseThrow());
+        assertEquals(order, jsonMapper.readTree(replayed.body()));
+    }
+
+    @Test
+    void orderReplayedFromItsStoredKeyHasTheSameView() {
+        User waiter = user(AuthorizationService.WAITER);
+        Map<Long, Integer> items = Map.of(menuItem("Stored Dish", "Create", "", 10).getMenuItemId(), 1);
+        String key = UUID.randomUUID().toString();
+
+        OrderView first = OrderView.from(placed(orderService.createOrder(waiter.getUserId(), items, key)));
+        // Outside any transaction, so the replayed order must arrive with its lines and dishes loaded
+        OrderView replayed = OrderView.from(orderService.createOrder(waiter.getUserId(), items, key));
+
+        assertEquals(first.orderId(), replayed.orderId());
+        assertEquals(first.user(), replayed.user());
+        assertEquals(first.items(), replayed.items());
+    }
+
+    // The status list is the same keyset page as /api/orders, newest first, with the cursor in a header
+    @Test
+    void ordersByStatusArePaged() throws Exception {
+        User waiter = user(AuthorizationService.WAITER);
+        Long dish = menuItem("Paged Dish", "Create", "", 10).getMenuItemId();
+        Order older = order(waiter, Map.of(dish, 1));
+        Order newer = order(waiter, Map.of(dish, 1));
+
+        HttpResponse<String> first = get("/api/orders/status?status=Pending&limit=1");
+        String cursor = first.headers().firstValue(CursorPage.NEXT_CURSOR_HEADER).orElseThrow();
+        HttpResponse<String> second = get("/api/orders/status?status=Pending&limit=1&cursor=" + cursor);
+
+        assertEquals(newer.getOrderId(), jsonMapper.readTree(first.body()).get(0).get("orderId").asLong());
+        assertEquals(older.getOrderId(), jsonMapper.readTree(second.body()).get(0).get("orderId").asLong());
+        assertEquals(400, get("/api/orders/status?status=Lost").statusCode());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url(path))).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String body, String key) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url("/api/orders")))
+            .header("Content-Type", "application/json")
+            .header(IdempotencyService.KEY_HEADER, key)
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Set<String> fields(JsonNode node) {
+        return Set.copyOf(node.propertyNames());
+    }
+}
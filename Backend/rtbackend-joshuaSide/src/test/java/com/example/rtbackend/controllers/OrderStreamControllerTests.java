@@ -0,0 +1,200 @@
+package com.example.rtbackend.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.events.OrderEvent;
+import com.example.rtbackend.services.AuthorizationService;
+
+/**
+ * GET /api/orders/stream over HTTP: committed changes arrive as named events
+ * with increasing ids, the status filter applies, and a reconnect with
+ * Last-Event-ID gets the events it missed, or a resync when they are gone.
+ */
+class OrderStreamControllerTests extends IntegrationTest {
+
+    private static final long WAIT_SECONDS = 10;
+
+    @Test
+    void committedChangesAreStreamed() throws Exception {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Long dish = menuItem("Stream Dish", "Stream", "", 5).getMenuItemId();
+
+        try (EventStream stream = open("/api/orders/stream", null)) {
+            Order order = order(waiter, Map.of(dish, 1));
+            pay(order, cashier);
+
+            Event created = stream.next(order);
+            Event paid = stream.next(order);
+            assertEquals(OrderEvent.ORDER_CREATED, created.name());
+            assertTrue(created.data().contains("\"status\":\"Pending\""), created.data());
+            assertEquals(OrderEvent.STATUS_CHANGED, paid.name());
+            assertTrue(paid.data().contains("\"status\":\"Preparing\""), paid.data());
+            assertTrue(paid.id() > created.id());
+        }
+    }
+
+    @Test
+    void statusFilterKeepsOtherOrdersOut() throws Exception {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Long dish = menuItem("Stream Filtered", "Stream", "", 5).getMenuItemId();
+
+        try (EventStream stream = open("/api/orders/stream?status=Preparing", null)) {
+            Order unpaid = order(waiter, Map.of(dish, 1));
+            Order paid = order(waiter, Map.of(dish, 1));
+            pay(paid, cashier);
+
+            Event event = stream.next(paid);
+            assertEquals(OrderEvent.STATUS_CHANGED, event.name());
+            assertTrue(stream.received(unpaid).isEmpty());
+        }
+    }
+
+    @Test
+    void reconnectReplaysMissedEvents() throws Exception {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Long dish = menuItem("Stream Resume", "Stream", "", 5).getMenuItemId();
+
+        Order first = order(waiter, Map.of(dish, 1));
+        long lastSeen;
+        try (EventStream stream = open("/api/orders/stream", null)) {
+            pay(first, cashier);
+            lastSeen = stream.next(first).id();
+        }
+
+        Order second = order(waiter, Map.of(dish, 1));
+        pay(second, cashier);
+
+        try (EventStream stream = open("/api/orders/stream", lastSeen)) {
+            Event created = stream.next(second);
+            Event paid = stream.next(second);
+            assertEquals(OrderEvent.ORDER_CREATED, created.name());
+            assertEquals(OrderEvent.STATUS_CHANGED, paid.name());
+            assertTrue(created.id() > lastSeen);
+            assertTrue(stream.received(first).isEmpty());
+        }
+    }
+
+    @Test
+    void unknownLastEventIdAsksForResync() throws Exception {
+        try (EventStream stream = open("/api/orders/stream", Long.MAX_VALUE / 2)) {
+            Event event = stream.next();
+            assertEquals("resync", event.name());
+        }
+    }
+
+    private EventStream open(String path, Long lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url(path)))
+            .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", String.valueOf(lastEventId));
+        }
+        // A client per stream, so closing it drops the connection instead of waiting for the next heartbeat
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        return new EventStream(client, response.body());
+    }
+
+    private record Event(long id, String name, String data) {
+
+        boolean isFor(Order order) {
+            return data.contains("\"orderId\":" + order.getOrderId() + ",");
+        }
+    }
+
+    // Parses the stream on its own thread; heartbeats and other tests' orders are left in the queue
+    private static final class EventStream implements AutoCloseable {
+
+        private final HttpClient client;
+        private final InputStream body;
+        private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        private final List<Event> skipped = new ArrayList<>();
+
+        EventStream(HttpClient client, InputStream body) {
+            this.client = client;
+            this.body = body;
+            Thread.ofVirtual().start(this::read);
+        }
+
+        Event next() throws InterruptedException {
+            Event event = events.poll(WAIT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(event, "Timed out waiting for an event");
+            return event;
+        }
+
+        Event next(Order order) throws InterruptedException {
+            while (true) {
+                Event event = next();
+                if (event.isFor(order)) {
+                    return event;
+                }
+                skipped.add(event);
+            }
+        }
+
+        // Events for the order seen so far, after giving late ones a moment to arrive
+        List<Event> received(Order order) throws InterruptedException {
+            Thread.sleep(500);
+            events.drainTo(skipped);
+            return skipped.stream().filter(event -> event.isFor(order)).toList();
+        }
+
+        private void read() {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                Long id = null;
+                String name = null;
+                StringBuilder data = new StringBuilder();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        if (id != null) {
+                            events.add(new Event(id, name, data.toString()));
+                        }
+                        id = null;
+                        name = null;
+                        data.setLength(0);
+                    } else if (line.startsWith("id:")) {
+                        id = Long.parseLong(line.substring(3).trim());
+                    } else if (line.startsWith("event:")) {
+                        name = line.substring(6).trim();
+                    } else if (line.startsWith("data:")) {
+                        data.append(line.substring(5));
+                    }
+                }
+            } catch (IOException e) {
+                // Closed by the test
+            }
+        }
+
+        @Override
+        public void close() {
+            client.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.rtbackend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.dto.PaymentView;
+import com.example.rtbackend.domain.entities.MenuItem;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.enums.OrderStatus;
+
+/**
+ * Checkout is one guarded statement: an order is charged once, for its total,
+ * however many cashiers try at the same time.
+ */
+class CheckoutTests extends IntegrationTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void concurrentCheckoutsChargeOnce() throws Exception {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        MenuItem dish = menuItem("Checkout Dish", "Checkout", "", 10);
+        Order order = order(waiter, Map.of(dish.getMenuItemId(), 2));
+
+        List<Outcome<PaymentView>> outcomes = race(THREADS, () -> pay(order, cashier));
+
+        assertEquals(1, succeeded(outcomes));
+        outcomes.stream().filter(outcome -> outcome.error() != null).forEach(outcome -> {
+            assertEquals(IllegalStateException.class, outcome.error().getClass());
+            assertEquals("Order is already paid", outcome.error().getMessage());
+        });
+        assertEquals(20.0, paymentService.getPaymentByOrderId(order.getOrderId()).amount());
+        assertEquals(OrderStatus.PREPARING, orderService.getOrderById(order.getOrderId()).status());
+    }
+}
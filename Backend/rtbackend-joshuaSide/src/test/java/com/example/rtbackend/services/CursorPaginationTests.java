@@ -0,0 +1,109 @@
+package com.example.rtbackend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.dto.CursorPage;
+import com.example.rtbackend.domain.dto.OrderFilter;
+import com.example.rtbackend.domain.dto.OrderView;
+import com.example.rtbackend.domain.dto.PaymentFilter;
+import com.example.rtbackend.domain.dto.PaymentView;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.enums.PaymentStatus;
+
+/**
+ * Keyset paging of the order and payment lists: newest first, each row on
+ * exactly one page, and no cursor after the last page. The filters keep the
+ * pages to this test's rows.
+ */
+class CursorPaginationTests extends IntegrationTest {
+
+    private User waiter;
+    private User cashier;
+    private final List<Order> orders = new ArrayList<>();
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void createOrders() {
+        waiter = user(AuthorizationService.WAITER);
+        cashier = user(AuthorizationService.CASHIER);
+        Long dish = menuItem("Paged Dish", "Paging", "", 100).getMenuItemId();
+        for (int i = 0; i < 5; i++) {
+            Order order = order(waiter, Map.of(dish, 1));
+            orders.add(order);
+            orderIds.add(order.getOrderId());
+        }
+    }
+
+    @Test
+    void ordersArePagedNewestFirst() {
+        OrderFilter filter = new OrderFilter(null, null, null, waiter.getUserId());
+
+        List<List<Long>> pages = new ArrayList<>();
+        Long cursor = null;
+        do {
+            CursorPage<OrderView> page = orderService.getOrders(filter, cursor, 2);
+            pages.add(page.items().stream().map(OrderView::orderId).toList());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        List<Long> newestFirst = orderIds.stream().sorted(Comparator.reverseOrder()).toList();
+        assertEquals(List.of(newestFirst.subList(0, 2), newestFirst.subList(2, 4), newestFirst.subList(4, 5)), pages);
+    }
+
+    @Test
+    void fullLastPageHasNoCursor() {
+        CursorPage<OrderView> page = orderService.getOrders(new OrderFilter(null, null, null, waiter.getUserId()), null, 5);
+
+        assertEquals(5, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void filterAppliesAcrossPages() {
+        for (Order order : List.of(orders.get(0), orders.get(2), orders.get(4))) {
+            pay(order, cashier);
+        }
+        OrderFilter filter = new OrderFilter(OrderStatus.PREPARING, null, null, waiter.getUserId());
+
+        CursorPage<OrderView> first = orderService.getOrders(filter, null, 2);
+        CursorPage<OrderView> second = orderService.getOrders(filter, first.nextCursor(), 2);
+
+        assertEquals(List.of(orderIds.get(4), orderIds.get(2)), first.items().stream().map(OrderView::orderId).toList());
+        assertEquals(List.of(orderIds.get(0)), second.items().stream().map(OrderView::orderId).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void paymentsArePagedNewestFirst() {
+        List<Long> paymentIds = new ArrayList<>();
+        for (Order order : orders) {
+            paymentIds.add(pay(order, cashier).paymentId());
+        }
+        PaymentFilter filter = new PaymentFilter(PaymentStatus.PAID, null, null, cashier.getUserId());
+
+        List<Long> seen = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<PaymentView> page = paymentService.getPayments(filter, cursor, 3);
+            page.items().forEach(payment -> seen.add(payment.paymentId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(2, pages);
+        assertEquals(paymentIds.stream().sorted(Comparator.reverseOrder()).toList(), seen);
+    }
+}
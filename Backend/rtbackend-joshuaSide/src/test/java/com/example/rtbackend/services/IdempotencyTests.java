@@ -0,0 +1,175 @@
+package com.example.rtbackend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.dto.PaymentView;
+import com.example.rtbackend.domain.entities.MenuItem;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+
+/**
+ * Idempotency-Key handling: the in-memory key store in front of the
+ * controllers, and the keys stored with orders and payments that catch
+ * retries the store has already forgotten.
+ */
+class IdempotencyTests extends IntegrationTest {
+
+    private static final String SCOPE = "POST /test";
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Test
+    void repeatIsReplayedWithoutRunningAgain() {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger runs = new AtomicInteger();
+
+        ResponseEntity<?> first = idempotencyService.execute(SCOPE, key, Map.of("table", 4),
+            () -> ResponseEntity.status(HttpStatus.CREATED).body(Map.of("run", runs.incrementAndGet())));
+        ResponseEntity<?> repeat = idempotencyService.execute(SCOPE, key, Map.of("table", 4),
+            () -> ResponseEntity.status(HttpStatus.CREATED).body(Map.of("run", runs.incrementAndGet())));
+
+        assertEquals(1, runs.get());
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals("true", repeat.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, repeat.getStatusCode());
+        assertEquals("{\"run\":1}", new String((byte[]) repeat.getBody()));
+    }
+
+    @Test
+    void concurrentRepeatsWaitForTheFirstAttempt() throws Exception {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResponseEntity<?>>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(clients.submit(() -> {
+                    start.await();
+                    return idempotencyService.execute(SCOPE, key, Map.of("table", 4), () -> {
+                        runs.incrementAndGet();
+                        sleep(200);
+                        return ResponseEntity.ok(Map.of("done", true));
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<ResponseEntity<?>> response : responses) {
+                assertEquals(HttpStatus.OK, response.get().getStatusCode());
+            }
+        } finally {
+            clients.shutdown();
+        }
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void keyReusedForAnotherBodyIsRejected() {
+        String key = UUID.randomUUID().toString();
+        idempotencyService.execute(SCOPE, key, Map.of("table", 4), () -> ResponseEntity.ok().build());
+
+        ResponseEntity<?> reused = idempotencyService.execute(SCOPE, key, Map.of("table", 5),
+            () -> ResponseEntity.ok().build());
+
+        assertEquals(HttpStatus.UNPROCESSABLE_CONTENT, reused.getStatusCode());
+    }
+
+    @Test
+    void failedAttemptIsNotReplayed() {
+        String key = UUID.randomUUID().toString();
+        idempotencyService.execute(SCOPE, key, Map.of("table", 4), () -> ResponseEntity.badRequest().build());
+
+        ResponseEntity<?> retry = idempotencyService.execute(SCOPE, key, Map.of("table", 4),
+            () -> ResponseEntity.ok().build());
+
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+        assertNull(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    // Calls the service directly, as a retry arriving after the key store forgot the key would
+    @Test
+    void storedOrderKeyReturnsTheSameOrder() {
+        User waiter = user(AuthorizationService.WAITER);
+        MenuItem dish = menuItem("Idempotent Dish", "Idempotency", "", 10);
+        Map<Long, Integer> items = Map.of(dish.getMenuItemId(), 2);
+        String key = UUID.randomUUID().toString();
+
+        Order first = placed(orderService.createOrder(waiter.getUserId(), items, key));
+        Order retry = orderService.createOrder(waiter.getUserId(), items, key);
+
+        assertEquals(first.getOrderId(), retry.getOrderId());
+        assertEquals(8, stockLedger.levels().get(dish.getMenuItemId()));
+        assertThrows(IdempotencyService.KeyReusedException.class,
+            () -> orderService.createOrder(waiter.getUserId(), Map.of(dish.getMenuItemId(), 3), key));
+    }
+
+    @Test
+    void storedOrderKeyIsCheckedAgainstTheCallersRole() {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Map<Long, Integer> items = Map.of(menuItem("Idempotent Guarded", "Idempotency", "", 10).getMenuItemId(), 1);
+        String key = UUID.randomUUID().toString();
+        placed(orderService.createOrder(waiter.getUserId(), items, key));
+
+        assertThrows(SecurityException.class, () -> orderService.createOrder(cashier.getUserId(), items, key));
+    }
+
+    @Test
+    void storedPaymentKeyReturnsTheSamePayment() {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Order order = order(waiter, Map.of(menuItem("Idempotent Payment", "Idempotency", "", 10).getMenuItemId(), 1));
+        String key = UUID.randomUUID().toString();
+
+        PaymentView first = paymentService.processPayment(order.getOrderId(), "Card", cashier.getUserId(), key);
+        PaymentView retry = paymentService.processPayment(order.getOrderId(), "Card", cashier.getUserId(), key);
+
+        assertEquals(first.paymentId(), retry.paymentId());
+        IdempotencyService.KeyReusedException reused = assertThrows(IdempotencyService.KeyReusedException.class,
+            () -> paymentService.processPayment(order.getOrderId(), "Cash", cashier.getUserId(), key));
+        assertTrue(reused.getMessage().contains(IdempotencyService.KEY_HEADER));
+    }
+
+    @Test
+    void storedPaymentKeyIsCheckedAgainstTheCallersRole() {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Order order = order(waiter, Map.of(menuItem("Idempotent Paid", "Idempotency", "", 10).getMenuItemId(), 1));
+        String key = UUID.randomUUID().toString();
+        paymentService.processPayment(order.getOrderId(), "Card", cashier.getUserId(), key);
+
+        assertThrows(SecurityException.class,
+            () -> paymentService.processPayment(order.getOrderId(), "Card", waiter.getUserId(), key));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.rtbackend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.dto.ClaimedTicket;
+import com.example.rtbackend.domain.dto.KitchenTicket;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.repo.OrderRepo;
+import com.example.rtbackend.repo.PaymentRepo;
+
+/**
+ * A paid order is claimed by exactly one chef, and only that chef can mark it
+ * ready. Tickets queue by the payment's processed_at whether they came from
+ * the event or a rebuild, and the claims list carries each order's lines.
+ */
+class KitchenClaimTests extends IntegrationTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private PaymentRepo paymentRepo;
+
+    @Autowired
+    private KitchenQueueService kitchenQueueService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void concurrentClaimsGoToOneChef() throws Exception {
+        Order order = paidOrder();
+        List<User> chefs = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            chefs.add(user(AuthorizationService.CHEF));
+        }
+
+        List<Outcome<Integer>> outcomes = race(chefs.stream().<Callable<Integer>>map(chef -> () -> claim(order, chef))
+            .toList());
+
+        assertEquals(1, outcomes.stream().mapToInt(Outcome::value).sum());
+    }
+
+    @Test
+    void onlyTheClaimingChefMarksReady() {
+        Order order = paidOrder();
+        User claimer = user(AuthorizationService.CHEF);
+        User other = user(AuthorizationService.CHEF);
+        claim(order, claimer);
+
+        IllegalStateException rejected = assertThrows(IllegalStateException.class,
+            () -> orderService.markOrderAsReady(order.getOrderId(), other.getUserId()));
+        assertTrue(rejected.getMessage().contains("another chef"), rejected.getMessage());
+
+        orderService.markOrderAsReady(order.getOrderId(), claimer.getUserId());
+        assertEquals(OrderStatus.READY, orderService.getOrderById(order.getOrderId()).status());
+    }
+
+    @Test
+    void claimedTicketIsQueuedAtItsPaymentTimeAndCarriesItsLines() {
+        Order order = paidOrder();
+        User chef = user(AuthorizationService.CHEF);
+        LocalDateTime processedAt = paymentRepo.findByOrder_OrderId(order.getOrderId()).orElseThrow().getProcessedAt();
+
+        KitchenTicket claimed = claimUntil(order, chef);
+        assertEquals(processedAt, claimed.paidAt());
+
+        ClaimedTicket ticket = kitchenQueueService.getClaimedTickets(chef.getUserId()).stream()
+            .filter(claim -> claim.orderId().equals(order.getOrderId())).findFirst().orElseThrow();
+        assertEquals(processedAt, ticket.paidAt());
+        assertEquals(10.0, ticket.total());
+        assertEquals(order.getUser().getUserId(), ticket.user().userId());
+        assertEquals(1, ticket.items().size());
+        assertEquals("Kitchen Claim", ticket.items().get(0).menuItem().name());
+        assertEquals(1, ticket.items().get(0).quantity());
+    }
+
+    // Older paid orders left by other tests sit ahead in the shared queue; claim past them
+    private KitchenTicket claimUntil(Order order, User chef) {
+        KitchenTicket ticket;
+        do {
+            ticket = kitchenQueueService.claimNext(chef.getUserId()).orElseThrow();
+        } while (!ticket.orderId().equals(order.getOrderId()));
+        return ticket;
+    }
+
+    private int claim(Order order, User chef) {
+        return transactionTemplate.execute(status -> orderRepo.claimForChef(order.getOrderId(), chef, LocalDateTime.now()));
+    }
+
+    private Order paidOrder() {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Order order = order(waiter, Map.of(menuItem("Kitchen Claim", "Kitchen", "", 5).getMenuItemId(), 1));
+        pay(order, cashier);
+        return order;
+    }
+}
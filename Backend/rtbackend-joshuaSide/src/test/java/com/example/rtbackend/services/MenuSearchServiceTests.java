@@ -0,0 +1,77 @@
+package com.example.rtbackend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.dto.MenuItemView;
+import com.example.rtbackend.domain.entities.MenuItem;
+
+/**
+ * The in-memory menu index: word-prefix matching over name and description,
+ * name matches ranked first, category and stock filters, and entries kept in
+ * step with menu edits. "Zebrafish" keeps the results to this test's items.
+ */
+class MenuSearchServiceTests extends IntegrationTest {
+
+    @Autowired
+    private MenuSearchService menuSearchService;
+
+    private MenuItem curry;
+    private MenuItem coconut;
+    private MenuItem rice;
+
+    @BeforeEach
+    void createMenu() {
+        curry = menuItem("Zebrafish Curry", "Search Mains", "Mild and creamy", 5);
+        coconut = menuItem("Coconut Zebrafish", "Search Mains", "Grilled", 0);
+        rice = menuItem("Plain Rice", "Search Sides", "Goes well with zebrafish curry", 5);
+    }
+
+    @Test
+    void nameStartRanksBeforeNameWordBeforeDescription() {
+        assertEquals(List.of(curry.getMenuItemId(), coconut.getMenuItemId(), rice.getMenuItemId()), ids("zebra", null, false));
+    }
+
+    @Test
+    void everyTermMustPrefixAWord() {
+        assertEquals(List.of(curry.getMenuItemId(), rice.getMenuItemId()), ids("zebrafish cur", null, false));
+        assertEquals(List.of(curry.getMenuItemId()), ids("cre zeb", null, false));
+        assertTrue(ids("ebrafish", null, false).isEmpty());
+    }
+
+    @Test
+    void matchingIgnoresCaseAndAccents() {
+        MenuItem creme = menuItem("Crème Zebrafish Brûlée", "Search Desserts", "", 5);
+
+        assertEquals(List.of(creme.getMenuItemId()), ids("CREME zebra", null, false));
+        assertEquals(List.of(creme.getMenuItemId()), ids("brulee", "search desserts", false));
+    }
+
+    @Test
+    void categoryAndStockFilters() {
+        assertEquals(List.of(curry.getMenuItemId(), coconut.getMenuItemId()), ids("zebrafish", "Search Mains", false));
+        assertEquals(List.of(curry.getMenuItemId(), rice.getMenuItemId()), ids("zebrafish", null, true));
+    }
+
+    @Test
+    void editsUpdateTheIndex() {
+        MenuItem renamed = new MenuItem(null, "Coconut Prawns", 10.0, "Grilled", "Search Mains", null, null);
+        menuItemService.updateMenuItem(managerId(), coconut.getMenuItemId(), renamed);
+        menuItemService.updateStock(managerId(), rice.getMenuItemId(), 0);
+
+        assertEquals(List.of(curry.getMenuItemId(), rice.getMenuItemId()), ids("zebra", null, false));
+        assertEquals(List.of(coconut.getMenuItemId()), ids("prawn", "Search Mains", false));
+        assertEquals(List.of(curry.getMenuItemId()), ids("zebra", null, true));
+    }
+
+    private List<Long> ids(String query, String category, boolean inStockOnly) {
+        return menuSearchService.search(query, category, inStockOnly, 20).stream().map(MenuItemView::menuItemId).toList();
+    }
+}
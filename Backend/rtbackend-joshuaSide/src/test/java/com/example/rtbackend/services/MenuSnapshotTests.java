@@ -0,0 +1,57 @@
+package com.example.rtbackend.services;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.dto.MenuSnapshot;
+import com.example.rtbackend.domain.entities.MenuItem;
+
+/**
+ * The cached GET /menu snapshot is kept until the shared menu version moves,
+ * whether the edit was made through this instance or another one.
+ */
+class MenuSnapshotTests extends IntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void snapshotIsReusedUntilTheMenuChanges() {
+        MenuItem dish = menuItem("Snapshot Dish", "Snapshot", "", 5);
+        MenuSnapshot first = menuItemService.getMenuSnapshot();
+
+        assertSame(first, menuItemService.getMenuSnapshot());
+        assertTrue(json(first).contains("Snapshot Dish"));
+
+        menuItemService.deleteMenuItem(managerId(), dish.getMenuItemId());
+        MenuSnapshot edited = menuItemService.getMenuSnapshot();
+        assertNotEquals(first.etag(), edited.etag());
+        assertFalse(json(edited).contains("Snapshot Dish"));
+    }
+
+    // Another instance writes the row and bumps the version; this one never saw the edit
+    @Test
+    void editMadeElsewhereIsPickedUp() {
+        MenuItem dish = menuItem("Snapshot Elsewhere", "Snapshot", "", 5);
+        MenuSnapshot before = menuItemService.getMenuSnapshot();
+
+        jdbcTemplate.update("UPDATE menu_item SET name = 'Snapshot Renamed' WHERE menu_item_id = ?", dish.getMenuItemId());
+        assertSame(before, menuItemService.getMenuSnapshot());
+
+        jdbcTemplate.update("UPDATE menu_version SET version = version + 1 WHERE id = 1");
+        assertTrue(json(menuItemService.getMenuSnapshot()).contains("Snapshot Renamed"));
+    }
+
+    private static String json(MenuSnapshot snapshot) {
+        return new String(snapshot.json(), StandardCharsets.UTF_8);
+    }
+}
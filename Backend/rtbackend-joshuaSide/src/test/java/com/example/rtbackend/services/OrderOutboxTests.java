@@ -0,0 +1,166 @@
+package com.example.rtbackend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.RecordingOrderEventConsumer;
+import com.example.rtbackend.domain.entities.OutboxEvent;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.enums.OrderStatus;
+import com.example.rtbackend.domain.events.OrderEvent;
+import com.example.rtbackend.repo.OutboxEventRepo;
+
+/**
+ * The outbox relay delivers the events of one order in the order they were
+ * written, across retries, and holds them back behind a failed event until its
+ * backoff runs out, or behind a parked one until it is requeued.
+ */
+class OrderOutboxTests extends IntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+
+    @Autowired
+    private RecordingOrderEventConsumer consumer;
+
+    @Autowired
+    private OutboxEventRepo outboxEventRepo;
+
+    @Autowired
+    private OrderOutboxService orderOutboxService;
+
+    @Test
+    void retriedEventIsNotOvertakenByLaterOnes() {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        User chef = user(AuthorizationService.CHEF);
+        Order order = order(waiter, Map.of(menuItem("Outbox Retry", "Outbox", "", 5).getMenuItemId(), 1));
+        awaitDelivered(order, 1);
+
+        consumer.failNext(order.getOrderId(), 1);
+        pay(order, cashier);
+        orderService.markOrderAsReady(order.getOrderId(), chef.getUserId());
+
+        awaitDelivered(order, 3);
+        assertEquals(List.of(OrderStatus.PENDING, OrderStatus.PREPARING, OrderStatus.READY), statuses(order));
+    }
+
+    @Test
+    void parkedEventHoldsBackItsOrderOnly() {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Long dish = menuItem("Outbox Parked", "Outbox", "", 5).getMenuItemId();
+        Order blocked = order(waiter, Map.of(dish, 1));
+        Order other = order(waiter, Map.of(dish, 1));
+        awaitDelivered(blocked, 1);
+        awaitDelivered(other, 1);
+
+        OutboxEvent parked = OutboxEvent.from(OrderEvent.statusChanged(blocked.getOrderId(), OrderStatus.PENDING,
+            OrderStatus.PENDING));
+        parked.setAttempts(10);
+        parked.setFailedAt(LocalDateTime.now());
+        parked.setLastError("parked by the test");
+        parked = outboxEventRepo.save(parked);
+        try {
+            pay(blocked, cashier);
+            pay(other, cashier);
+
+            awaitDelivered(other, 2);
+            // A full poll round after the other order went through
+            sleep(1500);
+            assertEquals(List.of(OrderStatus.PENDING), statuses(blocked));
+        } finally {
+            outboxEventRepo.delete(parked);
+        }
+
+        awaitDelivered(blocked, 2);
+        assertEquals(List.of(OrderStatus.PENDING, OrderStatus.PREPARING), statuses(blocked));
+    }
+
+    @Test
+    void failedEventWaitsOutItsBackoff() {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Order order = order(waiter, Map.of(menuItem("Outbox Backoff", "Outbox", "", 5).getMenuItemId(), 1));
+        awaitDelivered(order, 1);
+
+        consumer.failNext(order.getOrderId(), 1);
+        pay(order, cashier);
+        await(() -> rowOf(order) != null && rowOf(order).getAttempts() == 1, "the failed attempt to be recorded");
+
+        OutboxEvent failed = rowOf(order);
+        assertNotNull(failed.getNextAttemptAt());
+        assertNull(failed.getFailedAt());
+        // outbox.relay.backoff-ms is a second, far longer than the relay takes to come round again
+        assertEquals(List.of(OrderStatus.PENDING), statuses(order));
+
+        awaitDelivered(order, 2);
+        assertEquals(List.of(OrderStatus.PENDING, OrderStatus.PREPARING), statuses(order));
+    }
+
+    @Test
+    void requeuedEventGoesBeforeTheOnesItHeldBack() {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Order order = order(waiter, Map.of(menuItem("Outbox Requeue", "Outbox", "", 5).getMenuItemId(), 1));
+        awaitDelivered(order, 1);
+
+        OutboxEvent parked = OutboxEvent.from(OrderEvent.statusChanged(order.getOrderId(), OrderStatus.PENDING,
+            OrderStatus.PENDING));
+        parked.setAttempts(10);
+        parked.setFailedAt(LocalDateTime.now());
+        parked.setLastError("parked by the test");
+        outboxEventRepo.save(parked);
+        pay(order, cashier);
+
+        assertEquals(1, orderOutboxService.requeueParked(order.getOrderId()));
+        assertEquals(0, orderOutboxService.requeueParked(order.getOrderId()));
+
+        awaitDelivered(order, 3);
+        assertEquals(List.of(OrderStatus.PENDING, OrderStatus.PENDING, OrderStatus.PREPARING), statuses(order));
+    }
+
+    private OutboxEvent rowOf(Order order) {
+        return outboxEventRepo.findAll().stream()
+            .filter(row -> order.getOrderId().equals(row.getOrderId()))
+            .findFirst().orElse(null);
+    }
+
+    private List<OrderStatus> statuses(Order order) {
+        return consumer.deliveredFor(order.getOrderId()).stream().map(OrderEvent::status).toList();
+    }
+
+    private void awaitDelivered(Order order, int events) {
+        await(() -> consumer.deliveredFor(order.getOrderId()).size() >= events,
+            "order " + order.getOrderId() + " to get " + events + " events, got " + statuses(order));
+    }
+
+    private static void await(BooleanSupplier condition, String description) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + description);
+            sleep(50);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.rtbackend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.enums.OrderStatus;
+
+/**
+ * Status transitions are single guarded updates: a transition from the wrong
+ * status is refused and concurrent attempts let exactly one through.
+ */
+class OrderTransitionTests extends IntegrationTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void concurrentMarkReadyLetsOneChefThrough() throws Exception {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Order order = order(waiter, Map.of(menuItem("Transition Paid", "Transitions", "", 5).getMenuItemId(), 1));
+        pay(order, cashier);
+        List<User> chefs = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            chefs.add(user(AuthorizationService.CHEF));
+        }
+
+        List<Outcome<Object>> outcomes = race(chefs.stream().<Callable<Object>>map(
+            chef -> () -> orderService.markOrderAsReady(order.getOrderId(), chef.getUserId())).toList());
+
+        assertEquals(1, succeeded(outcomes));
+        assertEquals(OrderStatus.READY, orderService.getOrderById(order.getOrderId()).status());
+    }
+
+    @Test
+    void markReadyNeedsPayment() {
+        User waiter = user(AuthorizationService.WAITER);
+        User chef = user(AuthorizationService.CHEF);
+        Order order = order(waiter, Map.of(menuItem("Transition Unpaid", "Transitions", "", 5).getMenuItemId(), 1));
+
+        IllegalStateException rejected = assertThrows(IllegalStateException.class,
+            () -> orderService.markOrderAsReady(order.getOrderId(), chef.getUserId()));
+
+        assertTrue(rejected.getMessage().contains("Pending"), rejected.getMessage());
+        assertEquals(OrderStatus.PENDING, orderService.getOrderById(order.getOrderId()).status());
+    }
+}
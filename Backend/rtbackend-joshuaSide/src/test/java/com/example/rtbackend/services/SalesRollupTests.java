@@ -0,0 +1,91 @@
+package com.example.rtbackend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.dto.SalesReport;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.enums.ReportGrain;
+import com.example.rtbackend.domain.projections.MenuItemSales;
+import com.example.rtbackend.services.impl.SalesRollupServiceImpl;
+
+/**
+ * The sales report reads the hourly rollups: they follow new orders and
+ * payments, agree with a recount from the source rows, and get back what a
+ * crash took with the in-memory buffer at the next startup.
+ */
+class SalesRollupTests extends IntegrationTest {
+
+    @Autowired
+    private SalesRollupServiceImpl salesRollups;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reportCountsNewOrdersPaymentsAndUnits() {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Long dish = menuItem("Rollup Dish", "Rollup", "", 10).getMenuItemId();
+        SalesReport.Totals before = today().totals();
+
+        pay(order(waiter, Map.of(dish, 2)), cashier);
+        order(waiter, Map.of(dish, 1));
+
+        SalesReport report = today();
+        assertEquals(new SalesReport.Totals(before.ordersPlaced() + 2, before.orderTotal() + 30,
+            before.paymentsReceived() + 1, before.revenue() + 20, before.unitsSold() + 3), report.totals());
+        MenuItemSales sold = report.byMenuItem().stream()
+            .filter(row -> dish.equals(row.menuItemId())).findFirst().orElseThrow();
+        assertEquals(3, sold.unitsSold());
+        assertEquals(30.0, sold.sales());
+    }
+
+    @Test
+    void rebuildAgreesWithTheIncrementalTotals() {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Long dish = menuItem("Rollup Rebuilt", "Rollup", "", 10).getMenuItemId();
+        pay(order(waiter, Map.of(dish, 2)), cashier);
+        SalesReport.Totals incremental = today().totals();
+
+        salesRollups.rebuild();
+
+        assertEquals(incremental, today().totals());
+    }
+
+    // As if the process died with the order's totals still in the buffer
+    @Test
+    void salesLostWithTheBufferAreRecountedAtStartup() {
+        User waiter = user(AuthorizationService.WAITER);
+        Long dish = menuItem("Rollup Lost", "Rollup", "", 10).getMenuItemId();
+        Order order = order(waiter, Map.of(dish, 2));
+        LocalDateTime hour = order.getDate().truncatedTo(ChronoUnit.HOURS);
+        SalesReport.Totals written = today().totals();
+
+        jdbcTemplate.update("UPDATE rollup_orders_hourly SET orders = orders - 1, order_value = order_value - ? WHERE hour = ?",
+            order.getTotal(), hour);
+        jdbcTemplate.update("DELETE FROM rollup_items_hourly WHERE hour = ? AND menu_item_id = ?", hour, dish);
+        assertEquals(written.ordersPlaced() - 1, today().totals().ordersPlaced());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM rollup_dirty_hours WHERE hour = ?",
+            Integer.class, hour));
+
+        salesRollups.recover();
+
+        assertEquals(written, today().totals());
+    }
+
+    private SalesReport today() {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        return salesRollups.getReport(start, start.plusDays(1), ReportGrain.HOUR);
+    }
+}
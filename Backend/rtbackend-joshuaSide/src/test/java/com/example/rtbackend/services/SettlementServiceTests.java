@@ -0,0 +1,126 @@
+package com.example.rtbackend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.dto.SettlementReport;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.domain.enums.SettlementIssue;
+
+/**
+ * End-of-day settlement: only finished days, each day once, and exactly the
+ * orders and payments that fall inside [day, day + 1).
+ */
+class SettlementServiceTests extends IntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2001, 2, 3);
+    private static final List<String> SETTLEMENT_TABLES = List.of(
+        "settlement_orders", "settlement_cashiers", "settlement_payment_methods", "settlements");
+
+    @Autowired
+    private SettlementService settlementService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Original timestamps of the moved rows, put back so the purge takes them out of the right rollup hours
+    private final List<Runnable> restores = new ArrayList<>();
+
+    @BeforeEach
+    @AfterEach
+    void removeSettlement() {
+        SETTLEMENT_TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table + " WHERE business_day = ?", DAY));
+    }
+
+    @AfterEach
+    void restoreTimestamps() {
+        restores.forEach(Runnable::run);
+    }
+
+    @Test
+    void dayThatHasNotEndedIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> settlementService.settle(LocalDate.now()));
+        assertThrows(IllegalArgumentException.class, () -> settlementService.settle(LocalDate.now().plusDays(1)));
+        assertFalse(settlementService.getSettlement(LocalDate.now()).isPresent());
+    }
+
+    @Test
+    void settlesExactlyTheDaysRows() {
+        User waiter = user(AuthorizationService.WAITER);
+        User cashier = user(AuthorizationService.CASHIER);
+        Long dish = menuItem("Settled Dish", "Settlement", "", 10).getMenuItemId();
+
+        Order paid = order(waiter, Map.of(dish, 2));
+        pay(paid, cashier);
+        moveTo(paid, DAY.atTime(10, 0), DAY.atTime(10, 5));
+
+        Order unpaid = order(waiter, Map.of(dish, 1));
+        // The last instant a timestamp(6) column can hold on that day
+        moveTo(unpaid, DAY.atTime(23, 59, 59, 999_999_000), null);
+
+        Order nextDay = order(waiter, Map.of(dish, 3));
+        pay(nextDay, cashier);
+        moveTo(nextDay, DAY.plusDays(1).atStartOfDay(), DAY.plusDays(1).atStartOfDay());
+
+        SettlementReport report = settlementService.settle(DAY);
+
+        assertEquals(2, report.ordersPlaced());
+        assertEquals(30.0, report.orderTotal());
+        assertEquals(1, report.paymentsReceived());
+        assertEquals(20.0, report.revenue());
+        assertEquals(1, report.paidNotServed());
+        assertEquals(1, report.pendingUnpaid());
+        assertEquals(List.of(new SettlementReport.CashierTotal(cashier.getUserId(), cashier.getName(), 1, 20.0)),
+            report.byCashier());
+
+        Set<String> openOrders = settlementService.getOpenOrders(DAY, null, 100).items().stream()
+            .map(open -> open.orderId() + ":" + open.issue())
+            .collect(Collectors.toSet());
+        assertEquals(Set.of(paid.getOrderId() + ":" + SettlementIssue.PAID_NOT_SERVED,
+            unpaid.getOrderId() + ":" + SettlementIssue.PENDING_UNPAID), openOrders);
+    }
+
+    @Test
+    void dayIsSettledOnce() {
+        settlementService.settle(DAY);
+
+        assertThrows(IllegalStateException.class, () -> settlementService.settle(DAY));
+    }
+
+    private void moveTo(Order order, LocalDateTime placedAt, LocalDateTime paidAt) {
+        Long orderId = order.getOrderId();
+        Map<String, Object> original = jdbcTemplate.queryForMap(
+            "SELECT date, paid_at FROM orders WHERE order_id = ?", orderId);
+        jdbcTemplate.update("UPDATE orders SET date = ?, paid_at = ? WHERE order_id = ?",
+            Timestamp.valueOf(placedAt), paidAt == null ? null : Timestamp.valueOf(paidAt), orderId);
+        restores.add(() -> jdbcTemplate.update("UPDATE orders SET date = ?, paid_at = ? WHERE order_id = ?",
+            original.get("date"), original.get("paid_at"), orderId));
+
+        if (paidAt != null) {
+            Map<String, Object> payment = jdbcTemplate.queryForMap(
+                "SELECT created_at, processed_at FROM payments WHERE order_id = ?", orderId);
+            jdbcTemplate.update("UPDATE payments SET created_at = ?, processed_at = ? WHERE order_id = ?",
+                Timestamp.valueOf(paidAt), Timestamp.valueOf(paidAt), orderId);
+            restores.add(() -> jdbcTemplate.update("UPDATE payments SET created_at = ?, processed_at = ? WHERE order_id = ?",
+                payment.get("created_at"), payment.get("processed_at"), orderId));
+        }
+    }
+}
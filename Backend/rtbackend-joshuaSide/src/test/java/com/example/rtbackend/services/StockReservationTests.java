@@ -0,0 +1,106 @@
+package com.example.rtbackend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.rtbackend.IntegrationTest;
+import com.example.rtbackend.domain.dto.OrderFilter;
+import com.example.rtbackend.domain.entities.MenuItem;
+import com.example.rtbackend.domain.entities.Order;
+import com.example.rtbackend.domain.entities.User;
+import com.example.rtbackend.repo.MenuItemRepo;
+
+/**
+ * Stock is reserved for a whole order or not at all, and concurrent orders
+ * for the last portions never take it below zero.
+ */
+class StockReservationTests extends IntegrationTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private MenuItemRepo menuItemRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reservationIsAllOrNothing() {
+        User waiter = user(AuthorizationService.WAITER);
+        MenuItem plenty = menuItem("Guard Plenty", "Guards", "", 5);
+        MenuItem scarce = menuItem("Guard Scarce", "Guards", "", 1);
+
+        IllegalStateException rejected = assertThrows(IllegalStateException.class,
+            () -> order(waiter, Map.of(plenty.getMenuItemId(), 2, scarce.getMenuItemId(), 2)));
+
+        assertTrue(rejected.getMessage().contains("Guard Scarce"), rejected.getMessage());
+        assertEquals(5, stockLedger.levels().get(plenty.getMenuItemId()));
+        assertEquals(1, stockLedger.levels().get(scarce.getMenuItemId()));
+        assertTrue(ordersOf(waiter).isEmpty());
+    }
+
+    @Test
+    void concurrentOrdersNeverOversell() throws Exception {
+        User waiter = user(AuthorizationService.WAITER);
+        MenuItem dish = menuItem("Guard Last Portions", "Guards", "", 5);
+
+        List<Outcome<Order>> outcomes = race(THREADS, () -> placed(
+            orderService.createOrder(waiter.getUserId(), Map.of(dish.getMenuItemId(), 1), null)));
+
+        assertEquals(5, succeeded(outcomes));
+        outcomes.stream().filter(outcome -> outcome.error() != null)
+            .forEach(outcome -> assertEquals(IllegalStateException.class, outcome.error().getClass()));
+        assertEquals(0, stockLedger.levels().get(dish.getMenuItemId()));
+        assertEquals(5, ordersOf(waiter).size());
+    }
+
+    // The row is gone but this instance's ledger still holds stock for it, as after a delete elsewhere
+    @Test
+    void itemDeletedBehindTheLedgerIsNotFound() {
+        User waiter = user(AuthorizationService.WAITER);
+        MenuItem kept = menuItem("Guard Kept", "Guards", "", 5);
+        MenuItem deleted = menuItem("Guard Deleted", "Guards", "", 5);
+        jdbcTemplate.update("DELETE FROM menu_item WHERE menu_item_id = ?", deleted.getMenuItemId());
+
+        NoSuchElementException rejected = assertThrows(NoSuchElementException.class,
+            () -> order(waiter, Map.of(kept.getMenuItemId(), 2, deleted.getMenuItemId(), 1)));
+
+        assertTrue(rejected.getMessage().contains(String.valueOf(deleted.getMenuItemId())), rejected.getMessage());
+        assertEquals(5, stockLedger.levels().get(kept.getMenuItemId()));
+        assertFalse(stockLedger.levels().containsKey(deleted.getMenuItemId()));
+        assertTrue(ordersOf(waiter).isEmpty());
+    }
+
+    // The statement the database ledger reserves with: lines that would go negative are skipped
+    @Test
+    void reserveStockSkipsShortLines() {
+        MenuItem plenty = menuItem("Guard Table Plenty", "Guards", "", 3);
+        MenuItem scarce = menuItem("Guard Table Scarce", "Guards", "", 1);
+
+        List<Long> reserved = transactionTemplate.execute(status -> menuItemRepo.reserveStock(
+            new Long[] { plenty.getMenuItemId(), scarce.getMenuItemId() }, new Integer[] { 2, 2 }));
+
+        assertEquals(List.of(plenty.getMenuItemId()), reserved);
+    }
+
+    private List<?> ordersOf(User waiter) {
+        return orderService.getOrders(new OrderFilter(null, null, null, waiter.getUserId()), null, 100).items();
+    }
+}